@@ -53,6 +53,7 @@ import org.sosy_lab.cpachecker.core.algorithm.impact.ImpactAlgorithm;
 import org.sosy_lab.cpachecker.core.algorithm.mpv.MPVAlgorithm;
 import org.sosy_lab.cpachecker.core.algorithm.mpv.MPVReachedSet;
 import org.sosy_lab.cpachecker.core.algorithm.parallel_bam.ParallelBAMAlgorithm;
+import org.sosy_lab.cpachecker.core.algorithm.parallel_dfs.ParallelDFSAlgorithm;
 import org.sosy_lab.cpachecker.core.algorithm.pcc.AlgorithmWithPropertyCheck;
 import org.sosy_lab.cpachecker.core.algorithm.pcc.ConfigReadingProofCheckAlgorithm;
 import org.sosy_lab.cpachecker.core.algorithm.pcc.ProofCheckAlgorithm;
@@ -295,6 +296,14 @@ public class CoreComponentsFactory {
       description = "run the parallel BAM algortihm.")
   private boolean useParallelBAM = false;
 
+  @Option(
+      secure = true,
+      name = "algorithm.useParallelDFS",
+      description =
+          "explore the state space with several threads, each of them in depth-first order. "
+              + "The transfer relation of the CPA has to be thread-safe.")
+  private boolean useParallelDFS = false;
+
   @Option(
       secure = true,
       name = "unknownIfUnrestrictedProgram",
@@ -493,6 +502,10 @@ public class CoreComponentsFactory {
         algorithm = new ParallelBAMAlgorithm(cpa, config, logger, shutdownNotifier);
       }
 
+      if (useParallelDFS) {
+        algorithm = new ParallelDFSAlgorithm(cpa, config, logger, shutdownNotifier);
+      }
+
       if (useAnalysisWithEnablerCPAAlgorithm) {
         algorithm = new AnalysisWithRefinableEnablerCPAAlgorithm(algorithm, cpa, cfa, logger, config, shutdownNotifier);
       }
@@ -0,0 +1,513 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.algorithm.parallel_dfs;
+
+import com.google.common.base.Functions;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.algorithm.Algorithm;
+import org.sosy_lab.cpachecker.core.defaults.MergeSepOperator;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.MergeOperator;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult.Action;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
+import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
+import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.arg.ARGCPA;
+import org.sosy_lab.cpachecker.cpa.arg.ARGMergeJoinCPAEnabledAnalysis;
+import org.sosy_lab.cpachecker.cpa.statehash.StateHashCPA;
+import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
+import org.sosy_lab.cpachecker.util.statistics.StatTimer;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsUtils;
+import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer;
+import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer.TimerWrapper;
+
+/**
+ * A parallel version of the {@link org.sosy_lab.cpachecker.core.algorithm.CPAAlgorithm}.
+ *
+ * <p>Each worker thread owns a local waitlist that it explores in depth-first order. A worker that
+ * runs out of states steals the oldest state of another worker, i.e., a state close to the root of
+ * the ARG with a (probably) large unexplored subtree below it.
+ *
+ * <p>Only the transfer relation is computed concurrently, so it has to be thread-safe (e.g., the
+ * BDD library has to be synchronized with bdd.synchronizeLibraryAccess=true). The precision
+ * adjustment, merge and stop of all the successors of a state are performed as one step while the
+ * reached set is locked. This preserves the assumptions of the precision adjustments of the POR
+ * analyses (e.g., the sleep sets of PC-DPOR), which inspect the siblings of a successor in the ARG.
+ */
+@Options(prefix = "algorithm.parallelDfs")
+public class ParallelDFSAlgorithm implements Algorithm, StatisticsProvider {
+
+  // how long an idle worker waits before it tries to steal work again.
+  private static final long IDLE_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  @Option(
+      description =
+          "number of threads, positive values match exactly, "
+              + "with -1 we use the number of available cores or the machine automatically.",
+      secure = true)
+  private int numberOfThreads = -1;
+
+  private final ParallelDFSStatistics stats = new ParallelDFSStatistics();
+  private final LogManager logger;
+  private final ShutdownNotifier shutdownNotifier;
+
+  private final TransferRelation transferRelation;
+  private final MergeOperator mergeOperator;
+  private final StopOperator stopOperator;
+  private final PrecisionAdjustment precisionAdjustment;
+
+  public ParallelDFSAlgorithm(
+      ConfigurableProgramAnalysis pCpa,
+      Configuration pConfig,
+      LogManager pLogger,
+      ShutdownNotifier pShutdownNotifier)
+      throws InvalidConfigurationException {
+    pConfig.inject(this);
+    logger = pLogger;
+    shutdownNotifier = pShutdownNotifier;
+
+    ARGCPA argCpa = CPAs.retrieveCPA(pCpa, ARGCPA.class);
+    if (argCpa != null && argCpa.prunesExploredSubtrees()) {
+      // the pruning iterates over the ARG while other workers add children to it
+      throw new InvalidConfigurationException(
+          "ParallelDFSAlgorithm does not support cpa.arg.pruneExploredSubtrees.");
+    }
+    StateHashCPA.checkCompatibility(pCpa);
+
+    transferRelation = pCpa.getTransferRelation();
+    mergeOperator = pCpa.getMergeOperator();
+    stopOperator = pCpa.getStopOperator();
+    precisionAdjustment = pCpa.getPrecisionAdjustment();
+  }
+
+  @Override
+  public AlgorithmStatus run(final ReachedSet reachedSet)
+      throws CPAException, InterruptedException {
+    stats.wallTime.start();
+    try {
+      return run0(reachedSet);
+    } finally {
+      stats.wallTime.stop();
+    }
+  }
+
+  private AlgorithmStatus run0(final ReachedSet reachedSet)
+      throws CPAException, InterruptedException {
+    final int numberOfCores = getNumberOfCores();
+    logger.logf(Level.INFO, "creating pool for %d threads", numberOfCores);
+
+    final AtomicInteger pendingStates = new AtomicInteger(0);
+    final AtomicBoolean terminateAnalysis = new AtomicBoolean(false);
+    final List<Worker> workers = new ArrayList<>(numberOfCores);
+    for (int i = 0; i < numberOfCores; ++i) {
+      workers.add(new Worker(i, workers, reachedSet, pendingStates, terminateAnalysis));
+    }
+
+    // distribute the initial states over the workers.
+    synchronized (reachedSet) {
+      int next = 0;
+      while (reachedSet.hasWaitingState()) {
+        AbstractState state = reachedSet.popFromWaitlist();
+        workers.get(next++ % numberOfCores).push(state, reachedSet.getPrecision(state));
+      }
+    }
+
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            numberOfCores,
+            new ThreadFactoryBuilder()
+                .setDaemon(true) // for killing hanging threads at program exit
+                .setNameFormat("ParallelDFS-thread-%d")
+                .build());
+    List<Throwable> errors = new ArrayList<>();
+    try {
+      for (Future<Void> job : pool.invokeAll(workers)) {
+        try {
+          job.get();
+        } catch (ExecutionException e) {
+          errors.add(e.getCause());
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+
+      // the states that were not explored are given back to the reached set, such that the
+      // analysis can be continued (e.g., after a refinement).
+      synchronized (reachedSet) {
+        for (Worker worker : workers) {
+          for (Pair<AbstractState, Precision> state : worker.localWaitlist) {
+            if (reachedSet.contains(state.getFirst())) {
+              reachedSet.reAddToWaitlist(state.getFirst());
+            }
+          }
+        }
+      }
+    }
+
+    throwErrors(errors);
+    return AlgorithmStatus.SOUND_AND_PRECISE;
+  }
+
+  private int getNumberOfCores() {
+    if (numberOfThreads > 0) {
+      return numberOfThreads;
+    }
+    Preconditions.checkState(
+        numberOfThreads == -1, "number of threads can only be a positive number or -1.");
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Throw the first error that occurred in one of the workers, all other errors are added as
+   * suppressed exceptions.
+   */
+  private void throwErrors(List<Throwable> pErrors) throws CPAException, InterruptedException {
+    if (pErrors.isEmpty()) {
+      return;
+    }
+    Throwable toThrow = pErrors.get(0);
+    for (Throwable other : pErrors.subList(1, pErrors.size())) {
+      toThrow.addSuppressed(other);
+    }
+    Throwables.throwIfInstanceOf(toThrow, CPAException.class);
+    Throwables.throwIfInstanceOf(toThrow, InterruptedException.class);
+    Throwables.throwIfUnchecked(toThrow);
+    throw new UnexpectedCheckedException("ParallelDFS", toThrow);
+  }
+
+  private final class Worker implements Callable<Void> {
+
+    private final int id;
+    private final List<Worker> workers;
+    private final ReachedSet reachedSet;
+    // the number of states that are in a local waitlist or that are currently handled.
+    private final AtomicInteger pendingStates;
+    private final AtomicBoolean terminateAnalysis;
+
+    // the owner pushes and pops at the head, other workers steal from the tail.
+    private final Deque<Pair<AbstractState, Precision>> localWaitlist =
+        new ConcurrentLinkedDeque<>();
+
+    private final TimerWrapper threadTimer = stats.threadTime.getNewTimer();
+    private final TimerWrapper transferTimer = stats.transferTime.getNewTimer();
+    private final TimerWrapper lockTimer = stats.lockTime.getNewTimer();
+    private final TimerWrapper reachedSetTimer = stats.reachedSetTime.getNewTimer();
+
+    private Worker(
+        int pId,
+        List<Worker> pWorkers,
+        ReachedSet pReachedSet,
+        AtomicInteger pPendingStates,
+        AtomicBoolean pTerminateAnalysis) {
+      id = pId;
+      workers = pWorkers;
+      reachedSet = pReachedSet;
+      pendingStates = pPendingStates;
+      terminateAnalysis = pTerminateAnalysis;
+    }
+
+    private void push(AbstractState pState, Precision pPrecision) {
+      pendingStates.incrementAndGet();
+      localWaitlist.addFirst(Pair.of(pState, pPrecision));
+    }
+
+    private @Nullable Pair<AbstractState, Precision> steal() {
+      for (int i = 1; i < workers.size(); ++i) {
+        Pair<AbstractState, Precision> stolen =
+            workers.get((id + i) % workers.size()).localWaitlist.pollLast();
+        if (stolen != null) {
+          stats.stolenStates.increment();
+          return stolen;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Void call() throws CPAException, InterruptedException {
+      threadTimer.start();
+      try {
+        while (!terminateAnalysis.get()) {
+          shutdownNotifier.shutdownIfNecessary();
+
+          Pair<AbstractState, Precision> next = localWaitlist.pollFirst();
+          if (next == null) {
+            next = steal();
+          }
+          if (next == null) {
+            if (pendingStates.get() == 0) {
+              // all the local waitlists are empty and no worker can produce new states.
+              return null;
+            }
+            LockSupport.parkNanos(IDLE_WAIT_NANOS);
+            continue;
+          }
+
+          try {
+            if (handleState(next.getFirst(), next.getSecond())) {
+              // Prec operator requested break
+              terminateAnalysis.set(true);
+            }
+          } catch (Exception e) {
+            // there might be unhandled successors left, the state is given back to the reached set.
+            localWaitlist.addFirst(next);
+            terminateAnalysis.set(true);
+            throw e;
+          }
+          pendingStates.decrementAndGet();
+        }
+        return null;
+      } finally {
+        threadTimer.stop();
+      }
+    }
+
+    /**
+     * Handle one state from the local waitlist, i.e., produce successors etc.
+     *
+     * @return true if analysis should terminate, false if analysis should continue with next state
+     */
+    private boolean handleState(final AbstractState state, final Precision precision)
+        throws CPAException, InterruptedException {
+      logger.log(Level.ALL, "Current state is", state, "with precision", precision);
+
+      Collection<? extends AbstractState> successors;
+      transferTimer.start();
+      try {
+        successors = transferRelation.getAbstractSuccessors(state, precision);
+      } finally {
+        transferTimer.stop();
+      }
+
+      lockTimer.start();
+      synchronized (reachedSet) {
+        lockTimer.stop();
+        reachedSetTimer.start();
+        try {
+          if (!reachedSet.contains(state)) {
+            // the state was merged into another state by a different worker, the successors are
+            // computed from the merged state instead.
+            return false;
+          }
+          if (handleSuccessors(state, precision, successors)) {
+            return true;
+          }
+
+          // move the new states of the reached set into the local waitlist, such that the state
+          // that is first in the waitlist of the reached set is explored next.
+          List<AbstractState> newStates = new ArrayList<>();
+          while (reachedSet.hasWaitingState()) {
+            newStates.add(reachedSet.popFromWaitlist());
+          }
+          for (AbstractState newState : Lists.reverse(newStates)) {
+            push(newState, reachedSet.getPrecision(newState));
+          }
+          return false;
+        } finally {
+          reachedSetTimer.stop();
+        }
+      }
+    }
+
+    /**
+     * Apply precision adjustment, merge and stop to the successors of a state. This method must
+     * only be called while the reached set is locked.
+     *
+     * @return true if analysis should terminate, false if analysis should continue with next state
+     */
+    private boolean handleSuccessors(
+        final AbstractState state,
+        final Precision precision,
+        final Collection<? extends AbstractState> successors)
+        throws CPAException, InterruptedException {
+      stats.countIterations.inc();
+      stats.countSuccessors.setNextValue(successors.size());
+
+      for (Iterator<? extends AbstractState> it = successors.iterator(); it.hasNext(); ) {
+        AbstractState successor = it.next();
+        shutdownNotifier.shutdownIfNecessary();
+        logger.log(Level.ALL, "Successor of", state, "\nis", successor);
+
+        Optional<PrecisionAdjustmentResult> precAdjustmentOptional =
+            precisionAdjustment.prec(
+                successor, precision, reachedSet, Functions.identity(), successor);
+        if (!precAdjustmentOptional.isPresent()) {
+          continue;
+        }
+        PrecisionAdjustmentResult precAdjustmentResult = precAdjustmentOptional.orElseThrow();
+
+        successor = precAdjustmentResult.abstractState();
+        Precision successorPrecision = precAdjustmentResult.precision();
+        Action action = precAdjustmentResult.action();
+
+        if (action == Action.BREAK) {
+          boolean stop =
+              stopOperator.stop(successor, reachedSet.getReached(successor), successorPrecision);
+          if (AbstractStates.isTargetState(successor) && stop) {
+            // don't signal BREAK for covered states
+            stats.countStop.inc();
+            logger.log(
+                Level.FINER, "Break was signalled but ignored because the state is covered.");
+            continue;
+
+          } else {
+            stats.countBreak.inc();
+            logger.log(Level.FINER, "Break signalled, ParallelDFSAlgorithm will stop.");
+
+            // add the new state
+            reachedSet.add(successor, successorPrecision);
+
+            if (it.hasNext()) {
+              // re-add the old state to the waitlist, there are unhandled
+              // successors left that otherwise would be forgotten
+              reachedSet.reAddToWaitlist(state);
+            }
+
+            return true;
+          }
+        }
+        assert action == Action.CONTINUE : "Enum Action has unhandled values!";
+
+        Collection<AbstractState> reached = reachedSet.getReached(successor);
+
+        // An optimization, we don't bother merging if we know that the
+        // merge operator won't do anything (i.e., it is merge-sep).
+        if (mergeOperator != MergeSepOperator.getInstance() && !reached.isEmpty()) {
+          List<AbstractState> toRemove = new ArrayList<>();
+          List<Pair<AbstractState, Precision>> toAdd = new ArrayList<>();
+          try {
+            for (AbstractState reachedState : reached) {
+              shutdownNotifier.shutdownIfNecessary();
+              AbstractState mergedState =
+                  mergeOperator.merge(successor, reachedState, successorPrecision);
+
+              if (!mergedState.equals(reachedState)) {
+                logger.log(
+                    Level.ALL, "Merged", successor, "\nand", reachedState, "\n-->", mergedState);
+                stats.countMerge.inc();
+
+                toRemove.add(reachedState);
+                toAdd.add(Pair.of(mergedState, successorPrecision));
+              }
+            }
+          } finally {
+            // If we terminate, we should still update the reachedSet if necessary
+            // because ARGCPA doesn't like states in toRemove to be in the reachedSet.
+            reachedSet.removeAll(toRemove);
+            reachedSet.addAll(toAdd);
+          }
+
+          if (mergeOperator instanceof ARGMergeJoinCPAEnabledAnalysis) {
+            ((ARGMergeJoinCPAEnabledAnalysis) mergeOperator).cleanUp(reachedSet);
+          }
+        }
+
+        if (stopOperator.stop(successor, reached, successorPrecision)) {
+          logger.log(Level.FINER, "Successor is covered or unreachable, not adding to waitlist");
+          stats.countStop.inc();
+
+        } else {
+          logger.log(Level.FINER, "No need to stop, adding successor to waitlist");
+          reachedSet.add(successor, successorPrecision);
+        }
+      }
+
+      return false;
+    }
+  }
+
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    pStatsCollection.add(stats);
+  }
+
+  private static class ParallelDFSStatistics implements Statistics {
+    private final StatTimer wallTime = new StatTimer("Time for execution of algorithm");
+    private final ThreadSafeTimerContainer threadTime =
+        new ThreadSafeTimerContainer("Time for worker execution");
+    private final ThreadSafeTimerContainer transferTime =
+        new ThreadSafeTimerContainer("Time for transfer relation");
+    private final ThreadSafeTimerContainer lockTime =
+        new ThreadSafeTimerContainer("Time for waiting on reached set");
+    private final ThreadSafeTimerContainer reachedSetTime =
+        new ThreadSafeTimerContainer("Time for updating reached set");
+    private final LongAdder stolenStates = new LongAdder();
+
+    // the following values are only updated while the reached set is locked.
+    private final StatCounter countIterations = new StatCounter("Number of iterations");
+    private final StatInt countSuccessors = new StatInt(StatKind.SUM, "Number of successors");
+    private final StatCounter countMerge = new StatCounter("Number of times merged");
+    private final StatCounter countStop = new StatCounter("Number of times stopped");
+    private final StatCounter countBreak = new StatCounter("Number of times breaked");
+
+    @Override
+    public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+      StatisticsUtils.write(pOut, 0, 50, countIterations);
+      StatisticsUtils.write(pOut, 0, 50, countSuccessors);
+      StatisticsUtils.write(pOut, 0, 50, countMerge);
+      StatisticsUtils.write(pOut, 0, 50, countStop);
+      StatisticsUtils.write(pOut, 0, 50, countBreak);
+      StatisticsUtils.write(pOut, 0, 50, "Number of stolen states", stolenStates.sum());
+      StatisticsUtils.write(pOut, 0, 50, wallTime);
+      StatisticsUtils.write(pOut, 0, 50, threadTime);
+      StatisticsUtils.write(pOut, 1, 50, transferTime);
+      StatisticsUtils.write(pOut, 1, 50, lockTime);
+      StatisticsUtils.write(pOut, 1, 50, reachedSetTime);
+    }
+
+    @Override
+    public @Nullable String getName() {
+      return "Parallel DFS";
+    }
+  }
+}
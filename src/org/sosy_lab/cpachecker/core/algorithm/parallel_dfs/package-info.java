@@ -0,0 +1,14 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+/**
+ * This algorithm explores the state space in several threads. Each thread explores its own part of
+ * the ARG in depth-first order and steals work from the other threads when it runs out of states.
+ * The reached set is shared and synchronized.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.parallel_dfs;
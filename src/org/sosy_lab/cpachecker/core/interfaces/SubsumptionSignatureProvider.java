@@ -0,0 +1,30 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.interfaces;
+
+/**
+ * Interface for CPAs that provide a signature of their abstract states, which is used as an index
+ * to pre-filter the candidates of the coverage checks of the stop operator.
+ *
+ * <p>A signature is a set of bits such that, if the stop operator of the CPA considers a state e
+ * to be covered by a single reached state e', then the signature of e' is a subset of the
+ * signature of e, i.e., {@code (sig(e') & ~sig(e)) == 0}. A reached state that violates this
+ * condition cannot cover e, and the stop operator need not check it. The signature 0 is always
+ * valid, it makes every reached state a candidate.
+ */
+public interface SubsumptionSignatureProvider {
+
+  /** Get the signature of the given abstract state of this CPA. */
+  long getSubsumptionSignature(AbstractState state);
+
+  /** Check whether a state with the first signature may be covered by one with the second one. */
+  static boolean mayBeCoveredBy(long signature, long reachedSignature) {
+    return (reachedSignature & ~signature) == 0;
+  }
+}
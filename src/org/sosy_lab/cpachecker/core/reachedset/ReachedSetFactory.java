@@ -27,6 +27,7 @@ import org.sosy_lab.cpachecker.core.waitlist.ExplicitSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.LoopIterationSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.LoopstackSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.PostorderSortedWaitlist;
+import org.sosy_lab.cpachecker.core.waitlist.PreemptionSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.ReversePostorderSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.SMGSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.ThreadingSortedWaitlist;
@@ -41,7 +42,7 @@ import org.sosy_lab.cpachecker.cpa.usage.storage.UsageConfiguration;
 public class ReachedSetFactory {
 
   private enum ReachedSetType {
-    NORMAL, LOCATIONMAPPED, PARTITIONED, PSEUDOPARTITIONED, USAGE
+    NORMAL, LOCATIONMAPPED, THREADLOCATIONMAPPED, PARTITIONED, PSEUDOPARTITIONED, USAGE
   }
 
   @Option(
@@ -138,6 +139,13 @@ public class ReachedSetFactory {
   )
   private boolean useNumberOfThreads = false;
 
+  @Option(
+      secure = true,
+      name = "traversal.useNumberOfPreemptions",
+      description =
+          "handle abstract states with fewer preemptions first? (needs ThreadingIntpCPA)")
+  private boolean useNumberOfPreemptions = false;
+
   @Option(
       secure = true,
       name = "traversal.useNumberOfHeapObjects",
@@ -173,6 +181,8 @@ public class ReachedSetFactory {
             + "\nNORMAL: just a simple set"
             + "\nLOCATIONMAPPED: a different set per location "
             + "(faster, states with different locations cannot be merged)"
+            + "\nTHREADLOCATIONMAPPED: a different set per location of all threads and active "
+            + "thread (for concurrent programs, needs ThreadingCPA, ThreadingIntpCPA or LocationsCPA)"
             + "\nPARTITIONED: partitioning depending on CPAs (e.g Location, Callstack etc.)"
             + "\nPSEUDOPARTITIONED: based on PARTITIONED, uses additional info about the states' lattice "
             + "(maybe faster for some special analyses which use merge_sep and stop_sep"
@@ -262,6 +272,9 @@ public class ReachedSetFactory {
     if (useNumberOfHeapObjects) {
       waitlistFactory = SMGSortedWaitlist.factory(waitlistFactory);
     }
+    if (useNumberOfPreemptions) {
+      waitlistFactory = PreemptionSortedWaitlist.factory(waitlistFactory);
+    }
     if (useBlocks) {
       waitlistFactory = BlockWaitlist.factory(waitlistFactory, blockConfig, logger);
     }
@@ -277,6 +290,9 @@ public class ReachedSetFactory {
     case LOCATIONMAPPED:
         reached = new LocationMappedReachedSet(waitlistFactory);
         break;
+    case THREADLOCATIONMAPPED:
+        reached = new ThreadLocationMappedReachedSet(waitlistFactory);
+        break;
     case USAGE:
         reached = new UsageReachedSet(waitlistFactory, usageConfig, logger);
         break;
@@ -0,0 +1,123 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
+import org.sosy_lab.cpachecker.cpa.locations.LocationsState;
+import org.sosy_lab.cpachecker.cpa.threading.ThreadingState;
+import org.sosy_lab.cpachecker.cpa.threadingintp.ThreadingIntpState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.threading.SingleThreadState;
+
+/**
+ * Implementation of ReachedSet for the analysis of concurrent programs. It groups states by their
+ * control configuration, i.e., the location of every thread together with the active thread, and
+ * allows fast access to all states with the same control configuration as a given one.
+ *
+ * <p>The control configuration is taken from the {@link ThreadingState}, {@link ThreadingIntpState}
+ * or {@link LocationsState} of a state. For other states, the locations of the state are used. The
+ * control configuration is part of the equality of these states, so a state can only be covered by
+ * a state of the same partition.
+ */
+public class ThreadLocationMappedReachedSet extends PartitionedReachedSet {
+
+  private static final long serialVersionUID = 1L;
+
+  public ThreadLocationMappedReachedSet(WaitlistFactory waitlistFactory) {
+    super(waitlistFactory);
+  }
+
+  @Override
+  protected Object getPartitionKey(AbstractState pState) {
+    checkNotNull(pState);
+
+    ThreadingState threadingState = AbstractStates.extractStateByType(pState, ThreadingState.class);
+    if (threadingState != null) {
+      ImmutableMap.Builder<String, CFANode> locations = ImmutableMap.builder();
+      for (String id : threadingState.getThreadIds()) {
+        locations.put(id, threadingState.getThreadLocation(id).getLocationNode());
+      }
+      return new ControlConfiguration(locations.build(), threadingState.getActiveThread());
+    }
+
+    ThreadingIntpState threadingIntpState =
+        AbstractStates.extractStateByType(pState, ThreadingIntpState.class);
+    if (threadingIntpState != null) {
+      ImmutableMap.Builder<String, CFANode> locations = ImmutableMap.builder();
+      for (String id : threadingIntpState.getThreadIds()) {
+        locations.put(id, threadingIntpState.getThreadLocation(id).getLocationNode());
+      }
+      return new ControlConfiguration(locations.build(), threadingIntpState.getActiveThread());
+    }
+
+    LocationsState locationsState = AbstractStates.extractStateByType(pState, LocationsState.class);
+    if (locationsState != null) {
+      // the transferred thread is not part of the equality of these states, thus it is ignored.
+      ImmutableMap.Builder<String, CFANode> locations = ImmutableMap.builder();
+      for (Map.Entry<String, SingleThreadState> thread :
+          locationsState.getMultiThreadState().getThreadLocations().entrySet()) {
+        locations.put(thread.getKey(), thread.getValue().getLocationNode());
+      }
+      return new ControlConfiguration(locations.build(), null);
+    }
+
+    return new ControlConfiguration(
+        ImmutableList.copyOf(AbstractStates.extractLocations(pState)), null);
+  }
+
+  /**
+   * The locations of all threads (a map from the thread ids to their locations, or a list of
+   * locations if there are no thread ids) and the active thread, with a cached hash.
+   */
+  private static final class ControlConfiguration {
+
+    private final Object locations;
+    private final @Nullable String activeThread;
+    private final int hash;
+
+    private ControlConfiguration(Object pLocations, @Nullable String pActiveThread) {
+      locations = pLocations;
+      activeThread = pActiveThread;
+      hash = 31 * locations.hashCode() + Objects.hashCode(activeThread);
+    }
+
+    @Override
+    public boolean equals(Object pOther) {
+      if (this == pOther) {
+        return true;
+      }
+      if (!(pOther instanceof ControlConfiguration)) {
+        return false;
+      }
+      ControlConfiguration other = (ControlConfiguration) pOther;
+      return hash == other.hash
+          && Objects.equals(activeThread, other.activeThread)
+          && locations.equals(other.locations);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public String toString() {
+      return locations + (activeThread == null ? "" : " @ " + activeThread);
+    }
+  }
+}
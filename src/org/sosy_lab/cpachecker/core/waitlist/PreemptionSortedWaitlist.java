@@ -0,0 +1,39 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.core.waitlist;
+
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.cpa.threadingintp.ThreadingIntpState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+
+/**
+ * Waitlist implementation that sorts the abstract states depending on the number of preemptions
+ * (i.e., created interrupts) along their paths (if there are any). States with fewer preemptions
+ * are considered first, so all schedules with k preemptions are explored before any schedule with
+ * k + 1 preemptions. This is an iterative deepening of the preemption budget that keeps the
+ * frontier of each budget instead of restarting the analysis.
+ */
+public class PreemptionSortedWaitlist extends AbstractSortedWaitlist<Integer> {
+
+  protected PreemptionSortedWaitlist(WaitlistFactory pSecondaryStrategy) {
+    super(pSecondaryStrategy);
+  }
+
+  @Override
+  protected Integer getSortKey(AbstractState pState) {
+    ThreadingIntpState state = AbstractStates.extractStateByType(pState, ThreadingIntpState.class);
+
+    // negate the number so that the highest key corresponds to the fewest preemptions
+    return (state == null) ? 0 : -state.getPreemptions();
+  }
+
+  public static WaitlistFactory factory(final WaitlistFactory pSecondaryStrategy) {
+    return () -> new PreemptionSortedWaitlist(pSecondaryStrategy);
+  }
+}
@@ -17,6 +17,7 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import java.util.Collection;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
@@ -43,6 +44,7 @@ import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
 import org.sosy_lab.cpachecker.core.interfaces.Reducer;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.SubsumptionSignatureProvider;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker;
 import org.sosy_lab.cpachecker.core.specification.Specification;
@@ -96,9 +98,37 @@ public class ARGCPA extends AbstractSingleWrapperCPA
     description = "Enable reduction for nested abstract states when entering or leaving a block abstraction for BAM. The reduction can lead to a higher cache-hit-rate for BAM and a faster sub-analysis for blocks.")
   private boolean enableStateReduction = true;
 
+  @Option(
+      secure = true,
+      description =
+          "use the signatures of the wrapped CPA (if it provides them, e.g., ValueAnalysisCPA "
+              + "within CompositeCPA) as an index that skips the reached states that cannot "
+              + "cover a state in the stop operator.")
+  private boolean useSubsumptionSignatures = false;
+
+  @Option(
+      secure = true,
+      description =
+          "keep the parent-child relation of the ARG in shared primitive arrays instead of two "
+              + "lists per state, which reduces the memory consumption of large ARGs.")
+  private boolean compactAdjacency = false;
+
+  @Option(
+      secure = true,
+      description =
+          "periodically remove the covered leaves of fully explored subtrees of the ARG that "
+              + "contain no target state. The expanded states are kept, so this reduces but does "
+              + "not bound the memory of the ARG. This needs merge-sep and is not compatible "
+              + "with the export of the complete ARG (cpa.arg.export and correctness witnesses), "
+              + "counterexamples are not affected. The pruning is not supported by "
+              + "algorithm.useParallelDFS.")
+  private boolean pruneExploredSubtrees = false;
+
   private final LogManager logger;
 
   private final ARGStatistics stats;
+  private final @Nullable SubsumptionSignatureStatistics signatureStats;
+  private final @Nullable ARGPruner pruner;
 
   private ARGCPA(
       ConfigurableProgramAnalysis cpa,
@@ -111,6 +141,31 @@ public class ARGCPA extends AbstractSingleWrapperCPA
     config.inject(this);
     this.logger = logger;
     stats = new ARGStatistics(config, logger, this, pSpecification, cfa);
+    signatureStats =
+        useSubsumptionSignatures && cpa instanceof SubsumptionSignatureProvider
+            ? new SubsumptionSignatureStatistics()
+            : null;
+
+    if (pruneExploredSubtrees) {
+      if (cpa.getMergeOperator() != MergeSepOperator.getInstance()) {
+        throw new InvalidConfigurationException(
+            "Pruning the ARG needs merge-sep, as it only handles ARGs that are trees.");
+      }
+      if (keepCoveredStatesInReached || inCPAEnabledAnalysis) {
+        throw new InvalidConfigurationException(
+            "Pruning the ARG is not supported with cpa.arg.keepCoveredStatesInReached "
+                + "or cpa.arg.inCPAEnabledAnalysis.");
+      }
+      if (stats.needsCompleteARG()) {
+        throw new InvalidConfigurationException(
+            "Pruning the ARG needs cpa.arg.export=false and cpa.arg.translateToC=false "
+                + "and no correctness witness (cpa.arg.proofWitness, cpa.arg.proofWitness.dot), "
+                + "as the complete ARG is not available at the end of the analysis.");
+      }
+      pruner = new ARGPruner(config);
+    } else {
+      pruner = null;
+    }
   }
 
   @Override
@@ -143,16 +198,18 @@ public class ARGCPA extends AbstractSingleWrapperCPA
         logger,
         inCPAEnabledAnalysis,
         keepCoveredStatesInReached,
-        coverTargetStates);
+        coverTargetStates,
+        signatureStats == null ? null : (SubsumptionSignatureProvider) getWrappedCpa(),
+        signatureStats);
   }
 
   @Override
   public PrecisionAdjustment getPrecisionAdjustment() {
     PrecisionAdjustment wrappedPrec = getWrappedCpa().getPrecisionAdjustment();
-    if (wrappedPrec instanceof SimplePrecisionAdjustment) {
+    if (wrappedPrec instanceof SimplePrecisionAdjustment && pruner == null) {
       return new ARGSimplePrecisionAdjustment((SimplePrecisionAdjustment) wrappedPrec);
     } else {
-      return new ARGPrecisionAdjustment(wrappedPrec, inCPAEnabledAnalysis, stats);
+      return new ARGPrecisionAdjustment(wrappedPrec, inCPAEnabledAnalysis, stats, pruner);
     }
   }
 
@@ -173,7 +230,11 @@ public class ARGCPA extends AbstractSingleWrapperCPA
   @Override
   public AbstractState getInitialState(CFANode pNode, StateSpacePartition pPartition) throws InterruptedException {
     // TODO some code relies on the fact that this method is called only once and the result is the root of the ARG
-    return new ARGState(getWrappedCpa().getInitialState(pNode, pPartition), null);
+    AbstractState initialState = getWrappedCpa().getInitialState(pNode, pPartition);
+    if (compactAdjacency) {
+      return ARGState.createCompactRoot(initialState);
+    }
+    return new ARGState(initialState, null);
   }
 
   public LogManager getLogger() {
@@ -189,6 +250,12 @@ public class ARGCPA extends AbstractSingleWrapperCPA
       // and afterwards call super.collectStatistics().
       pStatsCollection.add(stats);
     }
+    if (signatureStats != null) {
+      pStatsCollection.add(signatureStats);
+    }
+    if (pruner != null) {
+      pStatsCollection.add(pruner);
+    }
     super.collectStatistics(pStatsCollection);
   }
 
@@ -196,6 +263,11 @@ public class ARGCPA extends AbstractSingleWrapperCPA
     return stats;
   }
 
+  /** Whether the covered states of fully explored subtrees are removed from the ARG. */
+  public boolean prunesExploredSubtrees() {
+    return pruner != null;
+  }
+
   @Override
   public boolean areAbstractSuccessors(AbstractState pElement, CFAEdge pCfaEdge,
       Collection<? extends AbstractState> pSuccessors) throws CPATransferException, InterruptedException {
@@ -15,6 +15,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import java.util.Objects;
 import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.core.defaults.AbstractSingleWrapperState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
@@ -29,14 +30,24 @@ public class ARGPrecisionAdjustment implements PrecisionAdjustment {
 
   private final PrecisionAdjustment wrappedPrecAdjustment;
   private final ARGStatistics statistics;
+  private final @Nullable ARGPruner pruner;
 
   protected final boolean inCPAEnabledAnalysis;
 
 
   public ARGPrecisionAdjustment(PrecisionAdjustment pWrappedPrecAdjustment, boolean pInCPAEnabledAnalysis, ARGStatistics pStats) {
+    this(pWrappedPrecAdjustment, pInCPAEnabledAnalysis, pStats, null);
+  }
+
+  ARGPrecisionAdjustment(
+      PrecisionAdjustment pWrappedPrecAdjustment,
+      boolean pInCPAEnabledAnalysis,
+      ARGStatistics pStats,
+      @Nullable ARGPruner pPruner) {
     wrappedPrecAdjustment = pWrappedPrecAdjustment;
     inCPAEnabledAnalysis = pInCPAEnabledAnalysis;
     statistics = pStats;
+    pruner = pPruner;
   }
 
   @Override
@@ -56,6 +67,11 @@ public class ARGPrecisionAdjustment implements PrecisionAdjustment {
     // print statistics for this algorithm iteration (if necessary)
     statistics.printIterationStatistics(pElements);
 
+    // remove the covered states of finished parts of the ARG (if necessary)
+    if (pruner != null) {
+      pruner.pruneIfNecessary(pElements);
+    }
+
     return result;
   }
 
@@ -0,0 +1,210 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import com.google.common.collect.Sets;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
+import org.sosy_lab.cpachecker.util.statistics.StatTimer;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * Removes the covered leaves of the ARG for analyses that keep the ARG only for refinement and for
+ * the lookups of parents and siblings during the analysis (e.g., by the precision adjustments of
+ * POR).
+ *
+ * <p>The pruner periodically sweeps over the ARG and determines the subtrees that are finished,
+ * i.e., all their states are expanded or covered and none of them is waiting or a target state.
+ * Such a subtree is never part of a path to a target state, hence neither the analysis nor the
+ * refinement will look into it again. From each finished subtree that is closed under coverage,
+ * i.e., whose covered states are all covered by states of the same subtree, the covered leaves are
+ * removed from the ARG together with their wrapped states. The other states of the subtree stay in
+ * the ARG, as they are still in the reached set and may cover further states.
+ *
+ * <p>The closedness guarantees that the refinement cannot lose a covered state: the covering
+ * state can only be removed together with the whole subtree, including the parent of the covered
+ * state. This only holds for trees, hence subtrees that contain a state with several parents are
+ * never pruned.
+ *
+ * <p>The pruning does not bound the memory of the analysis: all the expanded states stay in the
+ * reached set and in the ARG, so the memory still grows with the number of expanded states, only
+ * the covered leaves and their wrapped states are released. Each sweep traverses the whole ARG and
+ * indexes its states, the growing interval between the sweeps keeps this cost amortized constant
+ * per new state.
+ */
+@Options(prefix = "cpa.arg.pruning")
+class ARGPruner implements Statistics {
+
+  @Option(
+      secure = true,
+      description =
+          "the minimal number of new states between two sweeps over the ARG. The interval grows "
+              + "with the size of the ARG, such that the sweeps take amortized constant time per "
+              + "state.")
+  @IntegerOption(min = 1)
+  private int minInterval = 10000;
+
+  private final StatTimer sweepTime = new StatTimer("Time for pruning the ARG");
+  private final StatInt sweptStates = new StatInt(StatKind.MAX, "Number of swept states");
+  private final StatCounter prunedSubtrees = new StatCounter("Number of pruned subtrees");
+  private final StatCounter prunedStates = new StatCounter("Number of pruned states");
+
+  private int newStates = 0;
+  private int nextSweep;
+
+  ARGPruner(Configuration pConfig) throws InvalidConfigurationException {
+    pConfig.inject(this);
+    nextSweep = minInterval;
+  }
+
+  /** Count a new state and sweep over the ARG if the interval is exceeded. */
+  void pruneIfNecessary(UnmodifiableReachedSet pReached) {
+    if (++newStates < nextSweep) {
+      return;
+    }
+    newStates = 0;
+
+    AbstractState root = pReached.getFirstState();
+    if (!(root instanceof ARGState)) {
+      return;
+    }
+    sweepTime.start();
+    try {
+      int size = sweep((ARGState) root, pReached);
+      sweptStates.setNextValue(size);
+      nextSweep = Math.max(minInterval, size);
+    } finally {
+      sweepTime.stop();
+    }
+  }
+
+  private int sweep(ARGState pRoot, UnmodifiableReachedSet pReached) {
+    Set<AbstractState> waiting = Sets.newIdentityHashSet();
+    waiting.addAll(pReached.getWaitlist());
+
+    // number the states in pre-order, in a tree each subtree is an interval of this order
+    List<ARGState> states = new ArrayList<>();
+    Map<ARGState, Integer> preOrder = new HashMap<>();
+    Deque<ARGState> stack = new ArrayDeque<>();
+    stack.push(pRoot);
+    while (!stack.isEmpty()) {
+      ARGState state = stack.pop();
+      if (preOrder.putIfAbsent(state, states.size()) == null) {
+        states.add(state);
+        for (ARGState child : state.getChildren()) {
+          stack.push(child);
+        }
+      }
+    }
+
+    // compute bottom-up which subtrees are finished and closed under coverage
+    int size = states.size();
+    boolean[] finished = new boolean[size];
+    boolean[] prunable = new boolean[size];
+    int[] last = new int[size];
+    int[] minCovering = new int[size];
+    int[] maxCovering = new int[size];
+    Arrays.fill(minCovering, Integer.MAX_VALUE);
+    Arrays.fill(maxCovering, Integer.MIN_VALUE);
+
+    for (int i = size - 1; i >= 0; i--) {
+      ARGState state = states.get(i);
+      boolean done =
+          (state.isCovered() || state.wasExpanded())
+              && !state.isTarget()
+              && !waiting.contains(state)
+              && state.getParents().size() <= 1;
+
+      if (state.isCovered()) {
+        Integer covering = preOrder.get(state.getCoveringState());
+        if (covering == null) {
+          done = false;
+        } else {
+          minCovering[i] = covering;
+          maxCovering[i] = covering;
+        }
+      }
+
+      last[i] = i;
+      for (ARGState child : state.getChildren()) {
+        int c = preOrder.get(child);
+        if (c <= i) {
+          // the child was reached via another parent
+          done = false;
+          break;
+        }
+        done &= finished[c];
+        last[i] = Math.max(last[i], last[c]);
+        minCovering[i] = Math.min(minCovering[i], minCovering[c]);
+        maxCovering[i] = Math.max(maxCovering[i], maxCovering[c]);
+      }
+
+      finished[i] = done;
+      // a finished subtree that is not closed may be closed by the subtree of an ancestor
+      prunable[i] = done && minCovering[i] >= i && maxCovering[i] <= last[i];
+    }
+
+    // prune the maximal prunable subtrees
+    int i = 0;
+    while (i < size) {
+      if (!prunable[i]) {
+        i++;
+        continue;
+      }
+      boolean pruned = false;
+      for (int j = i; j <= last[i]; j++) {
+        ARGState state = states.get(j);
+        if (state.isCovered() && state.getChildren().isEmpty()) {
+          state.removeFromARG();
+          prunedStates.inc();
+          pruned = true;
+        }
+      }
+      if (pruned) {
+        prunedSubtrees.inc();
+      }
+      i = last[i] + 1;
+    }
+    return size;
+  }
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put(sweepTime)
+        .put(sweptStates)
+        .put(prunedSubtrees)
+        .put(prunedStates);
+  }
+
+  @Override
+  public @Nullable String getName() {
+    return "ARG pruning";
+  }
+}
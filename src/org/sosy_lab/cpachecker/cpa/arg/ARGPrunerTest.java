@@ -0,0 +1,91 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+
+public class ARGPrunerTest {
+
+  private ARGPruner pruner;
+
+  @Before
+  public void setup() throws InvalidConfigurationException {
+    pruner =
+        new ARGPruner(
+            Configuration.builder().setOption("cpa.arg.pruning.minInterval", "1").build());
+  }
+
+  private static ARGState expanded(ARGState pParent) {
+    ARGState state = new ARGState(null, pParent);
+    state.markExpanded();
+    return state;
+  }
+
+  private static UnmodifiableReachedSet reachedWithWaitlist(ARGState pRoot, ARGState... pWaiting) {
+    UnmodifiableReachedSet reached = Mockito.mock(UnmodifiableReachedSet.class);
+    Mockito.when(reached.getFirstState()).thenReturn(pRoot);
+    Mockito.when(reached.getWaitlist()).thenReturn(ImmutableList.copyOf(pWaiting));
+    return reached;
+  }
+
+  @Test
+  public void testPruneClosedFinishedSubtree() {
+    ARGState root = expanded(null);
+    ARGState finished = expanded(root);
+    ARGState covered = new ARGState(null, finished);
+    ARGState covering = expanded(finished);
+    covered.setCovered(covering);
+    ARGState waiting = new ARGState(null, root);
+
+    pruner.pruneIfNecessary(reachedWithWaitlist(root, waiting));
+
+    assertThat(covered.isDestroyed()).isTrue();
+    assertThat(finished.getChildren()).containsExactly(covering);
+    assertThat(covering.getCoveredByThis()).isEmpty();
+    assertThat(root.getChildren()).containsExactly(finished, waiting).inOrder();
+  }
+
+  @Test
+  public void testKeepCoverageAcrossSubtrees() {
+    ARGState root = expanded(null);
+    ARGState left = expanded(root);
+    ARGState covering = expanded(left);
+    ARGState right = expanded(root);
+    ARGState covered = new ARGState(null, right);
+    covered.setCovered(covering);
+    ARGState waiting = new ARGState(null, root);
+
+    pruner.pruneIfNecessary(reachedWithWaitlist(root, waiting));
+
+    assertThat(covered.isDestroyed()).isFalse();
+    assertThat(covering.getCoveredByThis()).containsExactly(covered);
+  }
+
+  @Test
+  public void testKeepSubtreeWithWaitingState() {
+    ARGState root = expanded(null);
+    ARGState inner = expanded(root);
+    ARGState covering = expanded(inner);
+    ARGState covered = new ARGState(null, inner);
+    covered.setCovered(covering);
+    ARGState waiting = new ARGState(null, inner);
+
+    pruner.pruneIfNecessary(reachedWithWaitlist(root, waiting));
+
+    assertThat(covered.isDestroyed()).isFalse();
+  }
+}
@@ -17,13 +17,21 @@ import static org.sosy_lab.cpachecker.util.AbstractStates.extractStateByType;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
 import com.google.common.graph.Traverser;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -38,6 +46,7 @@ import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithDummyLocation;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocations;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
 import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.Pair;
 
 public class ARGState extends AbstractSingleWrapperState
     implements Comparable<ARGState>, Graphable, Splitable{
@@ -48,8 +57,19 @@ public class ARGState extends AbstractSingleWrapperState
   // because ArrayList is much more memory efficient than e.g. LinkedHashSet.
   // Also these collections are small and so a slow contains() method won't hurt.
   // To enforce set semantics, do not add elements except through addparent()!
-  private final Collection<ARGState> children = new ArrayList<>(1);
-  private final Collection<ARGState> parents = new ArrayList<>(1);
+  // Both lists are null if the state uses the compact adjacency of its ARG, i.e.,
+  // if compactStore is set. Each relation between two states is kept in the same
+  // representation on both sides, cf. link(ARGState, ARGState).
+  private @Nullable Collection<ARGState> children;
+  private @Nullable Collection<ARGState> parents;
+
+  // It only changes once, from null to a store, while that store is locked. It is volatile, as
+  // the store is read outside the lock to find the lock that guards the relation.
+  private volatile @Nullable CompactARGStore compactStore;
+  // the node index in compactStore, only assigned while the state has parents or children.
+  // The store is shared by concurrently created states (e.g., by ParallelDFSAlgorithm), hence
+  // the index and the relation in the store are only accessed while the store is locked.
+  private int compactIndex = NO_INDEX;
 
   private ARGState mCoveredBy = null;
   private Set<ARGState> mCoveredByThis = null; // lazy initialization because rarely needed
@@ -69,14 +89,35 @@ public class ARGState extends AbstractSingleWrapperState
 
   private static final UniqueIdGenerator idGenerator = new UniqueIdGenerator();
 
+  private static final int NO_INDEX = -1;
+
   public ARGState(@Nullable AbstractState pWrappedState, @Nullable ARGState pParentElement) {
-    super(pWrappedState);
-    stateId = idGenerator.getFreshId();
+    this(pParentElement == null ? null : pParentElement.compactStore, pWrappedState);
     if (pParentElement != null) {
       addParent(pParentElement);
     }
   }
 
+  private ARGState(@Nullable CompactARGStore pStore, @Nullable AbstractState pWrappedState) {
+    super(pWrappedState);
+    stateId = idGenerator.getFreshId();
+    compactStore = pStore;
+    if (pStore == null) {
+      children = new ArrayList<>(1);
+      parents = new ArrayList<>(1);
+    }
+  }
+
+  /**
+   * Create the root of a new ARG that uses the compact adjacency, i.e., the parent-child relation
+   * of all states that are transitively connected to the root is kept in a single {@link
+   * CompactARGStore} instead of two lists per state. The states created with a compact parent use
+   * the compact adjacency, too, and other states are moved into it once they are connected.
+   */
+  static ARGState createCompactRoot(@Nullable AbstractState pWrappedState) {
+    return new ARGState(new CompactARGStore(), pWrappedState);
+  }
+
   // parent & child relations
 
   /**
@@ -84,21 +125,14 @@ public class ARGState extends AbstractSingleWrapperState
    * @return A unmodifiable collection of ARGStates without duplicates.
    */
   public Collection<ARGState> getParents() {
-    return Collections.unmodifiableCollection(parents);
+    return new Adjacency(false);
   }
 
   public void addParent(ARGState pOtherParent) {
     checkNotNull(pOtherParent);
     assert !destroyed : "Don't use destroyed ARGState " + this;
 
-    // Manually enforce set semantics.
-    if (!parents.contains(pOtherParent)) {
-      assert !pOtherParent.children.contains(this);
-      parents.add(pOtherParent);
-      pOtherParent.children.add(this);
-    } else {
-      assert pOtherParent.children.contains(this);
-    }
+    link(pOtherParent, this);
   }
 
   /**
@@ -107,7 +141,221 @@ public class ARGState extends AbstractSingleWrapperState
    */
   public Collection<ARGState> getChildren() {
     assert !destroyed : "Don't use destroyed ARGState " + this;
-    return Collections.unmodifiableCollection(children);
+    return new Adjacency(true);
+  }
+
+  /** Whether the parent-child relation of this state is kept in a {@link CompactARGStore}. */
+  boolean hasCompactAdjacency() {
+    return compactStore != null;
+  }
+
+  private static boolean hasEdge(ARGState pParent, ARGState pChild) {
+    CompactARGStore store = pParent.compactStore;
+    if (store == null) {
+      boolean result = pParent.children.contains(pChild);
+      assert pChild.compactStore != null || result == pChild.parents.contains(pParent)
+          : "Inconsistent ARG at " + pParent;
+      return result;
+    }
+    if (store != pChild.compactStore) {
+      return false;
+    }
+    synchronized (store) {
+      return hasCompactEdge(store, pParent, pChild);
+    }
+  }
+
+  // must only be called while the store is locked
+  private static boolean hasCompactEdge(
+      CompactARGStore pStore, ARGState pParent, ARGState pChild) {
+    return pParent.compactIndex != NO_INDEX
+        && pChild.compactIndex != NO_INDEX
+        && pStore.containsEdge(pParent.compactIndex, pChild.compactIndex);
+  }
+
+  /** Add the edge from parent to child if it does not exist yet. */
+  private static void link(ARGState pParent, ARGState pChild) {
+    CompactARGStore parentStore = pParent.compactStore;
+    CompactARGStore childStore = pChild.compactStore;
+    if (parentStore == null && childStore == null) {
+      // Manually enforce set semantics.
+      if (!hasEdge(pParent, pChild)) {
+        pParent.children.add(pChild);
+        pChild.parents.add(pParent);
+      }
+      return;
+    }
+
+    CompactARGStore store = parentStore != null ? parentStore : childStore;
+    synchronized (store) {
+      pParent.moveTo(store);
+      pChild.moveTo(store);
+      if (!hasCompactEdge(store, pParent, pChild)) {
+        store.addEdge(pParent.getCompactIndex(), pChild.getCompactIndex());
+      }
+    }
+  }
+
+  /** Remove the edge from parent to child, returns whether the edge existed. */
+  private static boolean unlink(ARGState pParent, ARGState pChild) {
+    CompactARGStore store = pParent.compactStore;
+    if (store == null) {
+      if (!pParent.children.remove(pChild)) {
+        return false;
+      }
+      boolean removed = pChild.parents.remove(pParent);
+      assert removed : "Inconsistent ARG at " + pParent;
+      return true;
+    }
+
+    if (store != pChild.compactStore) {
+      return false;
+    }
+    synchronized (store) {
+      if (!hasCompactEdge(store, pParent, pChild)) {
+        return false;
+      }
+      store.removeEdge(pParent.compactIndex, pChild.compactIndex);
+      pParent.releaseCompactIndexIfUnconnected();
+      pChild.releaseCompactIndexIfUnconnected();
+      return true;
+    }
+  }
+
+  // must only be called while the store is locked
+  private int getCompactIndex() {
+    if (compactIndex == NO_INDEX) {
+      compactIndex = compactStore.addNode(this);
+    }
+    return compactIndex;
+  }
+
+  // unconnected states are not kept in the store, such that they can be garbage collected,
+  // must only be called while the store is locked
+  private void releaseCompactIndexIfUnconnected() {
+    if (compactIndex != NO_INDEX && !compactStore.hasEdges(compactIndex)) {
+      compactStore.removeNode(compactIndex);
+      compactIndex = NO_INDEX;
+    }
+  }
+
+  /**
+   * Move this state, and all states that are transitively connected to it in its current
+   * representation, into the given store. Connecting a fresh state is cheap, as it has no
+   * relations to move. This method must only be called while the given store is locked.
+   */
+  private void moveTo(CompactARGStore pStore) {
+    if (compactStore == pStore) {
+      return;
+    }
+
+    // collect the connected states and their relations before changing anything
+    Map<ARGState, List<ARGState>> childrenOf = new LinkedHashMap<>();
+    Map<ARGState, List<ARGState>> parentsOf = new HashMap<>();
+    Deque<ARGState> waitlist = new ArrayDeque<>();
+    waitlist.add(this);
+    while (!waitlist.isEmpty()) {
+      ARGState state = waitlist.pop();
+      if (childrenOf.containsKey(state)) {
+        continue;
+      }
+      childrenOf.put(state, ImmutableList.copyOf(state.getChildren()));
+      parentsOf.put(state, ImmutableList.copyOf(state.getParents()));
+      waitlist.addAll(childrenOf.get(state));
+      waitlist.addAll(parentsOf.get(state));
+    }
+
+    for (Map.Entry<ARGState, List<ARGState>> entry : childrenOf.entrySet()) {
+      for (ARGState child : entry.getValue()) {
+        unlink(entry.getKey(), child);
+      }
+    }
+    for (ARGState state : childrenOf.keySet()) {
+      assert state.compactIndex == NO_INDEX;
+      state.compactStore = pStore;
+      state.children = null;
+      state.parents = null;
+    }
+
+    // keep the order of both the children and the parents of each state
+    Map<Pair<ARGState, ARGState>, Integer> edges = new HashMap<>();
+    for (Map.Entry<ARGState, List<ARGState>> entry : childrenOf.entrySet()) {
+      ARGState parent = entry.getKey();
+      for (ARGState child : entry.getValue()) {
+        edges.put(
+            Pair.of(parent, child),
+            pStore.appendToChildrenOfParent(parent.getCompactIndex(), child.getCompactIndex()));
+      }
+    }
+    for (Map.Entry<ARGState, List<ARGState>> entry : parentsOf.entrySet()) {
+      for (ARGState parent : entry.getValue()) {
+        pStore.appendToParentsOfChild(edges.get(Pair.of(parent, entry.getKey())));
+      }
+    }
+  }
+
+  /**
+   * Unmodifiable view of the parents or children of this state, independent of the representation
+   * of the relation.
+   */
+  private final class Adjacency extends AbstractCollection<ARGState> {
+
+    private final boolean ofChildren;
+
+    private Adjacency(boolean pOfChildren) {
+      ofChildren = pOfChildren;
+    }
+
+    /** The iterator of the compact adjacency works on a snapshot of the relation. */
+    @Override
+    public Iterator<ARGState> iterator() {
+      CompactARGStore store = compactStore;
+      if (store == null) {
+        return Iterators.unmodifiableIterator((ofChildren ? children : parents).iterator());
+      }
+      synchronized (store) {
+        if (compactIndex == NO_INDEX) {
+          return Collections.emptyIterator();
+        }
+        return (ofChildren ? store.getChildren(compactIndex) : store.getParents(compactIndex))
+            .iterator();
+      }
+    }
+
+    @Override
+    public int size() {
+      CompactARGStore store = compactStore;
+      if (store == null) {
+        return (ofChildren ? children : parents).size();
+      }
+      synchronized (store) {
+        if (compactIndex == NO_INDEX) {
+          return 0;
+        }
+        return ofChildren ? store.countChildren(compactIndex) : store.countParents(compactIndex);
+      }
+    }
+
+    @Override
+    public boolean isEmpty() {
+      CompactARGStore store = compactStore;
+      if (store == null) {
+        return (ofChildren ? children : parents).isEmpty();
+      }
+      synchronized (store) {
+        return compactIndex == NO_INDEX
+            || !(ofChildren ? store.hasChildren(compactIndex) : store.hasParents(compactIndex));
+      }
+    }
+
+    @Override
+    public boolean contains(Object pObj) {
+      if (!(pObj instanceof ARGState)) {
+        return false;
+      }
+      ARGState other = (ARGState) pObj;
+      return ofChildren ? hasEdge(ARGState.this, other) : hasEdge(other, ARGState.this);
+    }
   }
 
   /**
@@ -292,10 +540,8 @@ public class ARGState extends AbstractSingleWrapperState
   }
 
   void deleteChild(ARGState child) {
-    assert (children.contains(child));
-    assert (child.parents.contains(this));
-    children.remove(child);
-    child.parents.remove(this);
+    boolean removed = unlink(this, child);
+    assert removed;
   }
 
   // counterexample
@@ -383,9 +629,9 @@ public class ARGState extends AbstractSingleWrapperState
     sb.append(stateId);
     if (!destroyed) {
       sb.append(", Parents: ");
-      sb.append(stateIdsOf(parents));
+      sb.append(stateIdsOf(getParents()));
       sb.append(", Children: ");
-      sb.append(stateIdsOf(children));
+      sb.append(stateIdsOf(getChildren()));
 
       if (mCoveredBy != null) {
         sb.append(", Covered by: ");
@@ -470,18 +716,14 @@ public class ARGState extends AbstractSingleWrapperState
     assert !destroyed : "Don't use destroyed ARGState " + this;
 
     // clear children
-    for (ARGState child : children) {
-      assert (child.parents.contains(this));
-      child.parents.remove(this);
+    for (ARGState child : ImmutableList.copyOf(getChildren())) {
+      unlink(this, child);
     }
-    children.clear();
 
     // clear parents
-    for (ARGState parent : parents) {
-      assert (parent.children.contains(this));
-      parent.children.remove(this);
+    for (ARGState parent : ImmutableList.copyOf(getParents())) {
+      unlink(parent, this);
     }
-    parents.clear();
   }
 
   /**
@@ -501,19 +743,15 @@ public class ARGState extends AbstractSingleWrapperState
     assert !this.equals(replacement) : "Don't replace ARGState " + this + " with itself";
 
     // copy children
-    for (ARGState child : children) {
-      assert child.parents.contains(this) : "Inconsistent ARG at " + this;
-      child.parents.remove(this);
+    for (ARGState child : ImmutableList.copyOf(getChildren())) {
+      unlink(this, child);
       child.addParent(replacement);
     }
-    children.clear();
 
-    for (ARGState parent : parents) {
-      assert parent.children.contains(this) : "Inconsistent ARG at " + this;
-      parent.children.remove(this);
+    for (ARGState parent : ImmutableList.copyOf(getParents())) {
+      unlink(parent, this);
       replacement.addParent(parent);
     }
-    parents.clear();
 
     if (mCoveredByThis != null) {
       if (replacement.mCoveredByThis == null) {
@@ -567,12 +805,6 @@ public class ARGState extends AbstractSingleWrapperState
     assert !destroyed : "Don't use destroyed ARGState " + this;
 
     // Manually enforce set semantics.
-    if (parents.contains(pOtherParent)) {
-      assert pOtherParent.children.contains(this);
-      parents.remove(pOtherParent);
-      pOtherParent.children.remove(this);
-    } else {
-      assert !pOtherParent.children.contains(this) : "Problem detected!";
-    }
+    unlink(pOtherParent, this);
   }
 }
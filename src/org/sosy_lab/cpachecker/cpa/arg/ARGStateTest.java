@@ -0,0 +1,158 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ARGStateTest {
+
+  @Test
+  public void testCompactChildrenInheritAdjacency() {
+    ARGState root = ARGState.createCompactRoot(null);
+    ARGState child1 = new ARGState(null, root);
+    ARGState child2 = new ARGState(null, root);
+    ARGState grandChild = new ARGState(null, child1);
+    grandChild.addParent(child2);
+
+    assertThat(child1.hasCompactAdjacency()).isTrue();
+    assertThat(grandChild.hasCompactAdjacency()).isTrue();
+    assertThat(root.getChildren()).containsExactly(child1, child2).inOrder();
+    assertThat(grandChild.getParents()).containsExactly(child1, child2).inOrder();
+    assertThat(root.getSubgraph()).containsExactly(root, child1, child2, grandChild);
+  }
+
+  @Test
+  public void testAddParentIsIdempotent() {
+    ARGState root = ARGState.createCompactRoot(null);
+    ARGState child = new ARGState(null, root);
+    child.addParent(root);
+
+    assertThat(root.getChildren()).hasSize(1);
+    assertThat(child.getParents()).hasSize(1);
+  }
+
+  @Test
+  public void testConnectedStatesMoveIntoCompactAdjacency() {
+    ARGState root = ARGState.createCompactRoot(null);
+    ARGState other = new ARGState(null, null);
+    ARGState otherChild = new ARGState(null, other);
+    assertThat(other.hasCompactAdjacency()).isFalse();
+
+    other.addParent(root);
+
+    assertThat(other.hasCompactAdjacency()).isTrue();
+    assertThat(otherChild.hasCompactAdjacency()).isTrue();
+    assertThat(root.getChildren()).containsExactly(other);
+    assertThat(other.getChildren()).containsExactly(otherChild);
+    assertThat(otherChild.getParents()).containsExactly(other);
+  }
+
+  @Test
+  public void testRemoveFromCompactARG() {
+    ARGState root = ARGState.createCompactRoot(null);
+    ARGState child = new ARGState(null, root);
+    ARGState grandChild = new ARGState(null, child);
+
+    child.removeFromARG();
+
+    assertThat(root.getChildren()).isEmpty();
+    assertThat(grandChild.getParents()).isEmpty();
+    assertThat(child.isDestroyed()).isTrue();
+  }
+
+  @Test
+  public void testReplaceInCompactARG() {
+    ARGState root = ARGState.createCompactRoot(null);
+    ARGState child = new ARGState(null, root);
+    ARGState grandChild = new ARGState(null, child);
+    ARGState replacement = new ARGState(null, null);
+
+    child.replaceInARGWith(replacement);
+
+    assertThat(replacement.hasCompactAdjacency()).isTrue();
+    assertThat(root.getChildren()).containsExactly(replacement);
+    assertThat(grandChild.getParents()).containsExactly(replacement);
+    assertThat(replacement.getParents()).containsExactly(root);
+    assertThat(replacement.getChildren()).containsExactly(grandChild);
+  }
+
+  @Test
+  public void testDeleteChildInCompactARG() {
+    ARGState root = ARGState.createCompactRoot(null);
+    ARGState child1 = new ARGState(null, root);
+    ARGState child2 = new ARGState(null, root);
+    ARGState child3 = new ARGState(null, root);
+
+    root.deleteChild(child2);
+    child3.removeParent(root);
+
+    assertThat(root.getChildren()).containsExactly(child1);
+    assertThat(child2.getParents()).isEmpty();
+    assertThat(child3.getParents()).isEmpty();
+    assertThat(root.getChildren().contains(child2)).isFalse();
+  }
+
+  @Test
+  public void testConcurrentChangesOfCompactARG() throws Exception {
+    final int workers = 8;
+    final int statesPerWorker = 2000;
+    ARGState root = ARGState.createCompactRoot(null);
+    List<ARGState> parents = new ArrayList<>();
+    for (int i = 0; i < workers; i++) {
+      parents.add(new ARGState(null, root));
+    }
+
+    // each worker extends the ARG below its own parent, as the transfer relations of
+    // ParallelDFSAlgorithm do, and removes every other state again
+    ExecutorService pool = Executors.newFixedThreadPool(workers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<List<ARGState>>> results = new ArrayList<>();
+    try {
+      for (ARGState parent : parents) {
+        results.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  List<ARGState> kept = new ArrayList<>();
+                  for (int i = 0; i < statesPerWorker; i++) {
+                    ARGState child = new ARGState(null, parent);
+                    if (i % 2 == 0) {
+                      kept.add(child);
+                    } else {
+                      child.removeFromARG();
+                    }
+                  }
+                  return kept;
+                }));
+      }
+      start.countDown();
+
+      for (int i = 0; i < workers; i++) {
+        List<ARGState> kept = results.get(i).get();
+        ARGState parent = parents.get(i);
+        assertThat(parent.getChildren()).containsExactlyElementsIn(kept).inOrder();
+        for (ARGState child : kept) {
+          assertThat(child.getParents()).containsExactly(parent);
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertThat(root.getChildren()).containsExactlyElementsIn(parents).inOrder();
+    assertThat(root.getSubgraph()).hasSize(1 + workers + workers * statesPerWorker / 2);
+  }
+}
@@ -539,6 +539,11 @@ public class ARGStatistics implements Statistics {
     }
   }
 
+  /** Whether the outputs of these statistics need the complete ARG at the end of the analysis. */
+  boolean needsCompleteARG() {
+    return exportARG || translateARG || proofWitness != null || proofWitnessDot != null;
+  }
+
   public void printIterationStatistics(UnmodifiableReachedSet pReached) {
     if (dumpArgInEachCpaIteration) {
       exportARG(pReached, getAllCounterexamples(pReached), CPAcheckerResult.Result.UNKNOWN);
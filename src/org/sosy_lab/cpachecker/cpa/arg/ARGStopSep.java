@@ -13,11 +13,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.ForcedCoveringStopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
+import org.sosy_lab.cpachecker.core.interfaces.SubsumptionSignatureProvider;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 
 public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
@@ -27,6 +29,8 @@ public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
   private final boolean coverTargetStates;
   private final StopOperator wrappedStop;
   private final LogManager logger;
+  private final @Nullable SubsumptionSignatureProvider signatureProvider;
+  private final @Nullable SubsumptionSignatureStatistics signatureStats;
 
   public ARGStopSep(
       StopOperator pWrappedStop,
@@ -34,11 +38,35 @@ public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
       boolean pInCPAEnabledAnalysis,
       boolean pKeepCoveredStatesInReached,
       boolean pCoverTargetStates) {
+    this(
+        pWrappedStop,
+        pLogger,
+        pInCPAEnabledAnalysis,
+        pKeepCoveredStatesInReached,
+        pCoverTargetStates,
+        null,
+        null);
+  }
+
+  /**
+   * Create the stop operator with a pre-filter of the coverage checks, which skips the reached
+   * states that cannot cover a state according to the signatures of the given provider.
+   */
+  ARGStopSep(
+      StopOperator pWrappedStop,
+      LogManager pLogger,
+      boolean pInCPAEnabledAnalysis,
+      boolean pKeepCoveredStatesInReached,
+      boolean pCoverTargetStates,
+      @Nullable SubsumptionSignatureProvider pSignatureProvider,
+      @Nullable SubsumptionSignatureStatistics pSignatureStats) {
     wrappedStop = pWrappedStop;
     logger = pLogger;
     keepCoveredStatesInReached = pKeepCoveredStatesInReached;
     inCPAEnabledAnalysis = pInCPAEnabledAnalysis;
     coverTargetStates = pCoverTargetStates;
+    signatureProvider = pSignatureProvider;
+    signatureStats = pSignatureStats;
   }
 
   @Override
@@ -97,9 +125,26 @@ public class ARGStopSep implements StopOperator, ForcedCoveringStopOperator {
       parent = Iterables.get(argElement.getParents(), 0);
     }
 
+    long signature =
+        signatureProvider == null
+            ? 0
+            : signatureProvider.getSubsumptionSignature(argElement.getWrappedState());
+
     for (AbstractState reachedState : pReached) {
       ARGState argReachedState = (ARGState)reachedState;
+      if (signatureProvider != null) {
+        signatureStats.candidates.inc();
+        if (!SubsumptionSignatureProvider.mayBeCoveredBy(
+            signature,
+            signatureProvider.getSubsumptionSignature(argReachedState.getWrappedState()))) {
+          signatureStats.prunedCandidates.inc();
+          continue;
+        }
+      }
       if (stop(argElement, argReachedState, pPrecision)) {
+        if (signatureStats != null) {
+          signatureStats.coveringCandidates.inc();
+        }
         if (parent != null && argReachedState.getParents().contains(parent)) {
           // if the covering state has the same parent as the covered state
           // and if the covered state has no other parents,
@@ -0,0 +1,240 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Compact representation of the parent-child relation of an ARG. Instead of two lists per state,
+ * the relation is kept in primitive int arrays that are shared by all states of the ARG:
+ *
+ * <ul>
+ *   <li>Each state that has at least one parent or child occupies a node index, the arrays {@link
+ *       #firstChildEdge} and {@link #firstParentEdge} point to the first edge of its lists.
+ *   <li>Each edge is stored once and is linked into the list of children of its parent and into
+ *       the list of parents of its child, both lists are kept in insertion order.
+ * </ul>
+ *
+ * <p>Freed node indices and edges are reused, such that the arrays do not grow when the analysis
+ * removes parts of the ARG, e.g., during refinement. This class only maintains the relation, the
+ * assignment of node indices to states is managed by {@link ARGState}.
+ *
+ * <p>The store is shared by all states of an ARG, also by states that are created concurrently,
+ * e.g., by the transfer relations of the workers of {@link
+ * org.sosy_lab.cpachecker.core.algorithm.parallel_dfs.ParallelDFSAlgorithm}. Therefore all methods
+ * are synchronized, and {@link ARGState} locks the store for its operations that consist of
+ * several steps.
+ */
+final class CompactARGStore implements Serializable {
+
+  private static final long serialVersionUID = 5162840924468017402L;
+
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  // nodes, free nodes are linked via firstChildEdge
+  private ARGState[] states = new ARGState[INITIAL_CAPACITY];
+  private int[] firstChildEdge = new int[INITIAL_CAPACITY];
+  private int[] firstParentEdge = new int[INITIAL_CAPACITY];
+  private int usedNodes = 0;
+  private int freeNode = NONE;
+
+  // edges, free edges are linked via nextChildEdge
+  private int[] edgeParent = new int[INITIAL_CAPACITY];
+  private int[] edgeChild = new int[INITIAL_CAPACITY];
+  private int[] nextChildEdge = new int[INITIAL_CAPACITY];
+  private int[] nextParentEdge = new int[INITIAL_CAPACITY];
+  private int usedEdges = 0;
+  private int freeEdge = NONE;
+
+  /** Assign a fresh node index without parents and children to the given state. */
+  synchronized int addNode(ARGState pState) {
+    checkNotNull(pState);
+    int node;
+    if (freeNode != NONE) {
+      node = freeNode;
+      freeNode = firstChildEdge[node];
+    } else {
+      if (usedNodes == states.length) {
+        int capacity = grow(usedNodes);
+        states = Arrays.copyOf(states, capacity);
+        firstChildEdge = Arrays.copyOf(firstChildEdge, capacity);
+        firstParentEdge = Arrays.copyOf(firstParentEdge, capacity);
+      }
+      node = usedNodes++;
+    }
+    states[node] = pState;
+    firstChildEdge[node] = NONE;
+    firstParentEdge[node] = NONE;
+    return node;
+  }
+
+  /** Free the given node index, the node must not have parents or children. */
+  synchronized void removeNode(int pNode) {
+    checkState(!hasEdges(pNode), "Cannot remove node %s that is still connected", pNode);
+    states[pNode] = null;
+    firstChildEdge[pNode] = freeNode;
+    freeNode = pNode;
+  }
+
+  synchronized boolean hasEdges(int pNode) {
+    return firstChildEdge[pNode] != NONE || firstParentEdge[pNode] != NONE;
+  }
+
+  synchronized boolean containsEdge(int pParent, int pChild) {
+    for (int edge = firstChildEdge[pParent]; edge != NONE; edge = nextChildEdge[edge]) {
+      if (edgeChild[edge] == pChild) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Add an edge from parent to child, the edge must not exist yet. */
+  synchronized void addEdge(int pParent, int pChild) {
+    appendToParentsOfChild(appendToChildrenOfParent(pParent, pChild));
+  }
+
+  /**
+   * Create an edge from parent to child and append it only to the children of the parent. The
+   * edge must be appended to the parents of the child with {@link #appendToParentsOfChild(int)},
+   * which allows to build both lists in an independent order.
+   */
+  synchronized int appendToChildrenOfParent(int pParent, int pChild) {
+    int edge;
+    if (freeEdge != NONE) {
+      edge = freeEdge;
+      freeEdge = nextChildEdge[edge];
+    } else {
+      if (usedEdges == edgeParent.length) {
+        int capacity = grow(usedEdges);
+        edgeParent = Arrays.copyOf(edgeParent, capacity);
+        edgeChild = Arrays.copyOf(edgeChild, capacity);
+        nextChildEdge = Arrays.copyOf(nextChildEdge, capacity);
+        nextParentEdge = Arrays.copyOf(nextParentEdge, capacity);
+      }
+      edge = usedEdges++;
+    }
+    edgeParent[edge] = pParent;
+    edgeChild[edge] = pChild;
+    nextChildEdge[edge] = NONE;
+    nextParentEdge[edge] = NONE;
+
+    // append the edge to keep the order of insertion
+    int last = firstChildEdge[pParent];
+    if (last == NONE) {
+      firstChildEdge[pParent] = edge;
+    } else {
+      while (nextChildEdge[last] != NONE) {
+        last = nextChildEdge[last];
+      }
+      nextChildEdge[last] = edge;
+    }
+    return edge;
+  }
+
+  /** Append the given edge to the parents of its child. */
+  synchronized void appendToParentsOfChild(int pEdge) {
+    int child = edgeChild[pEdge];
+    int last = firstParentEdge[child];
+    if (last == NONE) {
+      firstParentEdge[child] = pEdge;
+    } else {
+      while (nextParentEdge[last] != NONE) {
+        last = nextParentEdge[last];
+      }
+      nextParentEdge[last] = pEdge;
+    }
+  }
+
+  /** Remove the edge from parent to child, returns whether the edge existed. */
+  synchronized boolean removeEdge(int pParent, int pChild) {
+    int edge = firstChildEdge[pParent];
+    int prev = NONE;
+    while (edge != NONE && edgeChild[edge] != pChild) {
+      prev = edge;
+      edge = nextChildEdge[edge];
+    }
+    if (edge == NONE) {
+      return false;
+    }
+    if (prev == NONE) {
+      firstChildEdge[pParent] = nextChildEdge[edge];
+    } else {
+      nextChildEdge[prev] = nextChildEdge[edge];
+    }
+
+    int other = firstParentEdge[pChild];
+    prev = NONE;
+    while (other != edge) {
+      prev = other;
+      other = nextParentEdge[other];
+    }
+    if (prev == NONE) {
+      firstParentEdge[pChild] = nextParentEdge[edge];
+    } else {
+      nextParentEdge[prev] = nextParentEdge[edge];
+    }
+
+    nextChildEdge[edge] = freeEdge;
+    freeEdge = edge;
+    return true;
+  }
+
+  synchronized int countChildren(int pNode) {
+    int count = 0;
+    for (int edge = firstChildEdge[pNode]; edge != NONE; edge = nextChildEdge[edge]) {
+      count++;
+    }
+    return count;
+  }
+
+  synchronized int countParents(int pNode) {
+    int count = 0;
+    for (int edge = firstParentEdge[pNode]; edge != NONE; edge = nextParentEdge[edge]) {
+      count++;
+    }
+    return count;
+  }
+
+  synchronized boolean hasChildren(int pNode) {
+    return firstChildEdge[pNode] != NONE;
+  }
+
+  synchronized boolean hasParents(int pNode) {
+    return firstParentEdge[pNode] != NONE;
+  }
+
+  /** A snapshot of the children of the given node in insertion order. */
+  synchronized ImmutableList<ARGState> getChildren(int pNode) {
+    ImmutableList.Builder<ARGState> result = ImmutableList.builder();
+    for (int edge = firstChildEdge[pNode]; edge != NONE; edge = nextChildEdge[edge]) {
+      result.add(states[edgeChild[edge]]);
+    }
+    return result.build();
+  }
+
+  /** A snapshot of the parents of the given node in insertion order. */
+  synchronized ImmutableList<ARGState> getParents(int pNode) {
+    ImmutableList.Builder<ARGState> result = ImmutableList.builder();
+    for (int edge = firstParentEdge[pNode]; edge != NONE; edge = nextParentEdge[edge]) {
+      result.add(states[edgeParent[edge]]);
+    }
+    return result.build();
+  }
+
+  private static int grow(int pCapacity) {
+    return pCapacity + (pCapacity >> 1) + 1;
+  }
+}
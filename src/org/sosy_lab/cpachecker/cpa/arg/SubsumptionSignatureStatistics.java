@@ -0,0 +1,48 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import java.io.PrintStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsUtils;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/** Statistics about the pre-filter of the coverage checks of {@link ARGStopSep}. */
+class SubsumptionSignatureStatistics implements Statistics {
+
+  final StatCounter candidates = new StatCounter("Number of coverage candidates");
+
+  /** The number of candidates that are excluded by their signature. */
+  final StatCounter prunedCandidates = new StatCounter("Number of pruned candidates");
+
+  /** The number of candidates that passed the pre-filter and cover the state. */
+  final StatCounter coveringCandidates = new StatCounter("Number of covering candidates");
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    long checked = candidates.getValue() - prunedCandidates.getValue();
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put(candidates)
+        .put(prunedCandidates)
+        .put(coveringCandidates)
+        .putIf(
+            checked > 0,
+            "Hit rate of checked candidates",
+            StatisticsUtils.toPercent(coveringCandidates.getValue(), checked));
+  }
+
+  @Override
+  public @Nullable String getName() {
+    return "Subsumption signatures";
+  }
+}
@@ -26,7 +26,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Sets.SetView;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ArrayQueue;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,7 +33,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.logging.Level;
 import org.sosy_lab.common.ShutdownNotifier;
@@ -49,7 +47,6 @@ import org.sosy_lab.cpachecker.cfa.ast.c.CBinaryExpression.BinaryOperator;
 import org.sosy_lab.cpachecker.cfa.model.AssumeEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
-import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
 import org.sosy_lab.cpachecker.cfa.model.c.CAssumeEdge;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
@@ -63,6 +60,7 @@ import org.sosy_lab.cpachecker.cpa.predicate.PredicateCPA;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.edgeaccess.EdgeAccessSummaries;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionManager;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionPredicate;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
@@ -128,9 +126,8 @@ public class CIntpPrecisionAdjustment implements PrecisionAdjustment {
   // the formula to predicate map, mainly used for avoid generating repeat predicates.
   // [<formula, predicate>, ...]
   private static Map<BooleanFormula, AbstractionPredicate> formulaPredicateMap = new HashMap<>();
-  // the cached edge evaluation information.
-  // [<edge_hash, {eval_1, ...}>, ...]
-  private Map<Integer, Set<?>> edgeEvaluationInfo;
+  // the cached edge evaluation information (only computed when useIncCIntp is enabled).
+  private EdgeAccessSummaries edgeAccessSummaries;
   // the cached path instance formula, mainly used for avoid calculating edge formula repeatedly.
   // [<path_instance, path_instance_formula>, ...]
   private Map<Integer, PathFormula> cachedPathInstanceFormula;
@@ -178,49 +175,11 @@ public class CIntpPrecisionAdjustment implements PrecisionAdjustment {
 
     cintpCache = new HashMap<>();
     //    formulaPredicateMap = new HashMap<>();
-    edgeEvaluationInfo = useIncCIntp ? extractEdgeEvaluationInfo(pLogger, pCfa) : new HashMap<>();
+    edgeAccessSummaries = useIncCIntp ? EdgeAccessSummaries.forCFA(pLogger, pCfa) : null;
     cachedPathInstanceFormula = new HashMap<>();
     cachedPathInstanceFormula.put(0, emptyPathFormula);
   }
 
-  private Map<Integer, Set<?>> extractEdgeEvaluationInfo(LogManager pLogger, CFA pCfa) {
-    EdgeEvaluationExtractor edgeEvalInfoExtractor = new EdgeEvaluationExtractor(pLogger);
-    Map<Integer, Set<?>> results = new HashMap<>();
-
-    // get entry point of all the functions in the given program.
-    Iterator<FunctionEntryNode> funcIter = pCfa.getAllFunctionHeads().iterator();
-    Set<Integer> finishedEdges = new HashSet<>();
-    // iteratively process each function.
-    while (funcIter.hasNext()) {
-      FunctionEntryNode func = funcIter.next();
-      Queue<CFAEdge> edgeQueue = new ArrayQueue<>();
-
-      // bfs strategy.
-      edgeQueue.add(func.getLeavingEdge(0));
-      while (!edgeQueue.isEmpty()) {
-        CFAEdge edge = edgeQueue.remove();
-        Integer edgeHash = edge.hashCode();
-
-        // this edge is not processed.
-        if (!finishedEdges.contains(edgeHash)) {
-          // get the evaluation information.
-          results.put(edgeHash, edgeEvalInfoExtractor.extractEdgeEvaluationInfo(edge));
-          finishedEdges.add(edgeHash);
-
-          // System.out.println(edge + "\t" + results.get(edgeHash));
-
-          // process its successor edge.
-          CFANode edgeSucNode = edge.getSuccessor();
-          for (int i = 0; i < edgeSucNode.getNumLeavingEdges(); ++i) {
-            edgeQueue.add(edgeSucNode.getLeavingEdge(i));
-          }
-        }
-      }
-    }
-
-    return results;
-  }
-
   @SuppressWarnings({"null", "rawtypes", "unchecked"})
   @Override
   public Optional<PrecisionAdjustmentResult> prec(
@@ -587,7 +546,7 @@ public class CIntpPrecisionAdjustment implements PrecisionAdjustment {
 
     // create the initial evaluation information.
     Set<String> leftEvalInfo =
-        new HashSet<>((Set<String>) edgeEvaluationInfo.get(pAssumeEdge.hashCode()));
+        new HashSet<>((Set<String>) edgeAccessSummaries.getEvaluationInfo(pAssumeEdge));
     Set<String> rightEvalInfo = new HashSet<>();
     Pair<Set<String>, Set<String>> phi2 = Pair.of(leftEvalInfo, rightEvalInfo);
 
@@ -619,7 +578,7 @@ public class CIntpPrecisionAdjustment implements PrecisionAdjustment {
       //// create an edge between argParent and curState.
       CFAEdge curEdge = argParent.getEdgeToChild(curState);
       // get the evaluation information.
-      Set<?> phi1 = edgeEvaluationInfo.get(curEdge.hashCode());
+      Set<?> phi1 = edgeAccessSummaries.getEvaluationInfo(curEdge);
       //      System.out.print(curEdge);
       // ignore the assume edges, since they are helpless to the interpolation chain.
       if (!(curEdge instanceof AssumeEdge)) {
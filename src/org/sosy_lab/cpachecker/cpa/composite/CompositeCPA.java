@@ -39,6 +39,7 @@ import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
+import org.sosy_lab.cpachecker.core.interfaces.SubsumptionSignatureProvider;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
 import org.sosy_lab.cpachecker.core.interfaces.WrapperCPA;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker;
@@ -47,7 +48,12 @@ import org.sosy_lab.cpachecker.cpa.predicate.PredicateCPA;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 
-public class CompositeCPA implements StatisticsProvider, WrapperCPA, ConfigurableProgramAnalysisWithBAM, ProofChecker {
+public class CompositeCPA
+    implements StatisticsProvider,
+        WrapperCPA,
+        ConfigurableProgramAnalysisWithBAM,
+        ProofChecker,
+        SubsumptionSignatureProvider {
 
   @Options(prefix="cpa.composite")
   private static class CompositeOptions {
@@ -211,6 +217,26 @@ public class CompositeCPA implements StatisticsProvider, WrapperCPA, Configurabl
     return new CompositeStopOperator(stopOps.build());
   }
 
+  /**
+   * The composite stop operator only covers a state if all component states are covered, thus the
+   * signatures of the components that provide one can be combined. The signature of the i-th
+   * component is rotated by a different distance to reduce collisions between the components.
+   */
+  @Override
+  public long getSubsumptionSignature(AbstractState pState) {
+    List<AbstractState> wrappedStates = ((CompositeState) pState).getWrappedStates();
+    long signature = 0;
+    for (int idx = 0; idx < cpas.size(); idx++) {
+      if (cpas.get(idx) instanceof SubsumptionSignatureProvider) {
+        long componentSignature =
+            ((SubsumptionSignatureProvider) cpas.get(idx))
+                .getSubsumptionSignature(wrappedStates.get(idx));
+        signature |= Long.rotateLeft(componentSignature, 17 * idx);
+      }
+    }
+    return signature;
+  }
+
   @Override
   public PrecisionAdjustment getPrecisionAdjustment() {
     ImmutableList.Builder<PrecisionAdjustment> precisionAdjustments = ImmutableList.builder();
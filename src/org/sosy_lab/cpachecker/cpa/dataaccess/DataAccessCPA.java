@@ -19,6 +19,8 @@ import java.util.Collection;
 public class DataAccessCPA extends AbstractCPA implements ConfigurableProgramAnalysis,StatisticsProvider{
 
     public static RaceNum raceNum;
+    // the ids of the variables and tasks of this analysis.
+    private final IdTable ids = new IdTable();
     private Statistics stats;
     private DataAccessTransferRelation transfer;
 
@@ -35,7 +37,7 @@ public class DataAccessCPA extends AbstractCPA implements ConfigurableProgramAna
 
     @Override
     public AbstractState getInitialState(CFANode node, StateSpacePartition partition) throws InterruptedException {
-        return DataAccessState.getInitialInstance();
+        return DataAccessState.getInitialInstance(ids);
     }
 
     @Override
@@ -1,140 +1,112 @@
 package org.sosy_lab.cpachecker.cpa.dataaccess;
 
 
-import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
-
-import java.util.*;
+import com.google.common.collect.ImmutableList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.sosy_lab.common.collect.PersistentLinkedList;
+import org.sosy_lab.common.collect.PersistentSortedMap;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 
 //
 //public class DataAccessState implements AbstractState, Graphable {
+/**
+ * The data access sets are persistent: a successor state shares them with its parent, and every
+ * update only copies the path to the updated entry. Variables and tasks are keyed by their ids in
+ * the {@link IdTable} of the analysis, hence the sets are iterated in the order in which the
+ * analysis first encountered the variables and tasks (not in the order of the accesses on the
+ * path of this state).
+ */
 public class DataAccessState implements AbstractState {
-    private List<DataState> dataAccess;   // 数据访问集
+    private final IdTable ids;
+
+    private PersistentSortedMap<Integer, DataState> dataAccess;   // 数据访问集
 
-    private Map<String, List<List<State>>> dataRace;   // 用于存放当前路径所产生的数据冲突对
+    private PersistentSortedMap<Integer, PersistentLinkedList<ImmutableList<State>>> dataRace;   // 用于存放当前路径所产生的数据冲突对
 
-    private List<String> pathFunc;     //  用于存放经历的函数
+    private ImmutableList<String> pathFunc;     //  用于存放经历的函数
 
-    private List<String> pathNum;       // 用于存放经历的行数
+    private PersistentLinkedList<String> pathNum;       // 用于存放经历的行数 (the latest one first)
 
-    private String str;   // 用于对当前状态产生说明性语句.
+    private Supplier<String> str = () -> null;   // 用于对当前状态产生说明性语句 (only built when it is printed).
 
     private boolean isRace = false;   // 判断是否产生了数据冲突，用于更新数据集
 
-    String[][] patternList = {{"R", "W", "R"}, {"W", "W", "R"}, {"R", "W", "W"}, {"W", "R", "W"}};    // 冲突模式集
     // 构造方法
 
-    public static DataAccessState getInitialInstance() {
-        return new DataAccessState();
+    static DataAccessState getInitialInstance(IdTable pIds) {
+        return new DataAccessState(pIds);
     }
 
-    public DataAccessState() {
-        dataAccess = new ArrayList<DataState>();
-        dataRace = new HashMap<String, List<List<State>>>();
-        pathFunc = new ArrayList<String>();
-        pathNum = new ArrayList<String>();
+    DataAccessState(IdTable pIds) {
+        ids = pIds;
+        dataAccess = PathCopyingPersistentTreeMap.of();
+        dataRace = PathCopyingPersistentTreeMap.of();
+        pathFunc = ImmutableList.of();
+        pathNum = PersistentLinkedList.of();
     }
 
-    //
-    public DataAccessState(List<DataState> dataAccess, Map<String, List<List<State>>> dataRace, List<String> pathFunc, List<String> pathNum) {
-        this.dataAccess = newData(dataAccess);
-        this.dataRace = new HashMap<>(dataRace);
-        this.pathFunc = new ArrayList<>(pathFunc);
-        this.pathNum = new ArrayList<>(pathNum);
+    /** Create a successor of the given state, it shares all the sets with its parent. */
+    public DataAccessState(DataAccessState pParent) {
+        this.ids = pParent.ids;
+        this.dataAccess = pParent.dataAccess;
+        this.dataRace = pParent.dataRace;
+        this.pathFunc = pParent.pathFunc;
+        this.pathNum = pParent.pathNum;
     }
 
-    public List<DataState> newData(List<DataState> dataAccess) {
-        List<DataState> res = new ArrayList<DataState>();
-        for (DataState tmp : dataAccess) {
-//            res.add(new DataState(tmp.getN(), tmp.getAs(), tmp.getInterOperation(), tmp.getInterState()));
-            res.add(new DataState(tmp.getN(), tmp.getAs(), tmp.getInterState()));
-        }
-        return res;
+    /** The table that interns the names of the accesses of this state. */
+    IdTable getIdTable() {
+        return ids;
     }
 
     // dataAccess的方法
 
-    public List<DataState> getDataAccess() {
-        return dataAccess;
+    public Collection<DataState> getDataAccess() {
+        return dataAccess.values();
     }
 
-    public void setDataAccess(State e) {
-        if (dataAccess.isEmpty()) {
-            dataAccess.add(productDataState(e));
-            return;
-        }
-
-        boolean notIsExists = true;
-        for (DataState data : dataAccess) {
-            if (data.getN() == e.getName()) {
-                notIsExists = false;
-                data.updataActionList(e);
-            }
-        }
+    /** Get the accesses of the given variable, or null if it was not accessed yet. */
+    public DataState getDataState(String Name) {
+        return dataAccess.get(ids.getVariableId(Name));
+    }
 
-        if (notIsExists) {
-            dataAccess.add(productDataState(e));
-            return;
-        }
+    public void setDataAccess(State e) {
+        int var = e.getVariableId();
+        DataState data = dataAccess.get(var);
+        dataAccess =
+                dataAccess.putAndCopy(var, data == null ? productDataState(e) : data.updataActionList(e));
     }
 
     public DataState productDataState(State e) {
-        if (e.getTask().contains("isr")) {
-            return new DataState(e.getName(), e, "isr");
+        if (e.isInterrupt()) {
+            return new DataState(e.getName()).withInterState(e);
         } else {
             return new DataState(e.getName(), e);
         }
     }
 
-
-    public void add(DataState e) {
-        dataAccess.add(e);
-    }
-
-    public int Is_exist(String Name) {
-        /**
-         * 判断当前 Name 是否在数据访问集中, 在返回序号，不在返回-1
-         */
-
-        for (int i = 0; i <= dataAccess.size(); i++) {
-            if (dataAccess.get(i).getN() == Name) return i;
-        }
-        return -1;
-    }
-
-    public int actionListPosition(String Name) {
-        /**
-         * 判断当前 Name 是否在数据访问集中, 在返回序号，不在返回-1
-         */
-
-        for (int i = 0; i < dataAccess.size(); i++) {
-            if (dataAccess.get(i).getN().equals(Name)) return i;
-        }
-
-        return -1;
-    }
-
     // dataRace 的方法
-    public Map<String, List<List<State>>> getDataRace() {
-        return dataRace;
-    }
-
-
     public boolean isInDataRace(String Name) {
-        return dataRace.containsKey(Name);
+        return dataRace.containsKey(ids.getVariableId(Name));
     }
 
 
     public void setDataRace(String Name, List<State> race) {
-        if (dataRace.containsKey(Name)) {
-            dataRace.get(Name).add(race);
-        } else {
-            List<List<State>> array = new ArrayList<>();
-            array.add(race);
-            dataRace.put(Name, array);
-        }
+        setDataRace(ids.getVariableId(Name), ImmutableList.copyOf(race));
+    }
 
+    private void setDataRace(int var, ImmutableList<State> race) {
+        PersistentLinkedList<ImmutableList<State>> races = dataRace.get(var);
+        if (races == null) {
+            races = PersistentLinkedList.of();
+        }
+        dataRace = dataRace.putAndCopy(var, races.with(race));
     }
 
     // path 的方法
@@ -143,39 +115,28 @@ public class DataAccessState implements AbstractState {
     }
 
     public void setPath(String road) {
-
-        if (pathFunc.isEmpty()) {
-            pathFunc.add(road);
-        } else if (pathFunc.get(pathFunc.size() - 1) == road) {
-        } else if (pathFunc.contains(road)) {
-            for (int i = 0; i < pathFunc.size(); i++) {
-                if (pathFunc.get(i) == road) {
-                    break;
-                }
-            }
-        } else {
-            pathFunc.add(road);
+        if (!pathFunc.contains(road)) {
+            pathFunc = ImmutableList.<String>builder().addAll(pathFunc).add(road).build();
         }
     }
 
     public List<String> getPathNum() {
-        return pathNum;
+        return pathNum.reversed();
     }
 
     public void setPathNum(String pathNum) {
-        this.pathNum.add(pathNum);
+        this.pathNum = this.pathNum.with(pathNum);
     }
 
+    /** Remove all the functions after the one at the given index from the path. */
     public void poppath(int idx) {
-        for (int i = idx + 1; i < pathFunc.size(); i++) {
-            pathFunc.remove(i);
-        }
+        pathFunc = pathFunc.subList(0, idx + 1);
     }
 
     public List<String> involvedPaths(String road) {
         List<String> re = new ArrayList<String>();
         for (int i = pathFunc.size() - 1; i >= 0; i--) {
-            if (pathFunc.get(i) == road) {
+            if (pathFunc.get(i).equals(road)) {
                 break;
             }
             re.add(pathFunc.get(i));
@@ -184,7 +145,7 @@ public class DataAccessState implements AbstractState {
     }
 
     public void disposePath(State a, String mainFunction) {
-        if (a.getTask() != mainFunction) return;
+        if (!a.getTask().equals(mainFunction)) return;
 
         int index = isExistPath(a.getTask());
         if (index != -1) {
@@ -194,7 +155,7 @@ public class DataAccessState implements AbstractState {
 
     public int isExistPath(String Task) {
         for (int i = pathFunc.size() - 2; i >= 0; i--) {
-            if (pathFunc.get(i) == Task) {
+            if (pathFunc.get(i).equals(Task)) {
                 return i;
             }
         }
@@ -203,11 +164,11 @@ public class DataAccessState implements AbstractState {
     }
 
     public String getStr() {
-        return str;
+        return str.get();
     }
 
     public void setStr(String str) {
-        this.str = str;
+        this.str = () -> str;
     }
 
 
@@ -228,78 +189,65 @@ public class DataAccessState implements AbstractState {
      */
     public void DataRace(State a) {
 
-        int index = this.actionListPosition(a.getName());
+        int var = a.getVariableId();
+        DataState actionList = dataAccess.get(var);
 
-        if (index == -1) {
+        if (actionList == null) {
             setDataAccess(a);
-            str = "Add this state: " + a;
+            str = () -> "Add this state: " + a;
             return;
         }
 
-        DataState actionList = dataAccess.get(index);
-
         // 判断是否为中断函数
-        if (a.getTask().contains("isr")) {
-            isrDataRace(actionList, a);
+        if (a.isInterrupt()) {
+            actionList = isrDataRace(actionList, a);
         } else {
-            mainDataRace(actionList, a);
+            actionList = mainDataRace(actionList, a);
         }
+        dataAccess = dataAccess.putAndCopy(var, actionList);
     }
 
-    public void mainDataRace(DataState actionList, State a) {
+    public DataState mainDataRace(DataState actionList, State a) {
         // 判断 ep 是否为空或interstate内是否有数
         if (actionList.getAs().isEmpty()) {
-            actionList.getEmpty(a);
-            str = "For share_var " + a.getName() + ", not enough elements in DataAccess";
-            return;
+            str = () -> "For share_var " + a.getName() + ", not enough elements in DataAccess";
+            return actionList.getEmpty(a);
         }else if(actionList.getInterState().isEmpty()){
-            actionList.setAs(a);
-            str = "For share_var " + a.getName() + ", not enough elements in DataAccess";
-            return;
+            str = () -> "For share_var " + a.getName() + ", not enough elements in DataAccess";
+            return actionList.withAs(a);
         }
 
-        for (Map.Entry entry : actionList.getInterState().entrySet()) {
-            List<State> isrStateList = (List<State>) entry.getValue();
-
-            for (State am : isrStateList) {
+        for (PersistentLinkedList<State> isrStateList : actionList.getInterState().values()) {
+            for (State am : isrStateList.reversed()) {
                 realDataRace(actionList.getAs(), am, a);
             }
         }
 
-        actionList.getEmpty(a);
+        return actionList.getEmpty(a);
     }
 
-    void isrDataRace(DataState actionList, State a) {
-        Map<String, List<State>> interState = actionList.getInterState();
+    DataState isrDataRace(DataState actionList, State a) {
+        int task = a.getTaskId();
+        String taskName = a.getTask();
 
-        if (!interState.containsKey(a.getTask()) || (a.getTask() == pathFunc.get(pathFunc.size() - 1))) {
-            actionList.setInterState(a);
+        if (!actionList.getInterState().containsKey(task) || taskName.equals(pathFunc.get(pathFunc.size() - 1))) {
+            actionList = actionList.withInterState(a);
         }
+        PersistentSortedMap<Integer, PersistentLinkedList<State>> interState = actionList.getInterState();
 
-        State as = new State();
-        boolean getAs = false;
-        int index = pathFunc.indexOf(a.getTask());
-        if (interState.containsKey(a.getTask())) {
-            as = interState.get(a.getTask()).get(interState.get(a.getTask()).size() - 1);
-            getAs = true;
-        } else {
-            for (int i = index - 1; i >= 0; i--) {
-                if (interState.containsKey(a.getTask())) {
-                    as = interState.get(a.getTask()).get(interState.get(a.getTask()).size() - 1);
-                    getAs = true;
-                }
-            }
-        }
-
-        if(getAs){
+        int index = pathFunc.indexOf(taskName);
+        PersistentLinkedList<State> taskStateList = interState.get(task);
+        if (taskStateList != null) {
+            // the latest access of this task
+            State as = taskStateList.head();
             for (int i = index + 1; i < pathFunc.size(); i++) {
                 if (!pathFunc.get(i).contains("isr")) {
                     continue;
                 }
 
-                List<State> highIsrStateList = interState.get(pathFunc.get(i));
+                PersistentLinkedList<State> highIsrStateList = interState.get(ids.getTaskId(pathFunc.get(i)));
                 if (highIsrStateList != null) {
-                    for (State am : highIsrStateList) {
+                    for (State am : highIsrStateList.reversed()) {
                         realDataRace(as, am, a);
                     }
                 }
@@ -307,44 +255,38 @@ public class DataAccessState implements AbstractState {
         }
 
 
-        actionList.setInterState(a);
+        return actionList.withInterState(a);
     }
 
     public void realDataRace(State as, State am, State ae) {
-        String[] pattern = {as.getAction(), am.getAction(), ae.getAction()};
         // 冲突检测，是否有 patternList 中的 pattern
-        for (int j = 0; j < 4; j++) {
-            if (Arrays.equals(patternList[j], pattern)) {
-                str = "\n   For the three access states {" + as.toString() + "," + am.toString() + "," + ae.toString() + "} of the variable " + as.getName() + " a data conflict occurs";
-                isRace = true;
-
-                List<State> race = new ArrayList<State>();
-                race.add(as);
-                race.add(am);
-                race.add(ae);
-
-                setDataRace(as.getName(), race);
-
-                String str = getRaceString(as.getName(), race);
-
-                if (j == 0) {
-                    DataAccessCPA.raceNum.setraceRWRSet(str);
-                } else if (j == 1) {
-                    DataAccessCPA.raceNum.setraceWWRSet(str);
-                } else if (j == 2) {
-                    DataAccessCPA.raceNum.setraceRWWSet(str);
-                } else if (j == 3) {
-                    DataAccessCPA.raceNum.setraceWRWSet(str);
-                }
-                DataAccessCPA.raceNum.setRace(str);
-            }
+        int j = RaceNum.getPattern(as, am, ae);
+        if (j == -1) {
+            return;
         }
+        str = () -> "\n   For the three access states {" + as.toString() + "," + am.toString() + "," + ae.toString() + "} of the variable " + as.getName() + " a data conflict occurs";
+        isRace = true;
+
+        ImmutableList<State> race = ImmutableList.of(as, am, ae);
+
+        setDataRace(as.getVariableId(), race);
+
+        if (j == RaceNum.RWR) {
+            DataAccessCPA.raceNum.setraceRWRSet(race);
+        } else if (j == RaceNum.WWR) {
+            DataAccessCPA.raceNum.setraceWWRSet(race);
+        } else if (j == RaceNum.RWW) {
+            DataAccessCPA.raceNum.setraceRWWSet(race);
+        } else if (j == RaceNum.WRW) {
+            DataAccessCPA.raceNum.setraceWRWSet(race);
+        }
+        DataAccessCPA.raceNum.setRace(race);
     }
 
 
     public void toprint() {
         if (!isRace) {
-            System.out.println(str);
+            System.out.println(str.get());
 
 //            System.out.println("\nNow the DataAccess is :");
 //            System.out.println(getString());
@@ -352,7 +294,7 @@ public class DataAccessState implements AbstractState {
             return;
         }
         isRace = false;
-        System.out.println("\n\033[31m" + str);
+        System.out.println("\n\033[31m" + str.get());
         System.out.println("\nNow the DataAccess is :");
         System.out.println(getString());
         System.out.println("\n\n\033[0m");
@@ -360,21 +302,24 @@ public class DataAccessState implements AbstractState {
 
 
     public String getRaceString(String Name, List<State> race) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n" + Name + ":\n");
-        for (State a : race) {
-            sb.append("\n       " + a);
+        return RaceNum.getRaceString(Name, race);
+    }
+
+    private Map<String, List<ImmutableList<State>>> getDataRaceByName() {
+        Map<String, List<ImmutableList<State>>> races = new LinkedHashMap<>();
+        for (Map.Entry<Integer, PersistentLinkedList<ImmutableList<State>>> entry : dataRace.entrySet()) {
+            races.put(ids.getVariableName(entry.getKey()), entry.getValue().reversed());
         }
-        return sb.toString();
+        return races;
     }
 
     public String getString() {
-        return "DataAccess=" + dataAccess.toString() + ", \nDataRace=" + dataRace.toString() + ", \npathFunc = " + pathFunc.toString() + ", \npathNum = " + pathNum.toString() + "\n\n";
+        return "DataAccess=" + getDataAccess().toString() + ", \nDataRace=" + getDataRaceByName().toString() + ", \npathFunc = " + pathFunc.toString() + ", \npathNum = " + getPathNum().toString() + "\n\n";
     }
 
     @Override
     public String toString() {
-        return "DataAccessState{" + "\ndataAccess=" + dataAccess + ", \ndataRace=" + dataRace + ", \npathFunc=" + pathFunc + ", \npathNum=" + pathNum + ", \nstr='" + str + ", \nisRace=" + isRace + '}';
+        return "DataAccessState{" + "\ndataAccess=" + getDataAccess() + ", \ndataRace=" + getDataRaceByName() + ", \npathFunc=" + pathFunc + ", \npathNum=" + getPathNum() + ", \nstr='" + str.get() + ", \nisRace=" + isRace + '}';
     }
 
 //    @Override
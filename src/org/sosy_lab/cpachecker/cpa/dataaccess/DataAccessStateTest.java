@@ -0,0 +1,57 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.dataaccess;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public class DataAccessStateTest {
+
+  private static DataAccessState stateWithPath(String... pFunctions) {
+    DataAccessState state = DataAccessState.getInitialInstance(new IdTable());
+    for (String function : pFunctions) {
+      state.setPath(function);
+    }
+    return state;
+  }
+
+  @Test
+  public void poppathRemovesAllLaterFunctions() {
+    DataAccessState state = stateWithPath("main", "isr1", "f", "isr2");
+    state.poppath(1);
+    assertThat(state.getpathFunc()).containsExactly("main", "isr1").inOrder();
+  }
+
+  @Test
+  public void poppathDoesNotChangeTheParent() {
+    DataAccessState parent = stateWithPath("main", "isr1", "isr2");
+    DataAccessState child = new DataAccessState(parent);
+    child.poppath(0);
+    assertThat(child.getpathFunc()).containsExactly("main");
+    assertThat(parent.getpathFunc()).containsExactly("main", "isr1", "isr2").inOrder();
+  }
+
+  @Test
+  public void disposePathReturnsToMainFunction() {
+    DataAccessState state = stateWithPath("main", "isr1", "isr2");
+    state.disposePath(State.read(state.getIdTable(), "x", "main", 10), "main");
+    assertThat(state.getpathFunc()).containsExactly("main");
+  }
+
+  @Test
+  public void idsAreScopedToTheirTable() {
+    IdTable ids1 = new IdTable();
+    IdTable ids2 = new IdTable();
+    assertThat(ids1.getVariableId("x")).isEqualTo(0);
+    assertThat(ids1.getVariableId("y")).isEqualTo(1);
+    assertThat(ids2.getVariableId("y")).isEqualTo(0);
+    assertThat(State.write(ids2, "y", "isr1", 3).getName()).isEqualTo("y");
+  }
+}
@@ -17,6 +17,17 @@ public class DataAccessStatistics implements Statistics {
     public void printStatistics(PrintStream out, CPAcheckerResult.Result result, UnmodifiableReachedSet reached) {
 
         System.out.println("\u001b[32mtime for TransferRelation:\u001b[0m      \u001b[33m" + time + "\u001b[0m");
+
+        RaceNum raceNum = DataAccessCPA.raceNum;
+        if (raceNum != null) {
+            StatisticsWriter.writingStatisticsTo(out)
+                    .put("Number of data races", raceNum.getRaceNum())
+                    .beginLevel()
+                    .put("RWR", raceNum.getRaceRWR())
+                    .put("WRW", raceNum.getRaceWRW())
+                    .put("RWW", raceNum.getRaceRWW())
+                    .put("WWR", raceNum.getRaceWWR());
+        }
     }
 
     @Override
@@ -60,7 +60,7 @@ public class DataAccessTransferRelation extends SingleEdgeTransferRelation {
 
             // 若没进入函数主题部分，则不进行冲突性检测
 
-            EdgeVtx edgeVtx = (EdgeVtx) conDepGraph.getDGNode(pCfaEdge.hashCode());
+            EdgeVtx edgeVtx = (EdgeVtx) conDepGraph.getDGNode(pCfaEdge);
 
             if(!reachMainFunc){
                 reachMainFunc = edgeInfo.getCFA().getMainFunction().getFileLocation().equals(pCfaEdge.getFileLocation());
@@ -71,7 +71,8 @@ public class DataAccessTransferRelation extends SingleEdgeTransferRelation {
                 return Collections.singleton(lastDataAccess);
             }
 
-            DataAccessState dataAccess = new DataAccessState(lastDataAccess.getDataAccess(), lastDataAccess.getDataRace(), lastDataAccess.getpathFunc(), lastDataAccess.getPathNum());
+            // the successor shares the data access sets with its parent until they are updated.
+            DataAccessState dataAccess = new DataAccessState(lastDataAccess);
 
             // 获取边上的共享节点的信息
             String pathNum = pCfaEdge.getFileLocation().toString();
@@ -88,7 +89,7 @@ public class DataAccessTransferRelation extends SingleEdgeTransferRelation {
             if (!gRVars.isEmpty()) {
                 for (Var var : gRVars) {
                     int location = var.getExp().getFileLocation().getEndingLineNumber();
-                    State ec = new State(var.getName(), task, location, "R");
+                    State ec = State.read(dataAccess.getIdTable(), var.getName(), task, location);
 
                     // 进行数据冲突检测
                     dataAccess.DataRace(ec);
@@ -100,7 +101,7 @@ public class DataAccessTransferRelation extends SingleEdgeTransferRelation {
                 for (Var var : gWVars) {
 
                     int location = var.getExp().getFileLocation().getEndingLineNumber();
-                    State ec = new State(var.getName(), task, location, "W");
+                    State ec = State.write(dataAccess.getIdTable(), var.getName(), task, location);
 
                     // 进行数据冲突检测
                     dataAccess.DataRace(ec);
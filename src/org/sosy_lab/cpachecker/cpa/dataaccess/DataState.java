@@ -1,93 +1,87 @@
 package org.sosy_lab.cpachecker.cpa.dataaccess;
 
-import java.util.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.sosy_lab.common.collect.PersistentLinkedList;
+import org.sosy_lab.common.collect.PersistentSortedMap;
 
 public class DataState {
     /**
      * 数据访问集中存放的类型及相关方法
+     *
+     * <p>The data state is immutable, every update returns a new data state that shares the
+     * unchanged parts with the old one. The accesses of the interrupt functions are keyed by the
+     * id of the task (see {@link IdTable}), and the accesses of each task are stored with the
+     * latest access first.
      */
-    private String N;
-    private State as;
-    private Map<String, List<State>> interState;
+    private final String N;
+    private final State as;
+    private final PersistentSortedMap<Integer, PersistentLinkedList<State>> interState;
 
 
     public DataState(String Name) {
         /* 初始化 DataAccess[var]=[] */
-        N = Name;
-        as = new State();
-        this.interState = new LinkedHashMap<String, List<State>>();
+        this(Name, State.EMPTY);
     }
 
     public DataState(String Name, State as) {
-        N = Name;
-        this.as = as;
-        this.interState = new LinkedHashMap<String, List<State>>();
+        this(Name, as, PathCopyingPersistentTreeMap.of());
     }
 
-    public DataState(String Name, State as, String flag) {
-        if (flag == "isr") {
-            N = Name;
-            this.as = new State();
-            this.interState = new LinkedHashMap<String, List<State>>();
-            List action = new ArrayList<State>();
-            action.add(as);
-            interState.put(as.getTask(), action);
-        }
-    }
-
-    public DataState(String n, State as, Map<String, List<State>> interState) {
+    private DataState(
+            String n, State as, PersistentSortedMap<Integer, PersistentLinkedList<State>> interState) {
         N = n;
         this.as = as;
-        this.interState = new LinkedHashMap<>(interState);
+        this.interState = interState;
     }
 
     public String getN() {
         return N;
     }
 
-    public void setN(String n) {
-        N = n;
-    }
-
     public State getAs() {
         return as;
     }
 
-    public void setAs(State as) {
-        this.as = as;
+    public DataState withAs(State pAs) {
+        return new DataState(N, pAs, interState);
     }
 
-    public Map<String, List<State>> getInterState() {
+    /** The accesses of the interrupt functions, the latest access of each task is the first one. */
+    public PersistentSortedMap<Integer, PersistentLinkedList<State>> getInterState() {
         return interState;
     }
 
-    public void setInterState(State a) {
-        if (!interState.containsKey(a.getTask())) {  // 没有此中断函数
-            List<State> action = new ArrayList<State>();
-            action.add(a);
-            interState.put(a.getTask(), action);
-        } else {  // 拥有此中断函数
-            interState.get(a.getTask()).add(a);
+    public DataState withInterState(State a) {
+        int task = a.getTaskId();
+        PersistentLinkedList<State> action = interState.get(task);
+        if (action == null) {  // 没有此中断函数
+            action = PersistentLinkedList.of();
         }
+        return new DataState(N, as, interState.putAndCopy(task, action.with(a)));
     }
 
-    public void updataActionList(State a) {
-        if (a.getTask().contains("isr")) {
-            this.setInterState(a);
+    public DataState updataActionList(State a) {
+        if (a.isInterrupt()) {
+            return this.withInterState(a);
         } else {
-            as = a;
+            return this.withAs(a);
         }
     }
 
-    public void getEmpty(State a) {
-        as = a;
-        interState = new LinkedHashMap<String, List<State>>();
+    public DataState getEmpty(State a) {
+        return new DataState(N, a, PathCopyingPersistentTreeMap.of());
     }
 
     @Override
     public String toString() {
+        Map<String, Object> inter = new LinkedHashMap<>();
+        for (Map.Entry<Integer, PersistentLinkedList<State>> entry : interState.entrySet()) {
+            inter.put(entry.getValue().head().getTask(), entry.getValue().reversed());
+        }
         StringBuffer str = new StringBuffer();
-        str.append("\n对于 " + N + " 来说:" + "\n                 在非中断函数的最新访问状态是" + as + "\n                 在中断函数的访问状态集是" + interState);
+        str.append("\n对于 " + N + " 来说:" + "\n                 在非中断函数的最新访问状态是" + as + "\n                 在中断函数的访问状态集是" + inter);
         return String.valueOf(str);
     }
 
@@ -0,0 +1,63 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2022 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.dataaccess;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the names of the shared variables and of the tasks (i.e., the functions), such that the
+ * data access sets can be keyed by small integer ids instead of strings. Each {@link
+ * DataAccessCPA} owns one table, so the names of an analysis are released together with it.
+ */
+final class IdTable {
+
+    private final NameTable variables = new NameTable();
+    private final NameTable tasks = new NameTable();
+
+    /** Get the id of the given variable, a new id is assigned if it was not seen before. */
+    int getVariableId(String pName) {
+        return variables.getId(pName);
+    }
+
+    String getVariableName(int pId) {
+        return variables.getName(pId);
+    }
+
+    /** Get the id of the given task, a new id is assigned if it was not seen before. */
+    int getTaskId(String pName) {
+        return tasks.getId(pName);
+    }
+
+    String getTaskName(int pId) {
+        return tasks.getName(pId);
+    }
+
+    private static final class NameTable {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        synchronized int getId(String pName) {
+            Integer id = ids.get(pName);
+            if (id == null) {
+                id = names.size();
+                ids.put(pName, id);
+                names.add(pName);
+            }
+            return id;
+        }
+
+        synchronized String getName(int pId) {
+            return names.get(pId);
+        }
+    }
+}
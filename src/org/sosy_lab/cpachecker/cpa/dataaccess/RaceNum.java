@@ -1,21 +1,37 @@
 package org.sosy_lab.cpachecker.cpa.dataaccess;
 
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
+/**
+ * The data races found so far. A race is stored as the triple of its packed accesses, they are
+ * only decoded to names when the races are printed.
+ */
 public class RaceNum {
+    static final int RWR = 0;
+    static final int WWR = 1;
+    static final int RWW = 2;
+    static final int WRW = 3;
+
+    /** 冲突模式集, indexed by the write bits of the three accesses. */
+    private static final int[] PATTERNS = {-1, -1, RWR, RWW, -1, WRW, WWR, -1};
+
+
     private int raceNum = 0;
     private int raceRWR = 0;
     private int raceWWR = 0;
     private int raceRWW = 0;
     private int raceWRW = 0;
 
-    private Set<String> raceSet;
-    private Set<String> raceRWRSet;
-    private Set<String> raceWWRSet;
-    private Set<String> raceRWWSet;
-    private Set<String> raceWRWSet;
+    private Set<ImmutableList<State>> raceSet;
+    private Set<ImmutableList<State>> raceRWRSet;
+    private Set<ImmutableList<State>> raceWWRSet;
+    private Set<ImmutableList<State>> raceRWWSet;
+    private Set<ImmutableList<State>> raceWRWSet;
 
 
     public RaceNum() {
@@ -25,11 +41,11 @@ public class RaceNum {
         raceRWR = 0;
         raceRWW = 0;
 
-        raceSet = new HashSet<String>();
-        raceRWRSet = new HashSet<String>();
-        raceWWRSet = new HashSet<String>();
-        raceRWWSet = new HashSet<String>();
-        raceWRWSet = new HashSet<String>();
+        raceSet = new HashSet<ImmutableList<State>>();
+        raceRWRSet = new HashSet<ImmutableList<State>>();
+        raceWWRSet = new HashSet<ImmutableList<State>>();
+        raceRWWSet = new HashSet<ImmutableList<State>>();
+        raceWRWSet = new HashSet<ImmutableList<State>>();
     }
 
     public int getRaceNum() {
@@ -61,7 +77,7 @@ public class RaceNum {
     }
 
 
-    public void setRace(String race) {
+    public void setRace(ImmutableList<State> race) {
         if (raceSet.contains(race)) {
             return;
         }
@@ -69,7 +85,7 @@ public class RaceNum {
         raceNum += 1;
     }
 
-    public void setraceRWRSet(String race) {
+    public void setraceRWRSet(ImmutableList<State> race) {
         if (raceRWRSet.contains(race)) {
             return;
         }
@@ -77,7 +93,7 @@ public class RaceNum {
         raceRWR += 1;
     }
 
-    public void setraceWWRSet(String race) {
+    public void setraceWWRSet(ImmutableList<State> race) {
         if (raceWWRSet.contains(race)) {
             return;
         }
@@ -85,7 +101,7 @@ public class RaceNum {
         raceWWR += 1;
     }
 
-    public void setraceRWWSet(String race) {
+    public void setraceRWWSet(ImmutableList<State> race) {
         if (raceRWWSet.contains(race)) {
             return;
         }
@@ -93,7 +109,7 @@ public class RaceNum {
         raceRWW += 1;
     }
 
-    public void setraceWRWSet(String race) {
+    public void setraceWRWSet(ImmutableList<State> race) {
         if (raceWRWSet.contains(race)) {
             return;
         }
@@ -102,6 +118,47 @@ public class RaceNum {
     }
 
 
+    /** Get the race pattern of the given accesses, or -1 if they are no data race. */
+    static int getPattern(State as, State am, State ae) {
+        if (as.isEmpty() || am.isEmpty() || ae.isEmpty()) {
+            return -1;
+        }
+        return PATTERNS[(as.isWrite() ? 4 : 0) | (am.isWrite() ? 2 : 0) | (ae.isWrite() ? 1 : 0)];
+    }
+
+    static String getRaceString(String Name, List<State> race) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n" + Name + ":\n");
+        for (State a : race) {
+            sb.append("\n       " + a);
+        }
+        return sb.toString();
+    }
+
+    private static List<String> toRaceStrings(Set<ImmutableList<State>> races) {
+        List<String> result = new ArrayList<>(races.size());
+        for (ImmutableList<State> race : races) {
+            result.add(getRaceString(race.get(0).getName(), race));
+        }
+        return result;
+    }
+
+    public int getRaceRWR() {
+        return raceRWR;
+    }
+
+    public int getRaceWWR() {
+        return raceWWR;
+    }
+
+    public int getRaceRWW() {
+        return raceRWW;
+    }
+
+    public int getRaceWRW() {
+        return raceWRW;
+    }
+
     @Override
     public String toString() {
         return
@@ -114,10 +171,10 @@ public class RaceNum {
                         "\nWWR conflicts have " + raceWWR +
                         "\n\033[0m" +
                         "=========================== 详细状态如下 =============================" +
-                        "\n raceRWRSet:\n" + raceRWRSet +
-                        "\n raceWRWSet:\n" + raceWRWSet +
-                        "\n raceRWWSet:\n" + raceRWWSet +
-                        "\n raceWWRSet:\n" + raceWWRSet;
+                        "\n raceRWRSet:\n" + toRaceStrings(raceRWRSet) +
+                        "\n raceWRWSet:\n" + toRaceStrings(raceWRWSet) +
+                        "\n raceRWWSet:\n" + toRaceStrings(raceRWWSet) +
+                        "\n raceWWRSet:\n" + toRaceStrings(raceWWRSet);
 
     }
 
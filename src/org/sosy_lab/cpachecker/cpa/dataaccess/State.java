@@ -1,72 +1,118 @@
 package org.sosy_lab.cpachecker.cpa.dataaccess;
 
-import org.checkerframework.checker.units.qual.A;
+import static com.google.common.base.Preconditions.checkArgument;
 
-public class State {
+public final class State {
     /**
      * 每一个节点应包含的状态
+     *
+     * <p>An access is packed into a single long: the id of the variable and the id of the task (see
+     * {@link IdTable}), the line number, whether the task is an interrupt function and whether the
+     * access is a write. The names are only decoded when the access is printed.
      */
-    private String Name;
-    private String Task;
-    private int Loaction;
-    private String Action;
+    private static final int WRITE_BIT = 0;
+    private static final int ISR_BIT = 1;
+    private static final int LOCATION_SHIFT = 2;
+    private static final int LOCATION_BITS = 26;
+    private static final int TASK_SHIFT = LOCATION_SHIFT + LOCATION_BITS;
+    private static final int TASK_BITS = 14;
+    private static final int VARIABLE_SHIFT = TASK_SHIFT + TASK_BITS;
+    private static final int VARIABLE_BITS = 64 - VARIABLE_SHIFT;
 
-    public State() {
-        Name = "";
-        Task = "";
-        Loaction = -1;
-        Action = "";
+    /** The empty access, all bits set is no valid encoding since the ids are checked below. */
+    private static final long EMPTY_CODE = -1L;
+
+    static final State EMPTY = new State(null, EMPTY_CODE);
+
+    // the table that decodes the ids, it is null only for the empty access.
+    private final IdTable ids;
+    private final long code;
+
+    private State(IdTable pIds, long pCode) {
+        ids = pIds;
+        code = pCode;
     }
 
-    public State(String name, String task, int loaction, String action) {
-        Name = name;
-        Task = task;
-        Loaction = loaction;
-        Action = action;
+    static State read(IdTable pIds, String pName, String pTask, int pLocation) {
+        return new State(pIds, encode(pIds, pName, pTask, pLocation, false));
     }
 
-    public String getName() {
-        return Name;
+    static State write(IdTable pIds, String pName, String pTask, int pLocation) {
+        return new State(pIds, encode(pIds, pName, pTask, pLocation, true));
+    }
+
+    private static long encode(
+            IdTable pIds, String pName, String pTask, int pLocation, boolean pWrite) {
+        long var = pIds.getVariableId(pName);
+        long task = pIds.getTaskId(pTask);
+        checkArgument(var < (1L << VARIABLE_BITS) - 1, "too many shared variables");
+        checkArgument(task < (1L << TASK_BITS), "too many tasks");
+        checkArgument(
+                pLocation >= 0 && pLocation < (1L << LOCATION_BITS), "invalid line %s", pLocation);
+        return (var << VARIABLE_SHIFT)
+                | (task << TASK_SHIFT)
+                | ((long) pLocation << LOCATION_SHIFT)
+                | (pTask.contains("isr") ? 1L << ISR_BIT : 0)
+                | (pWrite ? 1L << WRITE_BIT : 0);
     }
 
-    public void setName(String name) {
-        Name = name;
+    /** The packed encoding of this access. */
+    public long getCode() {
+        return code;
+    }
+
+    public int getVariableId() {
+        return (int) (code >>> VARIABLE_SHIFT);
+    }
+
+    public int getTaskId() {
+        return (int) ((code >>> TASK_SHIFT) & ((1L << TASK_BITS) - 1));
+    }
+
+    public String getName() {
+        return isEmpty() ? "" : ids.getVariableName(getVariableId());
     }
 
     public String getTask() {
-        return Task;
+        return isEmpty() ? "" : ids.getTaskName(getTaskId());
     }
 
-    public void setTask(String task) {
-        Task = task;
+    /** Whether the task of this access is an interrupt function. */
+    public boolean isInterrupt() {
+        return !isEmpty() && (code & (1L << ISR_BIT)) != 0;
     }
 
     public int getLoaction() {
-        return Loaction;
+        return isEmpty() ? -1 : (int) ((code >>> LOCATION_SHIFT) & ((1L << LOCATION_BITS) - 1));
     }
 
-    public void setLoaction(int loaction) {
-        Loaction = loaction;
+    public boolean isWrite() {
+        return !isEmpty() && (code & (1L << WRITE_BIT)) != 0;
     }
 
     public String getAction() {
-        return Action;
-    }
-
-    public void setAction(String action) {
-        Action = action;
+        if (isEmpty()) {
+            return "";
+        }
+        return isWrite() ? "W" : "R";
     }
 
     @Override
     public String toString() {
-        return "(" + Name + "," + Task + ", '" + Loaction + ", '" + Action + ')';
+        return "(" + getName() + "," + getTask() + ", '" + getLoaction() + ", '" + getAction() + ')';
     }
 
     public boolean isEmpty() {
-        if ((Name == "") && (Task == "" ) && (Loaction == -1) && (Action == "")){
-            return true;
-        }else{
-            return false;
-        }
+        return code == EMPTY_CODE;
+    }
+
+    @Override
+    public boolean equals(Object pOther) {
+        return pOther instanceof State && ((State) pOther).code == code;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(code);
     }
 }
@@ -12,6 +12,12 @@ import static com.google.common.collect.FluentIterable.from;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.log.LogManager;
@@ -37,7 +43,6 @@ import org.sosy_lab.cpachecker.cpa.predicate.RefinementStrategy;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.CPAs;
-import org.sosy_lab.cpachecker.util.slicing.Slice;
 import org.sosy_lab.cpachecker.util.slicing.Slicer;
 import org.sosy_lab.cpachecker.util.slicing.SlicerFactory;
 
@@ -49,6 +54,12 @@ public class DataRaceAbstractionsRefiner implements Refiner {
 
   private Slicer slicer;
 
+  /**
+   * The slices of the paths that were refined before, in a trie over the slicing criteria of the
+   * paths. Paths that share a prefix of criteria share the nodes of this prefix.
+   */
+  private final SliceCacheNode sliceCache = new SliceCacheNode(ImmutableSet.of());
+
   @SuppressWarnings("resource")
   public DataRaceAbstractionsRefiner(
       ConfigurableProgramAnalysis pCpa,
@@ -142,8 +153,7 @@ public class DataRaceAbstractionsRefiner implements Refiner {
         from(pPath.getFullPath()).filter(e -> e instanceof AssumeEdge).toList();
 
     try {
-      Slice sliceResult = slicer.getSlice(cfa, asuEdges);
-      ImmutableSet<CFAEdge> relEdges = sliceResult.getRelevantEdges();
+      ImmutableSet<CFAEdge> relEdges = getRelevantEdges(asuEdges);
       System.out.println(relEdges);
     } catch (InterruptedException e1) {
       // TODO Auto-generated catch block
@@ -153,4 +163,64 @@ public class DataRaceAbstractionsRefiner implements Refiner {
     return null;
   }
 
+  /**
+   * Get the relevant edges of the slice for the given slicing criteria. The slice of a set of
+   * criteria is the union of the slices of its elements, hence only the criteria after the longest
+   * prefix that was sliced before are sliced, and the criteria that are already relevant for this
+   * prefix are skipped (their slices are contained in the slice of the prefix).
+   */
+  private ImmutableSet<CFAEdge> getRelevantEdges(final List<CFAEdge> pCriteria)
+      throws InterruptedException {
+    SliceCacheNode node = sliceCache, prefixNode = sliceCache;
+    int prefixLength = 0;
+    for (int i = 0; i < pCriteria.size(); ++i) {
+      node = node.children.get(pCriteria.get(i));
+      if (node == null) {
+        break;
+      }
+      if (node.relevantEdges != null) {
+        prefixNode = node;
+        prefixLength = i + 1;
+      }
+    }
+    if (prefixLength == pCriteria.size()) {
+      return prefixNode.relevantEdges;
+    }
+
+    Set<CFAEdge> newCriteria = new LinkedHashSet<>();
+    for (CFAEdge criterion : pCriteria.subList(prefixLength, pCriteria.size())) {
+      if (!prefixNode.relevantEdges.contains(criterion)) {
+        newCriteria.add(criterion);
+      }
+    }
+    ImmutableSet<CFAEdge> relevantEdges = prefixNode.relevantEdges;
+    if (!newCriteria.isEmpty()) {
+      relevantEdges =
+          ImmutableSet.<CFAEdge>builder()
+              .addAll(relevantEdges)
+              .addAll(slicer.getSlice(cfa, newCriteria).getRelevantEdges())
+              .build();
+    }
+
+    node = prefixNode;
+    for (CFAEdge criterion : pCriteria.subList(prefixLength, pCriteria.size())) {
+      node = node.children.computeIfAbsent(criterion, k -> new SliceCacheNode(null));
+    }
+    node.relevantEdges = relevantEdges;
+    return relevantEdges;
+  }
+
+  /** A node of the slice cache, cf. {@link #sliceCache}. */
+  private static final class SliceCacheNode {
+
+    private final Map<CFAEdge, SliceCacheNode> children = new HashMap<>();
+
+    /** The relevant edges for the criteria of the path to this node, or null if not sliced. */
+    private @Nullable ImmutableSet<CFAEdge> relevantEdges;
+
+    private SliceCacheNode(@Nullable ImmutableSet<CFAEdge> pRelevantEdges) {
+      relevantEdges = pRelevantEdges;
+    }
+  }
+
 }
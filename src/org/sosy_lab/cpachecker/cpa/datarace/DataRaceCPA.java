@@ -13,6 +13,8 @@ import java.util.logging.Level;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
@@ -28,9 +30,16 @@ import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker.ProofCheckerCPA;
 import org.sosy_lab.cpachecker.cpa.predicate.PredicateCPA;
 import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
 
+@Options(prefix = "cpa.datarace")
 public class DataRaceCPA extends AbstractCPA
     implements ConfigurableProgramAnalysis, ProofCheckerCPA {
 
+  @Option(
+    secure = true,
+    description = "Run a lockset pre-pass that proves the consistently protected shared variables "
+        + "race-free, only the accesses of the remaining variables are checked for data races.")
+  private boolean useLocksetPreFilter = false;
+
   private Configuration config;
   private LogManager logger;
   private ShutdownNotifier shutdownNotifier;
@@ -44,8 +53,10 @@ public class DataRaceCPA extends AbstractCPA
       Configuration pConfig,
       LogManager pLogger,
       ShutdownNotifier pShutdownNotifier,
-      CFA pCfa) {
+      CFA pCfa)
+      throws InvalidConfigurationException {
     super("sep", "sep", new DataRaceTransferRelation());
+    pConfig.inject(this);
 
     config = pConfig;
     logger = pLogger;
@@ -67,7 +78,8 @@ public class DataRaceCPA extends AbstractCPA
       Optional<ConfigurableProgramAnalysis> optCPAs = GlobalInfo.getInstance().getCPA();
       if (optCPAs.isPresent()) {
         PredicateCPA cpa = retriveCPA(optCPAs.get(), PredicateCPA.class);
-        return new DataRacePrecisionAdjustment(config, logger, shutdownNotifier, cpa, cfa);
+        return new DataRacePrecisionAdjustment(
+            config, logger, shutdownNotifier, cpa, cfa, useLocksetPreFilter);
       }
       logger.log(Level.SEVERE, "no CPAs available!");
     } catch (InvalidConfigurationException e) {
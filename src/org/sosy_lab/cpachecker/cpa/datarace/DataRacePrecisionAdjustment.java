@@ -15,6 +15,7 @@ import com.google.common.collect.ImmutableList;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.log.LogManager;
@@ -35,6 +36,7 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.DGNode;
 import org.sosy_lab.cpachecker.util.dependence.conditional.ConditionalDepGraph;
+import org.sosy_lab.cpachecker.util.dependence.conditional.LocksetRaceFilter;
 import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
@@ -49,6 +51,7 @@ import org.sosy_lab.java_smt.api.ProverEnvironment;
 public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
 
   private final ConditionalDepGraph condDepGraph;
+  private final @Nullable LocksetRaceFilter raceFilter;
   private int raceTime = 0;
 
   private LogManager logger;
@@ -66,9 +69,22 @@ public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
       LogManager pLogger,
       ShutdownNotifier pShutdownNotifier,
       PredicateCPA pCpa,
-      CFA pCfa) {
+      CFA pCfa,
+      boolean pUseLocksetPreFilter) {
     condDepGraph = GlobalInfo.getInstance().getEdgeInfo().getCondDepGraph();
     logger = pLogger;
+    if (pUseLocksetPreFilter) {
+      raceFilter = new LocksetRaceFilter(pCfa, condDepGraph);
+      logger.log(
+          Level.INFO,
+          "Lockset pre-filter:",
+          raceFilter.getProtectedVarNumber(),
+          "of",
+          raceFilter.getSharedVarNumber(),
+          "shared variables are consistently protected.");
+    } else {
+      raceFilter = null;
+    }
     cpa = pCpa;
 
     solver = cpa.getSolver();
@@ -111,15 +127,15 @@ public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
 
         for (int i = 0; i < drBrotherStateAndEdgePairs.size() - 1; ++i) {
           Pair<DataRaceState, CFAEdge> drBrotherPairI = drBrotherStateAndEdgePairs.get(i);
-          DGNode drBrotherDepNodeI = condDepGraph.getDGNode(drBrotherPairI.getSecond().hashCode());
+          DGNode drBrotherDepNodeI = condDepGraph.getDGNode(drBrotherPairI.getSecond());
           boolean unsatCheckedI = false, unsatI = false;
 
           for (int j = 1; j < drBrotherStateAndEdgePairs.size(); ++j) {
             Pair<DataRaceState, CFAEdge> drBrotherPairJ = drBrotherStateAndEdgePairs.get(j);
             DGNode drBrotherDepNodeJ =
-                condDepGraph.getDGNode(drBrotherPairJ.getSecond().hashCode());
+                condDepGraph.getDGNode(drBrotherPairJ.getSecond());
 
-            if (condDepGraph.dep(drBrotherDepNodeI, drBrotherDepNodeJ) != null) {
+            if (mayRace(drBrotherDepNodeI, drBrotherDepNodeJ)) {
               BooleanFormula fEdgeJ =
                   generateNewPathFormula(parPathFormula, drBrotherPairJ.getSecond()).getFormula();
               try (ProverEnvironment proverJ = solver.newProverEnvironment()) {
@@ -189,14 +205,14 @@ public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
       if (drBrotherStateAndEdgePairs.size() > 1) {
         for (int i = 0; i < drBrotherStateAndEdgePairs.size() - 1; ++i) {
           Pair<DataRaceState, CFAEdge> drBrotherPairI = drBrotherStateAndEdgePairs.get(i);
-          DGNode drBrotherDepNodeI = condDepGraph.getDGNode(drBrotherPairI.getSecond().hashCode());
+          DGNode drBrotherDepNodeI = condDepGraph.getDGNode(drBrotherPairI.getSecond());
 
           for (int j = 1; j < drBrotherStateAndEdgePairs.size(); ++j) {
             Pair<DataRaceState, CFAEdge> drBrotherPairJ = drBrotherStateAndEdgePairs.get(j);
             DGNode drBrotherDepNodeJ =
-                condDepGraph.getDGNode(drBrotherPairJ.getSecond().hashCode());
+                condDepGraph.getDGNode(drBrotherPairJ.getSecond());
 
-            if (condDepGraph.dep(drBrotherDepNodeI, drBrotherDepNodeJ) != null) {
+            if (mayRace(drBrotherDepNodeI, drBrotherDepNodeJ)) {
               drBrotherPairI.getFirst().updateDataRace();
               drBrotherPairJ.getFirst().updateDataRace();
             }
@@ -210,6 +226,15 @@ public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
             .create(pState, pPrecision, PrecisionAdjustmentResult.Action.CONTINUE));
   }
 
+  /**
+   * Two nodes may race if they are dependent and, if the lockset pre-filter is used, they access a
+   * shared variable that is not consistently protected.
+   */
+  private boolean mayRace(DGNode pNode1, DGNode pNode2) {
+    return condDepGraph.dep(pNode1, pNode2) != null
+        && (raceFilter == null || raceFilter.mayRace(pNode1, pNode2));
+  }
+
   private List<BooleanFormula> genPathFormula(ARGState pState) {
     ARGPath path = ARGUtils.getOnePathTo(pState);
     final List<ARGState> pathStates = from(path.asStatesList()).skip(1).toList();
@@ -10,6 +10,9 @@ package org.sosy_lab.cpachecker.cpa.datarace2bdd;
 
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
@@ -22,9 +25,19 @@ import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker.ProofCheckerCPA;
 
+@Options(prefix = "cpa.datarace2bdd")
 public class DataRaceCPA extends AbstractCPA
     implements ConfigurableProgramAnalysis, ProofCheckerCPA {
 
+  @Option(
+    secure = true,
+    description = "Run a lockset pre-pass that proves the consistently protected shared variables "
+        + "race-free, only the accesses of the remaining variables are checked for data races.")
+  private boolean useLocksetPreFilter = false;
+
+  private final LogManager logger;
+  private final CFA cfa;
+
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(DataRaceCPA.class);
   }
@@ -33,8 +46,12 @@ public class DataRaceCPA extends AbstractCPA
       Configuration pConfig,
       LogManager pLogger,
       ShutdownNotifier pShutdownNotifier,
-      CFA pCfa) {
+      CFA pCfa)
+      throws InvalidConfigurationException {
     super("sep", "sep", new DataRaceTransferRelation());
+    pConfig.inject(this);
+    logger = pLogger;
+    cfa = pCfa;
   }
 
   @Override
@@ -45,7 +62,7 @@ public class DataRaceCPA extends AbstractCPA
 
   @Override
   public PrecisionAdjustment getPrecisionAdjustment() {
-    return new DataRacePrecisionAdjustment();
+    return new DataRacePrecisionAdjustment(logger, cfa, useLocksetPreFilter);
   }
 
 }
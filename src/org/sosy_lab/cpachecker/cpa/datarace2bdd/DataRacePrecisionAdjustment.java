@@ -13,6 +13,10 @@ import static com.google.common.collect.FluentIterable.from;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
 import java.util.Optional;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
@@ -25,14 +29,28 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.DGNode;
 import org.sosy_lab.cpachecker.util.dependence.conditional.ConditionalDepGraph;
+import org.sosy_lab.cpachecker.util.dependence.conditional.LocksetRaceFilter;
 import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
 
 public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
 
   private final ConditionalDepGraph condDepGraph;
+  private final @Nullable LocksetRaceFilter raceFilter;
 
-  public DataRacePrecisionAdjustment() {
+  public DataRacePrecisionAdjustment(LogManager pLogger, CFA pCfa, boolean pUseLocksetPreFilter) {
     condDepGraph = GlobalInfo.getInstance().getEdgeInfo().getCondDepGraph();
+    if (pUseLocksetPreFilter) {
+      raceFilter = new LocksetRaceFilter(pCfa, condDepGraph);
+      pLogger.log(
+          Level.INFO,
+          "Lockset pre-filter:",
+          raceFilter.getProtectedVarNumber(),
+          "of",
+          raceFilter.getSharedVarNumber(),
+          "shared variables are consistently protected.");
+    } else {
+      raceFilter = null;
+    }
   }
 
   @Override
@@ -59,14 +77,14 @@ public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
 
         for (int i = 0; i < drBrotherStateAndEdgePairs.size() - 1; ++i) {
           Pair<DataRaceState, CFAEdge> drBrotherPairI = drBrotherStateAndEdgePairs.get(i);
-          DGNode drBrotherDepNodeI = condDepGraph.getDGNode(drBrotherPairI.getSecond().hashCode());
+          DGNode drBrotherDepNodeI = condDepGraph.getDGNode(drBrotherPairI.getSecond());
 
           for (int j = 1; j < drBrotherStateAndEdgePairs.size(); ++j) {
             Pair<DataRaceState, CFAEdge> drBrotherPairJ = drBrotherStateAndEdgePairs.get(j);
             DGNode drBrotherDepNodeJ =
-                condDepGraph.getDGNode(drBrotherPairJ.getSecond().hashCode());
+                condDepGraph.getDGNode(drBrotherPairJ.getSecond());
 
-            if (condDepGraph.dep(drBrotherDepNodeI, drBrotherDepNodeJ) != null) {
+            if (mayRace(drBrotherDepNodeI, drBrotherDepNodeJ)) {
               drBrotherPairI.getFirst().updateDataRace();
               drBrotherPairJ.getFirst().updateDataRace();
             }
@@ -80,4 +98,13 @@ public class DataRacePrecisionAdjustment implements PrecisionAdjustment {
             .create(pState, pPrecision, PrecisionAdjustmentResult.Action.CONTINUE));
   }
 
+  /**
+   * Two nodes may race if they are dependent and, if the lockset pre-filter is used, they access a
+   * shared variable that is not consistently protected.
+   */
+  private boolean mayRace(DGNode pNode1, DGNode pNode2) {
+    return condDepGraph.dep(pNode1, pNode2) != null
+        && (raceFilter == null || raceFilter.mayRace(pNode1, pNode2));
+  }
+
 }
@@ -68,6 +68,7 @@ import org.sosy_lab.cpachecker.cpa.predicate.PredicateCPA;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.edgeaccess.EdgeAccessSummaries;
 import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionManager;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionPredicate;
@@ -125,8 +126,7 @@ public class ICIntpPrecisionAdjustment implements PrecisionAdjustment {
   // [path_instance, ...]
   private static Set<Integer> noComputeCache = new HashSet<>();
   /* for each edge, we need to preserve the evaluation information to avoid the dynamic computation of this information. */
-  // [<edge_hash, {eval_1, ...}>, ...]
-  private Map<Integer, Set<?>> edgeEvalInfo;
+  private EdgeAccessSummaries edgeAccessSummaries;
   /* for each edge in a path, we preserve it's edge formula (in SSA form). */
   // [<path_instance, path_instance_formula>, ...]
   private Map<Integer, PathFormula> cachedPathInstanceFormula;
@@ -149,8 +149,7 @@ public class ICIntpPrecisionAdjustment implements PrecisionAdjustment {
     solver = null;
     evalRootState = null;
 
-    edgeEvalInfo =
-        useIncCIntp ? EdgeEvaluationExtractor.extractCFAEvalInfo(pLogger, pCfa) : new HashMap<>();
+    edgeAccessSummaries = useIncCIntp ? EdgeAccessSummaries.forCFA(pLogger, pCfa) : null;
     cachedPathInstanceFormula = new HashMap<>();
   }
 
@@ -536,7 +535,7 @@ public class ICIntpPrecisionAdjustment implements PrecisionAdjustment {
 
     // create the initial evaluation information.
     Set<String> leftEvalInfo =
-        new HashSet<>((Set<String>) edgeEvalInfo.get(pAssumeEdge.hashCode()));
+        new HashSet<>((Set<String>) edgeAccessSummaries.getEvaluationInfo(pAssumeEdge));
     Set<String> rightEvalInfo = new HashSet<>();
     Pair<Set<String>, Set<String>> phi2 = Pair.of(leftEvalInfo, rightEvalInfo);
 
@@ -567,7 +566,7 @@ public class ICIntpPrecisionAdjustment implements PrecisionAdjustment {
       //// create an edge between argParent and curState.
       CFAEdge curEdge = argParent.getEdgeToChild(curState);
       // get the evaluation information.
-      Set<?> phi1 = edgeEvalInfo.get(curEdge.hashCode());
+      Set<?> phi1 = edgeAccessSummaries.getEvaluationInfo(curEdge);
       //      System.out.print(curEdge);
       // ignore the assume edges, since they are helpless to the interpolation chain.
       if (!(curEdge instanceof AssumeEdge)) {
@@ -17,11 +17,12 @@ import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.CPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.util.edgeaccess.EdgeAccessSummaries;
 
 public class KEPHCPA extends AbstractCPA {
 
   private final LogManager logger;
-  private final CFA cfa;
+  private final EdgeAccessSummaries edgeAccessSummaries;
 
   @Override
   public AbstractState getInitialState(CFANode pNode, StateSpacePartition pPartition)
@@ -35,15 +36,19 @@ public class KEPHCPA extends AbstractCPA {
   }
 
   public KEPHCPA(LogManager pLogger, CFA pCfa) {
-    super("sep", "sep", new KEPHTransferRelation());
+    this(pLogger, EdgeAccessSummaries.forCFA(pLogger, pCfa));
+  }
+
+  private KEPHCPA(LogManager pLogger, EdgeAccessSummaries pEdgeAccessSummaries) {
+    super("sep", "sep", new KEPHTransferRelation(pEdgeAccessSummaries.getEdgeNumbering()));
 
     logger = pLogger;
-    cfa = pCfa;
+    edgeAccessSummaries = pEdgeAccessSummaries;
   }
 
   @Override
   public PrecisionAdjustment getPrecisionAdjustment() {
-    return new KEPHPrecisionAdjustment(logger, cfa);
+    return new KEPHPrecisionAdjustment(logger, edgeAccessSummaries);
   }
 
 }
@@ -9,77 +9,45 @@
 package org.sosy_lab.cpachecker.cpa.keph;
 
 import com.google.common.base.Function;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ArrayQueue;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import org.sosy_lab.common.log.LogManager;
-import org.sosy_lab.cpachecker.cfa.CFA;
-import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
-import org.sosy_lab.cpachecker.cfa.model.CFANode;
-import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
 import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.edgeaccess.EdgeAccessSummaries;
 
 public class KEPHPrecisionAdjustment implements PrecisionAdjustment {
 
   private final LogManager logger;
 
   // Key Event: an event is called a key event if it need to access variables.
-  private Set<Integer> keyEventCache = new HashSet<>();
+  // (indexed by the edge id)
+  private final BitSet keyEventCache;
 
   // explored key event paths.
   private Set<Integer> expdKEPCache = new HashSet<>();
 
-  public KEPHPrecisionAdjustment(LogManager pLogger, CFA pCfa) {
+  public KEPHPrecisionAdjustment(LogManager pLogger, EdgeAccessSummaries pEdgeAccessSummaries) {
     logger = pLogger;
-    keyEventCache = extractKeyEvents(pLogger, pCfa);
+    keyEventCache = extractKeyEvents(pEdgeAccessSummaries);
   }
 
-  private Set<Integer> extractKeyEvents(LogManager pLogger, CFA pCfa) {
-    EdgeEvaluationExtractor extractor = new EdgeEvaluationExtractor(pLogger);
-    Set<Integer> result = new HashSet<>();
-
-    // get entry point of all the functions in the given program.
-    Iterator<FunctionEntryNode> funcIter = pCfa.getAllFunctionHeads().iterator();
-    Set<Integer> finishedEdges = new HashSet<>();
-    // iteratively process each function.
-    while (funcIter.hasNext()) {
-      FunctionEntryNode func = funcIter.next();
-      Queue<CFAEdge> edgeQueue = new ArrayQueue<>();
-
-      // bfs strategy.
-      edgeQueue.add(func.getLeavingEdge(0));
-      while (!edgeQueue.isEmpty()) {
-        CFAEdge edge = edgeQueue.remove();
-        Integer edgeHash = edge.hashCode();
-
-        // this edge is not processed.
-        if (!finishedEdges.contains(edgeHash)) {
-          // get the evaluation information.
-          // if no variable is evaluated, then it's not a key event.
-          if (!extractor.extractEdgeEvaluationInfo(edge).isEmpty()) {
-            result.add(edgeHash);
-          }
-          finishedEdges.add(edgeHash);
-
-          // System.out.println(edge + "\t" + result.get(edgeHash));
-
-          // process its successor edge.
-          CFANode edgeSucNode = edge.getSuccessor();
-          for (int i = 0; i < edgeSucNode.getNumLeavingEdges(); ++i) {
-            edgeQueue.add(edgeSucNode.getLeavingEdge(i));
-          }
-        }
+  private BitSet extractKeyEvents(EdgeAccessSummaries pEdgeAccessSummaries) {
+    int edgeNum = pEdgeAccessSummaries.getEdgeNumbering().size();
+    BitSet result = new BitSet(edgeNum);
+    // if no variable is evaluated, then it's not a key event.
+    for (int edgeId = 0; edgeId < edgeNum; ++edgeId) {
+      if (pEdgeAccessSummaries.getSummary(edgeId).isKeyEvent()) {
+        result.set(edgeId);
       }
     }
-
     return result;
   }
 
@@ -94,16 +62,16 @@ public class KEPHPrecisionAdjustment implements PrecisionAdjustment {
     KEPHState kephState = (KEPHState) pState;
 
     // current action is not a key event, we only inherit the key event path hash from the old one.
-    if (!keyEventCache.contains(kephState.getNextEdgeHash())) {
+    int nextEdgeId = kephState.getNextEdgeId();
+    if (nextEdgeId < 0 || !keyEventCache.get(nextEdgeId)) {
       kephState.setNeedRemove(false);
       return Optional.of(
           PrecisionAdjustmentResult
               .create(pState, pPrecision, PrecisionAdjustmentResult.Action.CONTINUE));
     } else {
       int newKeyEventPathHash =
-          (kephState.getKeyEventPathHash().toString()
-              + kephState.getNextEdgeHash().toString()
-              + kephState.getNextEdgeCodeHash().toString()).hashCode();
+          Objects.hash(
+              kephState.getKeyEventPathHash(), nextEdgeId, kephState.getNextEdgeCodeHash());
 
       if (expdKEPCache.contains(newKeyEventPathHash)) {
         // System.out.println("keph: " + newKeyEventPathHash);
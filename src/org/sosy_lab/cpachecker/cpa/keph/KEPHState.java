@@ -10,38 +10,39 @@ package org.sosy_lab.cpachecker.cpa.keph;
 
 import java.io.Serializable;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAEdgeNumbering;
 
 public class KEPHState implements AbstractState, Serializable {
 
-  private Integer keyEventPathHash;
-  private Integer nextEdgeHash, nextEdgeCodeHash;
+  private int keyEventPathHash;
+  private int nextEdgeId, nextEdgeCodeHash;
   private boolean needRemove;
 
   public static KEPHState getInstance() {
-    return new KEPHState(0, 0, 0, false);
+    return new KEPHState(0, CFAEdgeNumbering.NO_ID, 0, false);
   }
 
   public KEPHState(
-      Integer pKeyEventPathHash,
-      Integer pNextEdgeHash,
-      Integer pNextEdgeCodeHash,
+      int pKeyEventPathHash,
+      int pNextEdgeId,
+      int pNextEdgeCodeHash,
       boolean pNeedRemove) {
     this.keyEventPathHash = pKeyEventPathHash;
-    this.nextEdgeHash = pNextEdgeHash;
+    this.nextEdgeId = pNextEdgeId;
     this.nextEdgeCodeHash = pNextEdgeCodeHash;
     this.needRemove = pNeedRemove;
   }
 
   public KEPHState(KEPHState pState) {
     this.keyEventPathHash = pState.keyEventPathHash;
-    this.nextEdgeHash = pState.nextEdgeHash;
+    this.nextEdgeId = pState.nextEdgeId;
     this.nextEdgeCodeHash = pState.nextEdgeCodeHash;
     this.needRemove = pState.needRemove;
   }
 
   @Override
   public int hashCode() {
-    return keyEventPathHash + nextEdgeHash + nextEdgeCodeHash;
+    return keyEventPathHash + nextEdgeId + nextEdgeCodeHash;
   }
 
   @Override
@@ -60,7 +61,7 @@ public class KEPHState implements AbstractState, Serializable {
 
     KEPHState pOther = (KEPHState) pObj;
     return (this.keyEventPathHash == pOther.keyEventPathHash)
-        && (this.nextEdgeHash == pOther.nextEdgeHash)
+        && (this.nextEdgeId == pOther.nextEdgeId)
         && (this.nextEdgeCodeHash == pOther.nextEdgeCodeHash)
         && (this.needRemove == pOther.needRemove);
   }
@@ -70,26 +71,26 @@ public class KEPHState implements AbstractState, Serializable {
     return "keph: "
         + this.keyEventPathHash
         + ", "
-        + this.nextEdgeHash
+        + this.nextEdgeId
         + ", "
         + this.nextEdgeCodeHash
         + ", "
         + this.needRemove;
   }
 
-  public Integer getKeyEventPathHash() {
+  public int getKeyEventPathHash() {
     return keyEventPathHash;
   }
 
-  public void setKeyEventPathHash(Integer pKeyEventPathHash) {
+  public void setKeyEventPathHash(int pKeyEventPathHash) {
     keyEventPathHash = pKeyEventPathHash;
   }
 
-  public Integer getNextEdgeHash() {
-    return nextEdgeHash;
+  public int getNextEdgeId() {
+    return nextEdgeId;
   }
 
-  public Integer getNextEdgeCodeHash() {
+  public int getNextEdgeCodeHash() {
     return nextEdgeCodeHash;
   }
 
@@ -15,9 +15,15 @@ import org.sosy_lab.cpachecker.core.defaults.SingleEdgeTransferRelation;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAEdgeNumbering;
 
 public class KEPHTransferRelation extends SingleEdgeTransferRelation {
 
+  private final CFAEdgeNumbering edgeNumbering;
+
+  public KEPHTransferRelation(CFAEdgeNumbering pEdgeNumbering) {
+    edgeNumbering = pEdgeNumbering;
+  }
 
   @Override
   public Collection<? extends AbstractState>
@@ -27,7 +33,7 @@ public class KEPHTransferRelation extends SingleEdgeTransferRelation {
     return Set.of(
         new KEPHState(
             kephState.getKeyEventPathHash(),
-            pCfaEdge.hashCode(),
+            edgeNumbering.getId(pCfaEdge),
             pCfaEdge.toString().hashCode(),
             false));
   }
@@ -44,7 +44,7 @@ public class ObservationTransferRelation extends SingleEdgeTransferRelation {
         newState = new ObservationState(curState);
 
     // Obtain the read/write variable information from the conditional dependency graph.
-    EdgeVtx edgeRWInfo = (EdgeVtx) condDepGraph.getDGNode(pCfaEdge.hashCode());
+    EdgeVtx edgeRWInfo = (EdgeVtx) condDepGraph.getDGNode(pCfaEdge);
     if (edgeRWInfo != null) {
       Set<Var> readVars = edgeRWInfo.getgReadVars(), writeVars = edgeRWInfo.getgWriteVars();
 
@@ -0,0 +1,142 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2020  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.por;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable sleep set of transitions, where each transition is a pair (thread id, edge id).
+ *
+ * @implNote Each pair is packed into a single long (the thread id is placed in the upper 32 bits),
+ *     and all the pairs are kept in a sorted array, so that no boxed objects are created. Since the
+ *     set is immutable, a successor that inherits the sleep set of its parent simply shares the
+ *     same instance.
+ */
+public final class SleepSet {
+
+  private static final SleepSet EMPTY = new SleepSet(new long[0]);
+
+  private final long[] entries;
+  private final int hash;
+
+  private SleepSet(long[] pEntries) {
+    entries = pEntries;
+    hash = Arrays.hashCode(pEntries);
+  }
+
+  public static SleepSet empty() {
+    return EMPTY;
+  }
+
+  public static long pack(int pThreadId, int pEdgeId) {
+    return ((long) pThreadId << 32) | (pEdgeId & 0xFFFFFFFFL);
+  }
+
+  public static int unpackThreadId(long pEntry) {
+    return (int) (pEntry >>> 32);
+  }
+
+  public static int unpackEdgeId(long pEntry) {
+    return (int) pEntry;
+  }
+
+  public boolean contains(int pThreadId, int pEdgeId) {
+    return Arrays.binarySearch(entries, pack(pThreadId, pEdgeId)) >= 0;
+  }
+
+  /**
+   * This function adds a transition into this sleep set.
+   *
+   * @return The sleep set that contains the transition, it is this set if the transition is already
+   *     contained.
+   */
+  public SleepSet add(int pThreadId, int pEdgeId) {
+    long entry = pack(pThreadId, pEdgeId);
+    int pos = Arrays.binarySearch(entries, entry);
+    if (pos >= 0) {
+      return this;
+    }
+
+    int insertPos = -(pos + 1);
+    long[] newEntries = new long[entries.length + 1];
+    System.arraycopy(entries, 0, newEntries, 0, insertPos);
+    newEntries[insertPos] = entry;
+    System.arraycopy(entries, insertPos, newEntries, insertPos + 1, entries.length - insertPos);
+    return new SleepSet(newEntries);
+  }
+
+  /**
+   * This function removes a transition from this sleep set.
+   *
+   * @return The sleep set without the transition, it is this set if the transition is not
+   *     contained.
+   */
+  public SleepSet remove(int pThreadId, int pEdgeId) {
+    int pos = Arrays.binarySearch(entries, pack(pThreadId, pEdgeId));
+    if (pos < 0) {
+      return this;
+    }
+    if (entries.length == 1) {
+      return EMPTY;
+    }
+
+    long[] newEntries = new long[entries.length - 1];
+    System.arraycopy(entries, 0, newEntries, 0, pos);
+    System.arraycopy(entries, pos + 1, newEntries, pos, entries.length - pos - 1);
+    return new SleepSet(newEntries);
+  }
+
+  public int size() {
+    return entries.length;
+  }
+
+  public boolean isEmpty() {
+    return entries.length == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object pObj) {
+    if (pObj == this) {
+      return true;
+    }
+
+    if (pObj instanceof SleepSet) {
+      SleepSet other = (SleepSet) pObj;
+      return hash == other.hash && Arrays.equals(entries, other.entries);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    List<String> pairs = new ArrayList<>(entries.length);
+    for (long entry : entries) {
+      pairs.add("(" + unpackThreadId(entry) + ", " + unpackEdgeId(entry) + ")");
+    }
+    return pairs.toString();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2020  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.por;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public class SleepSetTest {
+
+  @Test
+  public void testPackUnpack() {
+    long entry = SleepSet.pack(3, -42);
+    assertThat(SleepSet.unpackThreadId(entry)).isEqualTo(3);
+    assertThat(SleepSet.unpackEdgeId(entry)).isEqualTo(-42);
+  }
+
+  @Test
+  public void testAddContains() {
+    SleepSet set = SleepSet.empty().add(1, 10).add(0, Integer.MIN_VALUE).add(1, -5);
+    assertThat(set.size()).isEqualTo(3);
+    assertThat(set.contains(1, 10)).isTrue();
+    assertThat(set.contains(0, Integer.MIN_VALUE)).isTrue();
+    assertThat(set.contains(1, -5)).isTrue();
+    assertThat(set.contains(10, 1)).isFalse();
+  }
+
+  @Test
+  public void testImmutable() {
+    SleepSet parent = SleepSet.empty().add(1, 10);
+    SleepSet child = parent.add(2, 20);
+    assertThat(parent.contains(2, 20)).isFalse();
+    assertThat(child.contains(1, 10)).isTrue();
+    assertThat(parent.add(1, 10)).isSameInstanceAs(parent);
+    assertThat(child.remove(2, 20)).isEqualTo(parent);
+    assertThat(parent.remove(1, 10)).isSameInstanceAs(SleepSet.empty());
+    assertThat(parent.remove(7, 7)).isSameInstanceAs(parent);
+  }
+
+  @Test
+  public void testEqualsIndependentOfInsertionOrder() {
+    SleepSet a = SleepSet.empty().add(1, 10).add(2, 20);
+    SleepSet b = SleepSet.empty().add(2, 20).add(1, 10);
+    assertThat(a).isEqualTo(b);
+    assertThat(a.hashCode()).isEqualTo(b.hashCode());
+  }
+}
@@ -313,7 +313,7 @@ public class BIPPORPrecisionAdjustment implements PrecisionAdjustment {
     Map<Integer, Pair<EdgeVtx, BIPPORState>> stateRWVarsMap = new HashMap<>();
     for (ARGState state : pGVASuccessors) {
       BIPPORState bipporState = AbstractStates.extractStateByType(state, BIPPORState.class);
-      EdgeVtx gvaNode = (EdgeVtx) condDepGraph.getDGNode(bipporState.getCurrentTransferInEdge().hashCode());
+      EdgeVtx gvaNode = (EdgeVtx) condDepGraph.getDGNode(bipporState.getCurrentTransferInEdge());
 
       if (gvaNode != null) {
         // this node is not belongs to a thread creation edge.
@@ -420,8 +420,8 @@ public class BIPPORPrecisionAdjustment implements PrecisionAdjustment {
       return false;
     }
 
-    DGNode depPreNode = condDepGraph.getDGNode(pPreEdge.hashCode()),
-        depSucNode = condDepGraph.getDGNode(pSucEdge.hashCode());
+    DGNode depPreNode = condDepGraph.getDGNode(pPreEdge),
+        depSucNode = condDepGraph.getDGNode(pSucEdge);
 
     boolean containThreadCreationEdge =
         (isThreadCreationEdge(pPreEdge) || isThreadCreationEdge(pSucEdge));
@@ -22,14 +22,14 @@ package org.sosy_lab.cpachecker.cpa.por.bippor;
 import static com.google.common.collect.FluentIterable.from;
 
 import com.google.common.collect.ImmutableSet;
-import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ArrayQueue;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
@@ -42,8 +42,6 @@ import org.sosy_lab.cpachecker.cfa.ast.AIdExpression;
 import org.sosy_lab.cpachecker.cfa.ast.AStatement;
 import org.sosy_lab.cpachecker.cfa.model.AStatementEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
-import org.sosy_lab.cpachecker.cfa.model.CFANode;
-import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
 import org.sosy_lab.cpachecker.cfa.model.c.CAssumeEdge;
 import org.sosy_lab.cpachecker.core.defaults.SingleEdgeTransferRelation;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
@@ -57,6 +55,7 @@ import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.conditional.ConditionalDepGraph;
 import org.sosy_lab.cpachecker.util.dependence.conditional.ConditionalDepGraphBuilder;
+import org.sosy_lab.cpachecker.util.edgeaccess.EdgeAccessSummaries;
 
 @Options(prefix = "cpa.por.bippor")
 public class BIPPORTransferRelation extends SingleEdgeTransferRelation {
@@ -73,9 +72,11 @@ public class BIPPORTransferRelation extends SingleEdgeTransferRelation {
   private boolean useOptKEPHRemove = false;
 
   // Key Event: an event is called a key event if it need to access variables.
-  private Set<Integer> keyEventCache = new HashSet<>();
-  // explored key event paths. (shared with BIPPORPrecisionAdjustment)
-  private Set<Integer> expdKEPCache = new HashSet<>();
+  // (indexed by the edge id)
+  private BitSet keyEventCache = new BitSet();
+  // explored key event paths. (shared with BIPPORPrecisionAdjustment, which may update it while
+  // successors are computed by other threads)
+  private Set<Integer> expdKEPCache = ConcurrentHashMap.newKeySet();
 
   public BIPPORTransferRelation(
       Configuration pConfig,
@@ -91,44 +92,16 @@ public class BIPPORTransferRelation extends SingleEdgeTransferRelation {
     keyEventCache = useOptKEPHRemove ? extractKeyEvents(pLogger, pCfa) : keyEventCache;
   }
 
-  private Set<Integer> extractKeyEvents(LogManager pLogger, CFA pCfa) {
-    EdgeEvaluationExtractor extractor = new EdgeEvaluationExtractor(pLogger);
-    Set<Integer> result = new HashSet<>();
-
-    // get entry point of all the functions in the given program.
-    Iterator<FunctionEntryNode> funcIter = pCfa.getAllFunctionHeads().iterator();
-    Set<Integer> finishedEdges = new HashSet<>();
-    // iteratively process each function.
-    while (funcIter.hasNext()) {
-      FunctionEntryNode func = funcIter.next();
-      Queue<CFAEdge> edgeQueue = new ArrayQueue<>();
-
-      // bfs strategy.
-      edgeQueue.add(func.getLeavingEdge(0));
-      while (!edgeQueue.isEmpty()) {
-        CFAEdge edge = edgeQueue.remove();
-        Integer edgeHash = edge.hashCode();
-
-        // this edge is not processed.
-        if (!finishedEdges.contains(edgeHash)) {
-          // get the evaluation information.
-          // if no variable is evaluated, then it's not a key event.
-          if (!extractor.extractEdgeEvaluationInfo(edge).isEmpty()) {
-            result.add(edgeHash);
-          }
-          finishedEdges.add(edgeHash);
-
-          // System.out.println(edge + "\t" + result.get(edgeHash));
-
-          // process its successor edge.
-          CFANode edgeSucNode = edge.getSuccessor();
-          for (int i = 0; i < edgeSucNode.getNumLeavingEdges(); ++i) {
-            edgeQueue.add(edgeSucNode.getLeavingEdge(i));
-          }
-        }
+  private BitSet extractKeyEvents(LogManager pLogger, CFA pCfa) {
+    EdgeAccessSummaries summaries = EdgeAccessSummaries.forCFA(pLogger, pCfa);
+    int edgeNum = summaries.getEdgeNumbering().size();
+    BitSet result = new BitSet(edgeNum);
+    // if no variable is evaluated, then it's not a key event.
+    for (int edgeId = 0; edgeId < edgeNum; ++edgeId) {
+      if (summaries.getSummary(edgeId).isKeyEvent()) {
+        result.set(edgeId);
       }
     }
-
     return result;
   }
 
@@ -185,14 +158,12 @@ public class BIPPORTransferRelation extends SingleEdgeTransferRelation {
     int oldKeyEventPathHash = newKephState.getKeyEventPathHash();
 
     // current action is not a key event, we only inherit the key event path hash from the old one.
-    if (!keyEventCache.contains(pEdge.hashCode())) {
+    int edgeId = condDepGraph.getEdgeId(pEdge);
+    if (edgeId < 0 || !keyEventCache.get(edgeId)) {
       newKephState.setNeedRemove(false);
     } else {
       int newKeyEventPathHash =
-          (String.valueOf(oldKeyEventPathHash).toString()
-              + pEdge.hashCode()
-              + ""
-              + pEdge.toString().hashCode()).hashCode();
+          Objects.hash(oldKeyEventPathHash, edgeId, pEdge.toString().hashCode());
 
       if (expdKEPCache.contains(newKeyEventPathHash)) {
         // old key-event path, it should be removed.
@@ -232,7 +203,7 @@ public class BIPPORTransferRelation extends SingleEdgeTransferRelation {
   public EdgeType determineEdgeType(final CFAEdge pEdge) {
     assert pEdge != null;
 
-    if (condDepGraph.contains(pEdge.hashCode()) || isThreadCreationEdge(pEdge)) {
+    if (condDepGraph.contains(pEdge) || isThreadCreationEdge(pEdge)) {
       return EdgeType.GVAEdge;
     } else if (pEdge instanceof CAssumeEdge) {
       return EdgeType.NAEdge;
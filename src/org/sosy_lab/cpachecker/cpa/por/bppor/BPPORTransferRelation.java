@@ -201,7 +201,7 @@ public class BPPORTransferRelation extends SingleEdgeTransferRelation {
 
   private boolean isBlockEndState(final PeepholeState pState) {
     CFAEdge procEdge = pState.getProcEdge();
-    return (condDepGraph.getBlockDGNode(procEdge.hashCode()) != null)
+    return (condDepGraph.getBlockDGNode(procEdge) != null)
         || isImportantForThreading(procEdge)
         || isReturnEdge(procEdge);
   }
@@ -209,8 +209,8 @@ public class BPPORTransferRelation extends SingleEdgeTransferRelation {
   public boolean canSkip(final PeepholeState pPreState, final PeepholeState pCurState) {
     if (pPreState != null) {
       CFAEdge preEdge = pPreState.getProcEdge(), curEdge = pCurState.getProcEdge();
-      DGNode depPreNode = condDepGraph.getBlockDGNode(preEdge.hashCode()),
-          depCurNode = condDepGraph.getBlockDGNode(curEdge.hashCode());
+      DGNode depPreNode = condDepGraph.getBlockDGNode(preEdge),
+          depCurNode = condDepGraph.getBlockDGNode(curEdge);
       int preTid = pPreState.getProcessEdgeThreadId(), curTid = pCurState.getProcessEdgeThreadId();
       boolean isPreReturnEdge = isReturnEdge(preEdge);
 
@@ -249,8 +249,8 @@ public class CBIPPORPrecisionAdjustment implements PrecisionAdjustment {
       return false;
     }
 
-    DGNode depPreNode = condDepGraph.getDGNode(pPreEdge.hashCode()),
-        depSucNode = condDepGraph.getDGNode(pSucEdge.hashCode());
+    DGNode depPreNode = condDepGraph.getDGNode(pPreEdge),
+        depSucNode = condDepGraph.getDGNode(pSucEdge);
 
     // System.out.println("depPreNode: " + depPreNode + ", depSucNode: " + depSucNode);
 
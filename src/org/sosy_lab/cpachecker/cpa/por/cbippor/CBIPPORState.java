@@ -10,16 +10,14 @@ package org.sosy_lab.cpachecker.cpa.por.cbippor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.cpa.locations.LocationsState;
 import org.sosy_lab.cpachecker.cpa.por.EdgeType;
+import org.sosy_lab.cpachecker.cpa.por.SleepSet;
 import org.sosy_lab.cpachecker.cpa.por.ppor.PeepholeWithComputeState;
-import org.sosy_lab.cpachecker.util.Pair;
 
 public class CBIPPORState implements AbstractState {
 
@@ -27,7 +25,7 @@ public class CBIPPORState implements AbstractState {
   private PeepholeWithComputeState curState;
   private EdgeType transferInEdgeType;
   // {<thread_id, transfer_edgehash>, ...}
-  private Set<Pair<Integer, Integer>> sleepSet;
+  private SleepSet sleepSet;
   private boolean sleepSetUpdate;
 
   public static CBIPPORState
@@ -37,19 +35,19 @@ public class CBIPPORState implements AbstractState {
     PeepholeWithComputeState tmpCurState =
         PeepholeWithComputeState.getInitialInstance(pInitNode, pMainThreadId, pIsFollowFunCalls);
 
-    return new CBIPPORState(null, tmpCurState, EdgeType.NEdge, new HashSet<>(), false);
+    return new CBIPPORState(null, tmpCurState, EdgeType.NEdge, SleepSet.empty(), false);
   }
 
   public CBIPPORState(
       PeepholeWithComputeState pPreGVAState,
       PeepholeWithComputeState pCurState,
       EdgeType pTransferInEdgeType,
-      Set<Pair<Integer, Integer>> pSleep,
+      SleepSet pSleep,
       boolean pSleepSetUpdate) {
     preGVAState = pPreGVAState;
     curState = checkNotNull(pCurState);
     transferInEdgeType = checkNotNull(pTransferInEdgeType);
-    sleepSet = new HashSet<>(pSleep);
+    sleepSet = checkNotNull(pSleep);
     sleepSetUpdate = pSleepSetUpdate;
   }
 
@@ -130,7 +128,7 @@ public class CBIPPORState implements AbstractState {
     return curState.getThreadIdNumbers();
   }
 
-  public Set<Pair<Integer, Integer>> getSleepSet() {
+  public SleepSet getSleepSet() {
     return sleepSet;
   }
 
@@ -142,20 +140,12 @@ public class CBIPPORState implements AbstractState {
     sleepSetUpdate = pSleepSetUpdate;
   }
 
-  public void addThreadIntoSleep(Pair<Integer, Integer> pThreadHashPair) {
-    sleepSet.add(pThreadHashPair);
+  public void addThreadIntoSleep(int pThreadId, int pEdgeHash) {
+    sleepSet = sleepSet.add(pThreadId, pEdgeHash);
   }
 
-  public void addThreadIntoSleep(Integer pThreadId, Integer pEdgeHash) {
-    sleepSet.add(Pair.of(pThreadId, pEdgeHash));
-  }
-
-  public boolean containsSleepThreadHash(Pair<Integer, Integer> pThreadHashPair) {
-    return sleepSet.contains(pThreadHashPair);
-  }
-
-  public boolean containsSleepThreadHash(Integer pThreadId, Integer pEdgeHash) {
-    return sleepSet.contains(Pair.of(pThreadId, pEdgeHash));
+  public boolean containsSleepThreadHash(int pThreadId, int pEdgeHash) {
+    return sleepSet.contains(pThreadId, pEdgeHash);
   }
 
   public int getThreadIdNumber(String pThreadName) {
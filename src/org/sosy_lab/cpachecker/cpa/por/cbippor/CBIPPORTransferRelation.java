@@ -13,7 +13,6 @@ import static com.google.common.collect.FluentIterable.from;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import org.sosy_lab.common.configuration.Configuration;
@@ -35,6 +34,7 @@ import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.cpa.locations.LocationsCPA;
 import org.sosy_lab.cpachecker.cpa.locations.LocationsState;
 import org.sosy_lab.cpachecker.cpa.por.EdgeType;
+import org.sosy_lab.cpachecker.cpa.por.SleepSet;
 import org.sosy_lab.cpachecker.cpa.por.ppor.PeepholeWithComputeState;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 import org.sosy_lab.cpachecker.util.Pair;
@@ -95,7 +95,7 @@ public class CBIPPORTransferRelation extends SingleEdgeTransferRelation {
                   newThreadIdNumbers,
                   null),
               determineEdgeType(pCfaEdge),
-              new HashSet<>(),
+              SleepSet.empty(),
               false));
     }
   }
@@ -126,7 +126,7 @@ public class CBIPPORTransferRelation extends SingleEdgeTransferRelation {
   public EdgeType determineEdgeType(final CFAEdge pEdge) {
     assert pEdge != null;
 
-    if (condDepGraph.contains(pEdge.hashCode()) || isThreadCreationEdge(pEdge)) {
+    if (condDepGraph.contains(pEdge) || isThreadCreationEdge(pEdge)) {
       return EdgeType.GVAEdge;
     } else if (pEdge instanceof CAssumeEdge) {
       return EdgeType.NAEdge;
@@ -92,7 +92,7 @@ public class IPORTransferRelation extends SingleEdgeTransferRelation {
   public EdgeType determineEdgeType(final CFAEdge pEdge) {
     assert pEdge != null;
 
-    if (condDepGraph.contains(pEdge.hashCode()) || isThreadCreationEdge(pEdge)) {
+    if (condDepGraph.contains(pEdge) || isThreadCreationEdge(pEdge)) {
       return EdgeType.GVAEdge;
     } else if (pEdge instanceof CAssumeEdge) {
       return EdgeType.NAEdge;
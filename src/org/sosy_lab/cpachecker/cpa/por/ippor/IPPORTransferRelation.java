@@ -154,7 +154,7 @@ public class IPPORTransferRelation extends SingleEdgeTransferRelation {
   public EdgeType determineEdgeType(final CFAEdge pEdge) {
     assert pEdge != null;
 
-    if (condDepGraph.contains(pEdge.hashCode()) || isThreadCreationEdge(pEdge)) {
+    if (condDepGraph.contains(pEdge) || isThreadCreationEdge(pEdge)) {
       return EdgeType.GVAEdge;
     } else if (pEdge instanceof CAssumeEdge) {
       return EdgeType.NAEdge;
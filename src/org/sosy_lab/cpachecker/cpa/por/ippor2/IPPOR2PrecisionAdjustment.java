@@ -264,8 +264,8 @@ public class IPPOR2PrecisionAdjustment implements PrecisionAdjustment {
       int pSucTid,
       CFAEdge pSucEdge,
       boolean pThreadCreatedOrExited) {
-    DGNode depPreNode = condDepGraph.getDGNode(pPreEdge.hashCode()),
-        depSucNode = condDepGraph.getDGNode(pSucEdge.hashCode());
+    DGNode depPreNode = condDepGraph.getDGNode(pPreEdge),
+        depSucNode = condDepGraph.getDGNode(pSucEdge);
 
     if (!pThreadCreatedOrExited
         && !((pSucEdge.getPredecessor() instanceof FunctionEntryNode)
@@ -196,8 +196,8 @@ public class LPPORTransferRelation extends SingleEdgeTransferRelation {
       return false;
     }
 
-    DGNode depPreNode = condDepGraph.getBlockDGNode(pPreEdge.hashCode()),
-        depSucNode = condDepGraph.getBlockDGNode(pSucEdge.hashCode());
+    DGNode depPreNode = condDepGraph.getBlockDGNode(pPreEdge),
+        depSucNode = condDepGraph.getBlockDGNode(pSucEdge);
 
     // we perform the PPOR step only when the precursor edge and the successor edge are both
     // potential-conflict block.
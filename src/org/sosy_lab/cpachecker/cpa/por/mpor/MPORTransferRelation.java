@@ -329,8 +329,8 @@ public class MPORTransferRelation extends SingleEdgeTransferRelation {
       return false;
     } else {
       return (condDepGraph.dep(
-              condDepGraph.getBlockDGNode(threadLInEdge.hashCode()),
-              condDepGraph.getBlockDGNode(threadIInEdge.hashCode())))
+              condDepGraph.getBlockDGNode(threadLInEdge),
+              condDepGraph.getBlockDGNode(threadIInEdge)))
           != null;
     }
   }
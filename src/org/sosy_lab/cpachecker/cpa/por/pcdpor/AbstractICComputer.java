@@ -8,11 +8,80 @@
 
 package org.sosy_lab.cpachecker.cpa.por.pcdpor;
 
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.conditional.CondDepConstraints;
+import org.sosy_lab.cpachecker.util.predicates.regions.Region;
 
 public abstract class AbstractICComputer {
 
+  protected final PCDPORStatistics statistics;
+
+  // the compiled region of each constraint, the constraints are the (stable) instances of the
+  // conditional dependence graph. an empty region means that the constraint could not be compiled.
+  private final Map<CondDepConstraints, Optional<Region>> icRegionCache = new IdentityHashMap<>();
+  // (state region, constraint region) -> whether the two transitions are dependent. sibling
+  // successors share the state region of their parent, so they can reuse the result.
+  private final Map<Pair<Region, Region>, Boolean> depCache;
+
+  protected AbstractICComputer(PCDPORStatistics pStatistics, int pDepCacheSize) {
+    statistics = pStatistics;
+    depCache =
+        new LinkedHashMap<>(16, 0.75f, true) {
+
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Pair<Region, Region>, Boolean> pEldest) {
+            return size() > pDepCacheSize;
+          }
+        };
+  }
+
   public abstract boolean computeDep(CondDepConstraints pICs, AbstractState pState);
 
+  /**
+   * Get the compiled region of the given constraints.
+   *
+   * @return The region, or empty if the constraints cannot be compiled.
+   */
+  protected Optional<Region> getICRegion(CondDepConstraints pICs, AbstractState pState) {
+    Optional<Region> icRegion = icRegionCache.get(pICs);
+    if (icRegion != null) {
+      statistics.icRegionCacheHits.inc();
+      return icRegion;
+    }
+
+    statistics.icRegionCacheMisses.inc();
+    icRegion = Optional.ofNullable(compileICRegion(pICs, pState));
+    icRegionCache.put(pICs, icRegion);
+    return icRegion;
+  }
+
+  /**
+   * Compile the given constraints into a region, this is only called once for each constraint. The
+   * state is only used to access the region managers.
+   *
+   * @return The region, or null if the constraints cannot be compiled.
+   */
+  protected abstract Region compileICRegion(CondDepConstraints pICs, AbstractState pState);
+
+  /** Get the cached dependence result for the given regions, or null if it is not cached. */
+  protected Boolean getCachedDep(Region pStateRegion, Region pICRegion) {
+    Boolean isDep = depCache.get(Pair.of(pStateRegion, pICRegion));
+    if (isDep != null) {
+      statistics.depCacheHits.inc();
+    } else {
+      statistics.depCacheMisses.inc();
+    }
+    return isDep;
+  }
+
+  protected void cacheDep(Region pStateRegion, Region pICRegion, boolean pIsDep) {
+    depCache.put(Pair.of(pStateRegion, pICRegion), pIsDep);
+  }
 }
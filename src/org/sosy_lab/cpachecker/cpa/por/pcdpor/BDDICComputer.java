@@ -8,6 +8,7 @@
 
 package org.sosy_lab.cpachecker.cpa.por.pcdpor;
 
+import java.util.Optional;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
 import org.sosy_lab.cpachecker.cfa.types.MachineModel;
@@ -26,14 +27,14 @@ public class BDDICComputer extends AbstractICComputer {
 
   private final PredicateManager predmgr;
   private final MachineModel machineModel;
-  private final PCDPORStatistics statistics;
 
-  public BDDICComputer(CFA pCfa, PredicateManager pPredmgr, PCDPORStatistics pStatistics) {
+  public BDDICComputer(
+      CFA pCfa, PredicateManager pPredmgr, PCDPORStatistics pStatistics, int pDepCacheSize) {
+    super(pStatistics, pDepCacheSize);
     assert pCfa.getVarClassification().isEmpty();
 
     predmgr = pPredmgr;
     machineModel = pCfa.getMachineModel();
-    statistics = pStatistics;
   }
 
   @Override
@@ -46,23 +47,27 @@ public class BDDICComputer extends AbstractICComputer {
       assert (!pICs.isUnCondDep());
       // System.out.println("compute ic.");
 
-      // create a dummy assume for this expression.
-      Pair<CExpression, String> ic = pICs.getConstraints().iterator().next();
+      Optional<Region> icRegion = getICRegion(pICs, bddState);
 
-      final Region[] expRegion = computeExpRegion(ic.getFirst(), bddState.getBvmgr(), predmgr);
-
-      if (expRegion != null) {
-        Region evaluated = bddState.getBvmgr().makeOr(expRegion);
+      if (icRegion.isPresent()) {
+        Region evaluated = icRegion.orElseThrow();
+        Boolean cachedDep = getCachedDep(bddState.getRegion(), evaluated);
+        if (cachedDep != null) {
+          statistics.pcdporComputeDepTimer.stop();
+          return cachedDep;
+        }
 
         NamedRegionManager rmgr = bddState.getManager();
         try {
           if (rmgr.entails(bddState.getRegion(), evaluated)) {
             // System.out.println("compute result: entailed -> conditional dependent");
+            cacheDep(bddState.getRegion(), evaluated, false);
             statistics.pcdporComputeDepTimer.stop();
             statistics.depConstraintsEntailTimes.inc();
             return false;
           } else {
             // System.out.println("compute result: not entailed-> conditional dependent");
+            cacheDep(bddState.getRegion(), evaluated, true);
             statistics.pcdporComputeDepTimer.stop();
             statistics.depConstraintsNotEntailTimes.inc();
             return true;
@@ -88,6 +93,17 @@ public class BDDICComputer extends AbstractICComputer {
     }
   }
 
+  @Override
+  protected Region compileICRegion(CondDepConstraints pICs, AbstractState pState) {
+    BitvectorManager bvmgr = ((BDDState) pState).getBvmgr();
+
+    // create a dummy assume for this expression.
+    Pair<CExpression, String> ic = pICs.getConstraints().iterator().next();
+
+    final Region[] expRegion = computeExpRegion(ic.getFirst(), bvmgr, predmgr);
+    return expRegion != null ? bvmgr.makeOr(expRegion) : null;
+  }
+
   private Region[]
       computeExpRegion(CExpression pExp, BitvectorManager pBvMgr, PredicateManager pPredMgr) {
     Region[] value = null;
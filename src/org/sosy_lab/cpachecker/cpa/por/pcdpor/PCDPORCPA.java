@@ -11,6 +11,7 @@ package org.sosy_lab.cpachecker.cpa.por.pcdpor;
 import java.util.Collection;
 import java.util.Optional;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -39,6 +40,7 @@ public class PCDPORCPA extends AbstractCPA
 
   private final CFA cfa;
   private final Configuration config;
+  private final LogManager logger;
 
   private final PCDPORStatistics statistics;
   private final PCDPORCPAStatistics stats;
@@ -60,6 +62,20 @@ public class PCDPORCPA extends AbstractCPA
       values = {"BDD", "PREDICATE"},
       toUppercase = true)
   private String depComputationStateType = "BDD";
+
+  @Option(
+    secure = true,
+    description = "The maximum number of (state region, constraint) pairs whose dependency "
+        + "result is cached (least recently used entries are evicted, 0 disables the cache).")
+  @IntegerOption(min = 0)
+  private int depCacheSize = 10000;
+
+  @Option(
+    secure = true,
+    description = "With this option enabled, the sleep set of a global access successor is only "
+        + "computed when the successor itself is expanded, instead of checking all the pairs of "
+        + "global access successors at once.")
+  private boolean lazySleepSet = false;
   
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(PCDPORCPA.class);
@@ -76,6 +92,7 @@ public class PCDPORCPA extends AbstractCPA
 
     cfa = pCfa;
     config = pConfig;
+    logger = pLogger;
 
     statistics = new PCDPORStatistics();
     stats = new PCDPORCPAStatistics(statistics);
@@ -101,15 +118,18 @@ public class PCDPORCPA extends AbstractCPA
 
           return new PCDPORPrecisionAdjustment(
               GlobalInfo.getInstance().getEdgeInfo().getCondDepGraph(),
-              new BDDICComputer(cfa, new PredicateManager(config, manager, cfa), statistics),
-              statistics);
+              new BDDICComputer(
+                  cfa, new PredicateManager(config, manager, cfa), statistics, depCacheSize),
+              statistics,
+              lazySleepSet);
         } else if (depComputationStateType.equals("PREDICATE")) {
           PredicateCPA predCpa = retriveCPA(optCPAs.get(), PredicateCPA.class);
 
           return new PCDPORPrecisionAdjustment(
               GlobalInfo.getInstance().getEdgeInfo().getCondDepGraph(),
-              new PredicateICComputer(predCpa, statistics),
-              statistics);
+              new PredicateICComputer(predCpa, logger, statistics, depCacheSize),
+              statistics,
+              lazySleepSet);
         } else {
           throw new InvalidConfigurationException(
               "Invalid Configuration: not support for the type of constrained dependency computation: '"
@@ -34,6 +34,11 @@ public class PCDPORCPAStatistics implements Statistics {
     pOut.println("   Entail:        " + statistics.depConstraintsEntailTimes.getUpdateCount());
     pOut.println("   Not Entail:    " + statistics.depConstraintsNotEntailTimes.getUpdateCount());
     pOut.println("   Other Cases:   " + statistics.depConstraintsOtherCaseTimes.getUpdateCount());
+    pOut.println("PCDPOR dependency cache information: ");
+    pOut.println("   Region Hits:   " + statistics.icRegionCacheHits.getUpdateCount());
+    pOut.println("   Region Misses: " + statistics.icRegionCacheMisses.getUpdateCount());
+    pOut.println("   Result Hits:   " + statistics.depCacheHits.getUpdateCount());
+    pOut.println("   Result Misses: " + statistics.depCacheMisses.getUpdateCount());
     pOut.println("PCDPOR check skip information: ");
     pOut.println(
         "   Check Times:                                       "
@@ -33,7 +33,6 @@ import org.sosy_lab.cpachecker.cpa.bdd.BDDState;
 import org.sosy_lab.cpachecker.cpa.por.EdgeType;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
-import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.DGNode;
 import org.sosy_lab.cpachecker.util.dependence.conditional.CondDepConstraints;
 import org.sosy_lab.cpachecker.util.dependence.conditional.ConditionalDepGraph;
@@ -44,6 +43,7 @@ public class PCDPORPrecisionAdjustment implements PrecisionAdjustment {
   private final Map<Integer, Integer> nExploredChildCache;
   private final AbstractICComputer icComputer;
   private final PCDPORStatistics statistics;
+  private final boolean lazySleepSet;
 
   private static final Function<ARGState, Set<ARGState>> gvaEdgeFilter =
       (s) -> from(s.getChildren()).filter(
@@ -67,12 +67,14 @@ public class PCDPORPrecisionAdjustment implements PrecisionAdjustment {
   public PCDPORPrecisionAdjustment(
       ConditionalDepGraph pCondDepGraph,
       AbstractICComputer pIcComputer,
-      PCDPORStatistics pStatistics) {
+      PCDPORStatistics pStatistics,
+      boolean pLazySleepSet) {
     condDepGraph =
         checkNotNull(pCondDepGraph, "Please enable the option: utils.edgeinfo.buildDepGraph!");
     nExploredChildCache = new HashMap<>();
     icComputer = pIcComputer;
     statistics = pStatistics;
+    lazySleepSet = pLazySleepSet;
   }
 
   @Override
@@ -97,6 +99,11 @@ public class PCDPORPrecisionAdjustment implements PrecisionAdjustment {
           cpdporParState = AbstractStates.extractStateByType(argParState, PCDPORState.class);
       int argParStateId = argParState.getStateId();
 
+      // the sleep set of the parent state is used from now on, so it should be complete.
+      if (cpdporParState.hasPendingSleepSources()) {
+        computePendingSleepSet(argParState, cpdporParState);
+      }
+
       // get all the type of successors of the argParState.
       Set<ARGState> gvaSuccessors = gvaEdgeFilter.apply(argParState);
       Set<ARGState> naSuccessors = naEdgeFilter.apply(argParState);
@@ -154,31 +161,33 @@ public class PCDPORPrecisionAdjustment implements PrecisionAdjustment {
                 from(gvaSuccessors)
                     .transform(s -> AbstractStates.extractStateByType(s, PCDPORState.class))
                     .toList();
-            // obtain parent computation state to determine the dependency of successor transitions.
-            AbstractState parComputeState = null;
-            if (icComputer instanceof BDDICComputer) {
-              parComputeState = AbstractStates.extractStateByType(argParState, BDDState.class);
-            } else if (icComputer instanceof PredicateICComputer) {
-              parComputeState = argParState;
+            if (lazySleepSet) {
+              // the sleep set of a successor is only computed when its own successors are
+              // explored, i.e., the successors that are never expanded need no dependency checks.
+              for (int j = 1; j < updateGVASuccessors.size(); ++j) {
+                updateGVASuccessors
+                    .get(j)
+                    .setPendingSleepSources(updateGVASuccessors.subList(0, j));
+              }
             } else {
-              throw new CPAException("Unsupported ICComputer: " + icComputer.getClass().toString());
-            }
+              AbstractState parComputeState = getComputeState(argParState);
 
-            for (int i = 0; i < updateGVASuccessors.size() - 1; ++i) {
-              PCDPORState cpdporAState = updateGVASuccessors.get(i);
-              CFAEdge cpdporAStateEdge = cpdporAState.getCurrentTransferInEdge();
-              int cpdporAStateThrdId = cpdporAState.getCurrentTransferInEdgeThreadId();
+              for (int i = 0; i < updateGVASuccessors.size() - 1; ++i) {
+                PCDPORState cpdporAState = updateGVASuccessors.get(i);
+                CFAEdge cpdporAStateEdge = cpdporAState.getCurrentTransferInEdge();
+                int cpdporAStateThrdId = cpdporAState.getCurrentTransferInEdgeThreadId();
 
-              for (int j = i + 1; j < updateGVASuccessors.size(); ++j) {
-                PCDPORState cpdporBState = updateGVASuccessors.get(j);
-                CFAEdge cpdporBStateEdge = cpdporBState.getCurrentTransferInEdge();
+                for (int j = i + 1; j < updateGVASuccessors.size(); ++j) {
+                  PCDPORState cpdporBState = updateGVASuccessors.get(j);
+                  CFAEdge cpdporBStateEdge = cpdporBState.getCurrentTransferInEdge();
 
-                // determine whether the transfer-info of A-state is independent with the
-                // transfer-info of B-state.
-                if (canSkip(cpdporAStateEdge, cpdporBStateEdge, parComputeState)) {
-                  // the transfer-info of A-state can avoid.
-                  cpdporBState
-                      .addThreadInfoSleep(Pair.of(cpdporAStateThrdId, cpdporAStateEdge.hashCode()));
+                  // determine whether the transfer-info of A-state is independent with the
+                  // transfer-info of B-state.
+                  if (canSkip(cpdporAStateEdge, cpdporBStateEdge, parComputeState)) {
+                    // the transfer-info of A-state can avoid.
+                    cpdporBState.addThreadInfoSleep(
+                        cpdporAStateThrdId, condDepGraph.getEdgeId(cpdporAStateEdge));
+                  }
                 }
               }
             }
@@ -188,11 +197,8 @@ public class PCDPORPrecisionAdjustment implements PrecisionAdjustment {
 
         // check whether current transfer-in edge is in the sleep set of parent state.
         int curTransInThreadId = cpdporCurState.getCurrentTransferInEdgeThreadId();
-        Pair<Integer, Integer> curTransInfo =
-            Pair.of(
-                curTransInThreadId,
-                cpdporCurStateInEdge.hashCode());
-        if (cpdporParState.isInSleepSet(curTransInfo)) {
+        if (cpdporParState.isInSleepSet(
+            curTransInThreadId, condDepGraph.getEdgeId(cpdporCurStateInEdge))) {
           statistics.realRedundantTimes.inc();
           statistics.avoidExplorationTimes.inc();
           return Optional.empty();
@@ -213,10 +219,45 @@ public class PCDPORPrecisionAdjustment implements PrecisionAdjustment {
             .create(pState, pPrecision, PrecisionAdjustmentResult.Action.CONTINUE));
   }
 
+  /**
+   * Obtain the computation state of the given ARG state that is used to determine the dependency
+   * of its successor transitions.
+   */
+  private AbstractState getComputeState(ARGState pARGState) throws CPAException {
+    if (icComputer instanceof BDDICComputer) {
+      return AbstractStates.extractStateByType(pARGState, BDDState.class);
+    } else if (icComputer instanceof PredicateICComputer) {
+      return pARGState;
+    } else {
+      throw new CPAException("Unsupported ICComputer: " + icComputer.getClass().toString());
+    }
+  }
+
+  /**
+   * Add the transfer-in edges of the pending siblings of the given state into its sleep set, if
+   * they are independent with the transfer-in edge of this state at their common parent state.
+   * This gives the same sleep set as the eager computation in {@link #prec}.
+   */
+  private void computePendingSleepSet(ARGState pARGState, PCDPORState pState)
+      throws CPAException {
+    AbstractState parComputeState = getComputeState(pARGState.getParents().iterator().next());
+    CFAEdge cpdporBStateEdge = pState.getCurrentTransferInEdge();
+
+    for (PCDPORState cpdporAState : pState.getPendingSleepSources()) {
+      CFAEdge cpdporAStateEdge = cpdporAState.getCurrentTransferInEdge();
+      if (canSkip(cpdporAStateEdge, cpdporBStateEdge, parComputeState)) {
+        pState.addThreadInfoSleep(
+            cpdporAState.getCurrentTransferInEdgeThreadId(),
+            condDepGraph.getEdgeId(cpdporAStateEdge));
+      }
+    }
+    pState.setPendingSleepSources(null);
+  }
+
   private boolean canSkip(CFAEdge pCheckEdge, CFAEdge pCurEdge, AbstractState pComputeState) {
     statistics.checkSkipTimes.inc();
-    DGNode depCheckNode = condDepGraph.getDGNode(pCheckEdge.hashCode()),
-        depCurNode = condDepGraph.getDGNode(pCurEdge.hashCode());
+    DGNode depCheckNode = condDepGraph.getDGNode(pCheckEdge),
+        depCurNode = condDepGraph.getDGNode(pCurEdge);
 
     // we do cannot determine the dependency of thread creation edges.
     boolean containThreadCreationEdge =
@@ -8,24 +8,26 @@
 
 package org.sosy_lab.cpachecker.cpa.por.pcdpor;
 
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.cpa.locations.LocationsState;
 import org.sosy_lab.cpachecker.cpa.por.EdgeType;
+import org.sosy_lab.cpachecker.cpa.por.SleepSet;
 import org.sosy_lab.cpachecker.cpa.por.ppor.PeepholeState;
-import org.sosy_lab.cpachecker.util.Pair;
 
 public class PCDPORState implements AbstractState {
 
   private PeepholeState curState;
   private EdgeType transferInEdgeType;
   // {<thread_id, transfer_edgehash>, ...}
-  private Set<Pair<Integer, Integer>> sleepSet;
+  private SleepSet sleepSet;
   private boolean isUpdated;
+  // the sibling states whose transfer-in edges still need to be checked against the transfer-in
+  // edge of this state before its sleep set is used (only for the lazy sleep set computation).
+  private List<PCDPORState> pendingSleepSources;
 
   public static PCDPORState
       getInitialInstance(CFANode pInitNode, String pMainThreadId, boolean pIsFollowFunCalls) {
@@ -34,13 +36,13 @@ public class PCDPORState implements AbstractState {
     PeepholeState tmpCurState =
         PeepholeState.getInitialInstance(pInitNode, pMainThreadId, pIsFollowFunCalls);
 
-    return new PCDPORState(tmpCurState, EdgeType.NEdge, new HashSet<>(), false);
+    return new PCDPORState(tmpCurState, EdgeType.NEdge, SleepSet.empty(), false);
   }
 
   public PCDPORState(
       PeepholeState pCurState,
       EdgeType pTransferInEdgeType,
-      Set<Pair<Integer, Integer>> pSleepSet,
+      SleepSet pSleepSet,
       boolean pIsUpdated) {
     curState = pCurState;
     transferInEdgeType = pTransferInEdgeType;
@@ -103,24 +105,36 @@ public class PCDPORState implements AbstractState {
     return transferInEdgeType;
   }
 
-  public boolean isInSleepSet(Pair<Integer, Integer> pTransEdgeInfo) {
-    return sleepSet.contains(pTransEdgeInfo);
+  public boolean isInSleepSet(int pThreadId, int pEdgeHash) {
+    return sleepSet.contains(pThreadId, pEdgeHash);
   }
 
-  public Set<Pair<Integer, Integer>> getSleepSet() {
+  public SleepSet getSleepSet() {
     return sleepSet;
   }
 
-  public void setSleepSet(Set<Pair<Integer, Integer>> pSleepSet) {
+  public void setSleepSet(SleepSet pSleepSet) {
     sleepSet = pSleepSet;
   }
 
-  public void addThreadInfoSleep(Pair<Integer, Integer> pThreadHashPair) {
-    sleepSet.add(pThreadHashPair);
+  public void addThreadInfoSleep(int pThreadId, int pEdgeHash) {
+    sleepSet = sleepSet.add(pThreadId, pEdgeHash);
   }
 
-  public void removeFromSleepSet(Pair<Integer, Integer> pInEdgeInfo) {
-    sleepSet.remove(pInEdgeInfo);
+  public void removeFromSleepSet(int pThreadId, int pEdgeHash) {
+    sleepSet = sleepSet.remove(pThreadId, pEdgeHash);
+  }
+
+  public boolean hasPendingSleepSources() {
+    return pendingSleepSources != null;
+  }
+
+  public List<PCDPORState> getPendingSleepSources() {
+    return pendingSleepSources;
+  }
+
+  public void setPendingSleepSources(List<PCDPORState> pPendingSleepSources) {
+    pendingSleepSources = pPendingSleepSources;
   }
 
   public CFAEdge getCurrentTransferInEdge() {
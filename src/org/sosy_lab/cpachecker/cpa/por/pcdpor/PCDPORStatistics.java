@@ -35,6 +35,11 @@ public class PCDPORStatistics {
       new StatCounter("PCDPOR check-skip conditional independent times");
   final StatCounter checkSkipOtherCaseTimes =
       new StatCounter("PCDPOR check-skip failed times (other cases)");
+  final StatCounter icRegionCacheHits = new StatCounter("PCDPOR constraint region cache hits");
+  final StatCounter icRegionCacheMisses = new StatCounter("PCDPOR constraint region cache misses");
+  final StatCounter depCacheHits = new StatCounter("PCDPOR dependency result cache hits");
+  final StatCounter depCacheMisses = new StatCounter("PCDPOR dependency result cache misses");
+
   final StatCounter realRedundantTimes = new StatCounter("PCDPOR real redundant times");
   final StatCounter avoidExplorationTimes = new StatCounter("PCDPOR avoid exploration times");
 }
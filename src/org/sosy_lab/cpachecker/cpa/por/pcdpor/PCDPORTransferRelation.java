@@ -13,7 +13,6 @@ import static com.google.common.collect.FluentIterable.from;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import org.sosy_lab.common.configuration.Configuration;
@@ -35,6 +34,7 @@ import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.cpa.locations.LocationsCPA;
 import org.sosy_lab.cpachecker.cpa.locations.LocationsState;
 import org.sosy_lab.cpachecker.cpa.por.EdgeType;
+import org.sosy_lab.cpachecker.cpa.por.SleepSet;
 import org.sosy_lab.cpachecker.cpa.por.ppor.PeepholeState;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 import org.sosy_lab.cpachecker.util.Pair;
@@ -98,7 +98,7 @@ public class PCDPORTransferRelation extends SingleEdgeTransferRelation {
                   newLocs,
                   newThreadIdNumbers),
               determineEdgeType(pCfaEdge),
-              new HashSet<>(),
+              SleepSet.empty(),
               false));
     }
   }
@@ -137,7 +137,7 @@ public class PCDPORTransferRelation extends SingleEdgeTransferRelation {
       }
     }
 
-    if (condDepGraph.contains(pEdge.hashCode())) {
+    if (condDepGraph.contains(pEdge)) {
       return EdgeType.GVAEdge;
     } else if (pEdge instanceof CAssumeEdge) {
       return EdgeType.NAEdge;
@@ -8,6 +8,8 @@
 
 package org.sosy_lab.cpachecker.cpa.por.pcdpor;
 
+import java.util.Optional;
+import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
@@ -25,9 +27,8 @@ import org.sosy_lab.cpachecker.util.predicates.smt.Solver;
 
 public class PredicateICComputer extends AbstractICComputer {
 
-  private final PCDPORStatistics statistics;
-
   // PredicateICComputer environment.
+  private final LogManager logger;
   private PredicateCPA predCPA;
   private Solver solver;
   private FormulaManagerView fmgr;
@@ -36,9 +37,12 @@ public class PredicateICComputer extends AbstractICComputer {
 
   public PredicateICComputer(
       PredicateCPA pCpa,
-      PCDPORStatistics pStatistics) {
-    statistics = pStatistics;
+      LogManager pLogger,
+      PCDPORStatistics pStatistics,
+      int pDepCacheSize) {
+    super(pStatistics, pDepCacheSize);
 
+    logger = pLogger;
     predCPA = pCpa;
     solver = predCPA.getSolver();
     fmgr = solver.getFormulaManager();
@@ -60,21 +64,27 @@ public class PredicateICComputer extends AbstractICComputer {
         Region stateRegion = predAbsState.getAbstractionFormula().asRegion();
 
         // compute the region of independence constraints.
-        Pair<CExpression, String> ic = pICs.getConstraints().iterator().next();
-        // compute the region of ICs.
-        PathFormula icPathFormula = pfmgr.makeAnd(pfmgr.makeEmptyPathFormula(), ic.getFirst());
-        Region icRegion =
-            amgr.convertFormulaToRegion(fmgr.uninstantiate(icPathFormula.getFormula()));
-
-        // check whether stateRegion entials icRegion.
-        if (amgr.entails(stateRegion, icRegion)) {
-          statistics.pcdporComputeDepTimer.stop();
-          statistics.depConstraintsEntailTimes.inc();
-          return false;
-        } else {
-          statistics.pcdporComputeDepTimer.stop();
-          statistics.depConstraintsNotEntailTimes.inc();
-          return true;
+        Optional<Region> icRegion = getICRegion(pICs, pState);
+
+        if (icRegion.isPresent()) {
+          Boolean cachedDep = getCachedDep(stateRegion, icRegion.orElseThrow());
+          if (cachedDep != null) {
+            statistics.pcdporComputeDepTimer.stop();
+            return cachedDep;
+          }
+
+          // check whether stateRegion entials icRegion.
+          if (amgr.entails(stateRegion, icRegion.orElseThrow())) {
+            cacheDep(stateRegion, icRegion.orElseThrow(), false);
+            statistics.pcdporComputeDepTimer.stop();
+            statistics.depConstraintsEntailTimes.inc();
+            return false;
+          } else {
+            cacheDep(stateRegion, icRegion.orElseThrow(), true);
+            statistics.pcdporComputeDepTimer.stop();
+            statistics.depConstraintsNotEntailTimes.inc();
+            return true;
+          }
         }
       } catch (Exception e) {
         e.printStackTrace();
@@ -92,4 +102,18 @@ public class PredicateICComputer extends AbstractICComputer {
     return true;
   }
 
+  @Override
+  protected Region compileICRegion(CondDepConstraints pICs, AbstractState pState) {
+    try {
+      Pair<CExpression, String> ic = pICs.getConstraints().iterator().next();
+      // compute the region of ICs.
+      PathFormula icPathFormula = pfmgr.makeAnd(pfmgr.makeEmptyPathFormula(), ic.getFirst());
+      return amgr.convertFormulaToRegion(fmgr.uninstantiate(icPathFormula.getFormula()));
+    } catch (Exception e) {
+      // the caller conservatively regards the transitions as dependent.
+      logger.logDebugException(e, "Could not compute the region of the independence constraints");
+      return null;
+    }
+  }
+
 }
@@ -0,0 +1,82 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * Stores the fingerprints of the visited configurations in a Bloom filter of fixed size (bit-state
+ * hashing). The memory is bounded, but a new configuration is regarded as a duplicate if all its
+ * bits were set by other configurations, i.e., the exploration may be incomplete.
+ */
+final class BitStateVisitedStore implements VisitedStore {
+
+  private final long[] bits;
+  private final long mask;
+  private final int hashFunctions;
+  private long numberOfSetBits = 0;
+  private long numberOfAddedKeys = 0;
+
+  /**
+   * Create a new Bloom filter.
+   *
+   * @param pLog2Size The logarithm of the number of bits of the filter.
+   * @param pHashFunctions The number of bits that are set for each fingerprint.
+   */
+  BitStateVisitedStore(int pLog2Size, int pHashFunctions) {
+    checkArgument(pLog2Size >= 6 && pLog2Size <= 36, "unsupported size 2^%s", pLog2Size);
+    checkArgument(pHashFunctions > 0);
+    bits = new long[1 << (pLog2Size - 6)];
+    mask = (1L << pLog2Size) - 1;
+    hashFunctions = pHashFunctions;
+  }
+
+  @Override
+  public boolean add(StateKey pKey) {
+    return add(pKey.getFingerprint());
+  }
+
+  boolean add(long pFingerprint) {
+    // double hashing: the i-th bit is h1 + i * h2, h2 is odd to reach all the bits.
+    long h1 = pFingerprint;
+    long h2 = StateKey.mix64(pFingerprint) | 1;
+    boolean isNew = false;
+    for (int i = 0; i < hashFunctions; ++i) {
+      long index = (h1 + i * h2) & mask;
+      int word = (int) (index >>> 6);
+      long bit = 1L << index;
+      if ((bits[word] & bit) == 0) {
+        bits[word] |= bit;
+        numberOfSetBits++;
+        isNew = true;
+      }
+    }
+    if (isNew) {
+      numberOfAddedKeys++;
+    }
+    return isNew;
+  }
+
+  /** The probability that a new configuration is wrongly regarded as a duplicate. */
+  double getFalsePositiveProbability() {
+    return Math.pow((double) numberOfSetBits / (mask + 1), hashFunctions);
+  }
+
+  @Override
+  public void printStatistics(StatisticsWriter pWriter) {
+    pWriter
+        .put("Number of stored configurations", numberOfAddedKeys)
+        .put("Number of set bits", numberOfSetBits + " of " + (mask + 1))
+        .put(
+            "Probability of false duplicates",
+            String.format("%.2e", getFalsePositiveProbability()));
+  }
+}
@@ -0,0 +1,36 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public class BitStateVisitedStoreTest {
+
+  @Test
+  public void testDuplicatesAreDetected() {
+    BitStateVisitedStore store = new BitStateVisitedStore(16, 3);
+    for (long i = 0; i < 100; ++i) {
+      assertThat(store.add(StateKey.mix64(i))).isTrue();
+    }
+    for (long i = 0; i < 100; ++i) {
+      assertThat(store.add(StateKey.mix64(i))).isFalse();
+    }
+  }
+
+  @Test
+  public void testFalsePositiveProbability() {
+    BitStateVisitedStore store = new BitStateVisitedStore(10, 2);
+    assertThat(store.getFalsePositiveProbability()).isEqualTo(0.0);
+    store.add(42L);
+    assertThat(store.getFalsePositiveProbability()).isGreaterThan(0.0);
+    assertThat(store.getFalsePositiveProbability()).isLessThan(1.0);
+  }
+}
@@ -0,0 +1,32 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * Stores the visited configurations themselves, i.e., two configurations are only regarded as
+ * duplicates if they are equal (and not only their fingerprints).
+ */
+final class ExactVisitedStore implements VisitedStore {
+
+  private final Set<StateKey> visited = new HashSet<>();
+
+  @Override
+  public boolean add(StateKey pKey) {
+    return visited.add(pKey);
+  }
+
+  @Override
+  public void printStatistics(StatisticsWriter pWriter) {
+    pWriter.put("Number of stored configurations", visited.size());
+  }
+}
@@ -0,0 +1,143 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.defaults.AbstractCPA;
+import org.sosy_lab.cpachecker.core.defaults.AutomaticCPAFactory;
+import org.sosy_lab.cpachecker.core.defaults.IdentityTransferRelation;
+import org.sosy_lab.cpachecker.core.defaults.SingletonAbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.CPAFactory;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
+import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.por.cbippor.CBIPPORCPA;
+import org.sosy_lab.cpachecker.cpa.por.pcdpor.PCDPORCPA;
+import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/**
+ * This CPA detects duplicate configurations of a concurrent program, i.e., states with the same
+ * locations of all the threads (ThreadingState or LocationsState) and the same BDD region, which
+ * are reached through different interleavings. Such states are cut in constant time.
+ *
+ * <p>The data of all the other CPAs is not part of the configuration. Since states that are removed
+ * from the reached set are not removed from the store, this CPA should not be used together with a
+ * refinement. It cannot be combined with a partial-order reduction that uses sleep sets, see {@link
+ * #checkCompatibility}.
+ */
+@Options(prefix = "cpa.statehash")
+public class StateHashCPA extends AbstractCPA implements StatisticsProvider {
+
+  public enum StoreType {
+    /** Store the configurations, duplicates are detected exactly. */
+    EXACT,
+    /** Store the fingerprints in a Bloom filter of fixed size, some states may be missed. */
+    BITSTATE
+  }
+
+  @Option(
+      secure = true,
+      description =
+          "how to store the visited configurations: EXACT stores the configurations themselves, "
+              + "BITSTATE stores their 64-bit fingerprints in a Bloom filter of fixed size, which "
+              + "bounds the memory but may wrongly cut new states.")
+  private StoreType storeType = StoreType.EXACT;
+
+  @Option(
+      secure = true,
+      description = "the logarithm of the number of bits of the Bloom filter for BITSTATE.")
+  @IntegerOption(min = 6, max = 36)
+  private int bitStateSize = 30;
+
+  @Option(
+      secure = true,
+      description = "the number of bits that are set for each configuration for BITSTATE.")
+  @IntegerOption(min = 1, max = 16)
+  private int bitStateHashFunctions = 3;
+
+  private final VisitedStore visitedStore;
+  private final StateHashPrecisionAdjustment precisionAdjustment;
+
+  public static CPAFactory factory() {
+    return AutomaticCPAFactory.forType(StateHashCPA.class);
+  }
+
+  public StateHashCPA(Configuration pConfig) throws InvalidConfigurationException {
+    super("sep", "sep", IdentityTransferRelation.INSTANCE);
+    pConfig.inject(this);
+
+    visitedStore =
+        storeType == StoreType.EXACT
+            ? new ExactVisitedStore()
+            : new BitStateVisitedStore(bitStateSize, bitStateHashFunctions);
+    precisionAdjustment = new StateHashPrecisionAdjustment(visitedStore);
+  }
+
+  /**
+   * Check that the given CPA does not combine this CPA with a partial-order reduction that uses
+   * sleep sets. A cut state may have a smaller sleep set than the visited state with the same
+   * configuration (and its sleep set is only completed after the check), so the transitions that
+   * were asleep at the visited state would never be explored from the cut one.
+   */
+  public static void checkCompatibility(ConfigurableProgramAnalysis pCpa)
+      throws InvalidConfigurationException {
+    if (CPAs.retrieveCPA(pCpa, StateHashCPA.class) != null
+        && (CPAs.retrieveCPA(pCpa, PCDPORCPA.class) != null
+            || CPAs.retrieveCPA(pCpa, CBIPPORCPA.class) != null)) {
+      throw new InvalidConfigurationException(
+          "StateHashCPA cannot be combined with the sleep sets of PCDPORCPA or CBIPPORCPA.");
+    }
+  }
+
+  @Override
+  public AbstractState getInitialState(CFANode pNode, StateSpacePartition pPartition) {
+    return SingletonAbstractState.INSTANCE;
+  }
+
+  @Override
+  public PrecisionAdjustment getPrecisionAdjustment() {
+    return precisionAdjustment;
+  }
+
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    pStatsCollection.add(
+        new Statistics() {
+
+          @Override
+          public void printStatistics(
+              PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+            StatisticsWriter writer =
+                StatisticsWriter.writingStatisticsTo(pOut)
+                    .put("Type of visited store", storeType)
+                    .put(precisionAdjustment.checkedStates)
+                    .put(precisionAdjustment.duplicateStates);
+            visitedStore.printStatistics(writer);
+          }
+
+          @Override
+          public String getName() {
+            return "StateHashCPA";
+          }
+        });
+  }
+}
@@ -0,0 +1,75 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import com.google.common.base.Function;
+import java.util.Optional;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustment;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult;
+import org.sosy_lab.cpachecker.core.interfaces.PrecisionAdjustmentResult.Action;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.bdd.BDDState;
+import org.sosy_lab.cpachecker.cpa.locations.LocationsState;
+import org.sosy_lab.cpachecker.cpa.threading.ThreadingState;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+
+/**
+ * Cuts the states whose configuration was already visited. The check is done in the strengthening
+ * phase, i.e., after the precision adjustment of all the other CPAs has finished, so the stored
+ * configuration is the one that is added to the reached set.
+ */
+public class StateHashPrecisionAdjustment implements PrecisionAdjustment {
+
+  private final VisitedStore visitedStore;
+
+  final StatCounter checkedStates = new StatCounter("Number of checked states");
+  final StatCounter duplicateStates = new StatCounter("Number of cut duplicate states");
+
+  StateHashPrecisionAdjustment(VisitedStore pVisitedStore) {
+    visitedStore = pVisitedStore;
+  }
+
+  @Override
+  public Optional<PrecisionAdjustmentResult> prec(
+      AbstractState pState,
+      Precision pPrecision,
+      UnmodifiableReachedSet pStates,
+      Function<AbstractState, AbstractState> pStateProjection,
+      AbstractState pFullState) {
+    return Optional.of(PrecisionAdjustmentResult.create(pState, pPrecision, Action.CONTINUE));
+  }
+
+  @Override
+  public Optional<? extends AbstractState> strengthen(
+      AbstractState pState, Precision pPrecision, Iterable<AbstractState> pOtherStates) {
+    AbstractState locations = null;
+    BDDState bddState = null;
+    for (AbstractState other : pOtherStates) {
+      if (other instanceof ThreadingState
+          || (other instanceof LocationsState && locations == null)) {
+        locations = other;
+      } else if (other instanceof BDDState) {
+        bddState = (BDDState) other;
+      }
+    }
+    if (locations == null || bddState == null) {
+      // the configuration is unknown, we cannot decide whether it is a duplicate.
+      return Optional.of(pState);
+    }
+
+    checkedStates.inc();
+    if (visitedStore.add(new StateKey(locations, bddState.getRegion()))) {
+      return Optional.of(pState);
+    }
+    duplicateStates.inc();
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,70 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.util.predicates.regions.Region;
+
+/**
+ * The configuration of a composite state: the state that holds the locations of all the threads
+ * (e.g., a ThreadingState or LocationsState) and the BDD region. Regions are canonical inside their
+ * region manager, so equal configurations have equal keys and equal fingerprints.
+ */
+final class StateKey {
+
+  private final AbstractState locations;
+  private final Region region;
+  private final long fingerprint;
+
+  StateKey(AbstractState pLocations, Region pRegion) {
+    locations = checkNotNull(pLocations);
+    region = checkNotNull(pRegion);
+    fingerprint =
+        mix64(((long) pLocations.hashCode() << 32) | (pRegion.hashCode() & 0xFFFFFFFFL));
+  }
+
+  /** The 64-bit fingerprint of the configuration. */
+  long getFingerprint() {
+    return fingerprint;
+  }
+
+  /** The finalizer of MurmurHash3, a bijection that spreads the bits of the given value. */
+  static long mix64(long pValue) {
+    long z = pValue;
+    z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+    z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return z ^ (z >>> 33);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(fingerprint);
+  }
+
+  @Override
+  public boolean equals(Object pObj) {
+    if (this == pObj) {
+      return true;
+    }
+    if (!(pObj instanceof StateKey)) {
+      return false;
+    }
+    StateKey other = (StateKey) pObj;
+    return fingerprint == other.fingerprint
+        && region.equals(other.region)
+        && locations.equals(other.locations);
+  }
+
+  @Override
+  public String toString() {
+    return Long.toHexString(fingerprint);
+  }
+}
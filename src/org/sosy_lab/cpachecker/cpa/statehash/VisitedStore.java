@@ -0,0 +1,24 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.statehash;
+
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+/** A store of the configurations that were visited during the analysis. */
+interface VisitedStore {
+
+  /**
+   * Add the given configuration to the store.
+   *
+   * @return true if the configuration was not visited before, false if it is a duplicate.
+   */
+  boolean add(StateKey pKey);
+
+  void printStatistics(StatisticsWriter pWriter);
+}
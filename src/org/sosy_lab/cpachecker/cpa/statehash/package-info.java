@@ -0,0 +1,14 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+/**
+ * A global store of the visited configurations of a concurrent program (the locations of all the
+ * threads and the BDD region). States with a configuration that was already visited are cut, even if
+ * they are reached through a different interleaving.
+ */
+package org.sosy_lab.cpachecker.cpa.statehash;
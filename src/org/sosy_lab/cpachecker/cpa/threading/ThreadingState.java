@@ -440,7 +440,7 @@ public class ThreadingState implements AbstractState, AbstractStateWithLocations
     return new ThreadingState(threads, locks, pActiveThread, entryFunction, threadIdsForWitness);
   }
 
-  String getActiveThread() {
+  public String getActiveThread() {
     return activeThread;
   }
 
@@ -0,0 +1,165 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.threadingintp;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cpa.threadingintp.ThreadingIntpTransferRelation.InterruptPriorityOrder;
+
+/**
+ * The preemption relation of the interruption functions, compiled once into bitsets. Each
+ * interruption function gets a dense id (in the order of their names), and every set of
+ * interruption functions is a {@link BitSet} over these ids.
+ *
+ * <p>The bitsets returned by the getters (except for {@link #getInterruptPoints(Iterable)}) are
+ * shared and must not be modified.
+ */
+final class InterruptPreemptionTable {
+
+  private final ImmutableList<String> intpFuncs;
+  private final ImmutableMap<String, Integer> intpFuncIds;
+  private final int[] priorities;
+
+  /** {\<location, {interrupt that may preempt at this location, ...}\>, ...} */
+  private final ImmutableMap<CFANode, BitSet> intpPoints;
+
+  /** All the interrupts, i.e., the interrupts that may preempt a non-interrupt thread. */
+  private final BitSet allIntps;
+
+  /** The interrupts that have a higher priority than the interrupt with the given id. */
+  private final BitSet[] higherPriorityIntps;
+
+  /** {\<priority, {interrupt with this priority, ...}\>, ...} */
+  private final ImmutableMap<Integer, BitSet> intpsOfLevel;
+
+  /** The interrupts of the enabled levels, keyed by the level mask of a state. */
+  private final Map<Long, BitSet> intpsOfEnabledLevels = new ConcurrentHashMap<>();
+
+  InterruptPreemptionTable(
+      final Map<String, Integer> pPriorityMap,
+      final Map<CFANode, Set<String>> pRepPoints,
+      final InterruptPriorityOrder pPriorityOrder) {
+    intpFuncs = ImmutableList.sortedCopyOf(pPriorityMap.keySet());
+    ImmutableMap.Builder<String, Integer> idBuilder = ImmutableMap.builder();
+    priorities = new int[intpFuncs.size()];
+    for (int i = 0; i < intpFuncs.size(); ++i) {
+      idBuilder.put(intpFuncs.get(i), i);
+      priorities[i] = pPriorityMap.get(intpFuncs.get(i));
+    }
+    intpFuncIds = idBuilder.build();
+
+    allIntps = new BitSet(intpFuncs.size());
+    allIntps.set(0, intpFuncs.size());
+
+    higherPriorityIntps = new BitSet[intpFuncs.size()];
+    Map<Integer, BitSet> levels = new HashMap<>();
+    for (int i = 0; i < intpFuncs.size(); ++i) {
+      higherPriorityIntps[i] = new BitSet(intpFuncs.size());
+      for (int j = 0; j < intpFuncs.size(); ++j) {
+        if (pPriorityOrder.equals(InterruptPriorityOrder.BH)
+            ? priorities[j] > priorities[i]
+            : priorities[j] < priorities[i]) {
+          higherPriorityIntps[i].set(j);
+        }
+      }
+      levels.computeIfAbsent(priorities[i], k -> new BitSet(intpFuncs.size())).set(i);
+    }
+    intpsOfLevel = ImmutableMap.copyOf(levels);
+
+    ImmutableMap.Builder<CFANode, BitSet> pointBuilder = ImmutableMap.builder();
+    for (Entry<CFANode, Set<String>> point : pRepPoints.entrySet()) {
+      BitSet intps = new BitSet(intpFuncs.size());
+      for (String intpFunc : point.getValue()) {
+        // interrupts without priority can never be created.
+        Integer id = intpFuncIds.get(intpFunc);
+        if (id != null) {
+          intps.set(id);
+        }
+      }
+      if (!intps.isEmpty()) {
+        pointBuilder.put(point.getKey(), intps);
+      }
+    }
+    intpPoints = pointBuilder.build();
+  }
+
+  int getNumberOfInterrupts() {
+    return intpFuncs.size();
+  }
+
+  String getInterruptFunction(int pId) {
+    return intpFuncs.get(pId);
+  }
+
+  /**
+   * Get the interrupts that may preempt at any of the given locations.
+   *
+   * @return a new bitset that can be modified by the caller.
+   */
+  BitSet getInterruptPoints(final Iterable<CFANode> pLocations) {
+    BitSet result = new BitSet(intpFuncs.size());
+    for (CFANode loc : pLocations) {
+      BitSet intps = intpPoints.get(loc);
+      if (intps != null) {
+        result.or(intps);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the interrupts that have a higher priority than the given interrupt.
+   *
+   * @param pTopIntpFunc the currently processed interrupt, or null if no interrupt is processed.
+   */
+  BitSet getHigherPriorityInterrupts(final @Nullable String pTopIntpFunc) {
+    if (pTopIntpFunc == null) {
+      return allIntps;
+    }
+    Integer id = intpFuncIds.get(pTopIntpFunc);
+    Preconditions.checkState(
+        id != null, "the priority of interrupt function '%s' is unknown", pTopIntpFunc);
+    return higherPriorityIntps[id];
+  }
+
+  /** Get the interrupts that belong to the given level. */
+  BitSet getInterruptsOfLevel(final int pLevel) {
+    BitSet intps = intpsOfLevel.get(pLevel);
+    return intps != null ? intps : new BitSet(0);
+  }
+
+  /**
+   * Get the interrupts that belong to one of the given levels.
+   *
+   * @param pLevelMask the enabled levels, bit (l - 1) is set iff level l is enabled.
+   */
+  BitSet getInterruptsOfLevels(final long pLevelMask) {
+    return intpsOfEnabledLevels.computeIfAbsent(
+        pLevelMask,
+        mask -> {
+          BitSet result = new BitSet(intpFuncs.size());
+          for (Entry<Integer, BitSet> level : intpsOfLevel.entrySet()) {
+            int l = level.getKey();
+            if (l > 0 && l <= Long.SIZE && (mask & (1L << (l - 1))) != 0) {
+              result.or(level.getValue());
+            }
+          }
+          return result;
+        });
+  }
+}
@@ -9,7 +9,9 @@
 package org.sosy_lab.cpachecker.cpa.threadingintp;
 
 import com.google.common.base.Preconditions;
+import java.util.Collection;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -18,15 +20,20 @@ import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.core.defaults.AbstractCPA;
 import org.sosy_lab.cpachecker.core.defaults.AutomaticCPAFactory;
+import org.sosy_lab.cpachecker.core.defaults.DelegateAbstractDomain;
+import org.sosy_lab.cpachecker.core.defaults.FlatLatticeDomain;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.CPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.cpa.threadingintp.ThreadingIntpTransferRelation.InterruptPriorityOrder;
 
 @Options(prefix = "cpa.threadingintp")
-public class ThreadingIntpCPA extends AbstractCPA {
+public class ThreadingIntpCPA extends AbstractCPA implements StatisticsProvider {
 
   @Option(secure = true, description = "How many levels of interruption is support?")
+  @IntegerOption(min = 0, max = 64)
   private int maxInterruptLevel = 3;
   @Option(secure = true, description = "Which order of interruption priority to use?")
   private InterruptPriorityOrder intpPriOrder = InterruptPriorityOrder.BH;
@@ -36,7 +43,20 @@ public class ThreadingIntpCPA extends AbstractCPA {
   }
 
   public ThreadingIntpCPA(Configuration config, LogManager pLogger, CFA pCfa) throws InvalidConfigurationException {
-    super("sep", "sep", new ThreadingIntpTransferRelation(config, pCfa, pLogger));
+    this(config, new ThreadingIntpTransferRelation(config, pCfa, pLogger));
+  }
+
+  private ThreadingIntpCPA(Configuration config, ThreadingIntpTransferRelation pTransfer)
+      throws InvalidConfigurationException {
+    // the number of preemptions only matters for the coverage if it is bounded, otherwise it is
+    // only used to sort the waitlist.
+    super(
+        "sep",
+        "sep",
+        pTransfer.isPreemptionBounded()
+            ? DelegateAbstractDomain.<ThreadingIntpState>getInstance()
+            : new FlatLatticeDomain(),
+        pTransfer);
     config.inject(this);
   }
 
@@ -56,4 +76,10 @@ public class ThreadingIntpCPA extends AbstractCPA {
             ThreadingIntpState.MIN_THREAD_NUM,
             mainThread);
   }
+
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    pStatsCollection
+        .add(((ThreadingIntpTransferRelation) getTransferRelation()).getStatistics());
+  }
 }
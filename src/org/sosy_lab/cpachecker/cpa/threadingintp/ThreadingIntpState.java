@@ -19,10 +19,10 @@ import static org.sosy_lab.cpachecker.cpa.threadingintp.ThreadingIntpTransferRel
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.Deque;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -30,6 +30,7 @@ import java.util.Objects;
 import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.sosy_lab.common.collect.PersistentLinkedList;
 import org.sosy_lab.common.collect.PersistentMap;
 import org.sosy_lab.cpachecker.cfa.ast.AExpression;
 import org.sosy_lab.cpachecker.cfa.ast.AFunctionCall;
@@ -41,6 +42,7 @@ import org.sosy_lab.cpachecker.cfa.model.CFAEdgeType;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cfa.model.FunctionCallEdge;
 import org.sosy_lab.cpachecker.cfa.postprocessing.global.CFACloner;
+import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractQueryableState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocations;
@@ -53,8 +55,16 @@ import org.sosy_lab.cpachecker.exceptions.InvalidQueryException;
 import org.sosy_lab.cpachecker.exceptions.UnrecognizedCodeException;
 import scala.Int;
 
-/** This immutable state represents a location state combined with a callstack state. */
-public class ThreadingIntpState implements AbstractState, AbstractStateWithLocations, Graphable, Partitionable, AbstractQueryableState {
+/**
+ * This immutable state represents a location state combined with a callstack state.
+ *
+ * <p>The hash code of a state is computed once, and the hash codes of the thread and lock maps are
+ * updated incrementally by the copy operations. The interruption flags are stored as a bit mask and
+ * the interruption stack as a persistent list, so copying a state never copies these components.
+ */
+public class ThreadingIntpState
+    implements LatticeAbstractState<ThreadingIntpState>, AbstractStateWithLocations, Graphable,
+    Partitionable, AbstractQueryableState {
 
   private static final String PROPERTY_DEADLOCK = "deadlock";
 
@@ -69,15 +79,23 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
   private final PersistentMap<String, String> locks;
 
   // String :: interrupt function-name -> interrupt times
-  private Map<String, Integer> intpTimes;
+  private final PersistentMap<String, Integer> intpTimes;
 
-  // the enable flags of different interrupt levels.
-  private boolean[] intpLevelEnableFlags;
+  // the number of interrupt levels.
+  private final int numIntpLevels;
+
+  // the enable flags of different interrupt levels, bit (l - 1) is set iff level l is enabled.
+  private final long intpLevelMask;
+
+  // the number of preemptions (i.e., created interrupts) along the path to this state. It is not
+  // part of equals and hashCode, but of the ordering isLessOrEqual, which ThreadingIntpCPA only
+  // uses if the number of preemptions is bounded, cf. ThreadingIntpTransferRelation.
+  private final int preemptions;
 
   // String :: identifier for the interrupt
   // this stack only preserves the thread-ids of interrupts, other threads (include main)
-  // should not in this stack.
-  private final Deque<String> intpStack;
+  // should not in this stack. The head of the list is the top of the stack.
+  private final PersistentLinkedList<String> intpStack;
 
   /**
    * Thread-id of last active thread that produced this exact {@link ThreadingIntpState}. This value
@@ -94,9 +112,9 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
    * if input program is single-thread, this value will be updated in {@link
    * ThreadingIntpTransferRelation#strengthen} by the way:
    * 1) if {@link ThreadingIntpState#intpStack} is empty, this value is updated to {@link ThreadingIntpState#activeThread}
-   * 2) else, this value is updated to the last element in {@link ThreadingIntpState#intpStack}
+   * 2) else, this value is updated to the top element of {@link ThreadingIntpState#intpStack}
    */
-  private String keepedActiveThread = null;
+  @Nullable private final String keepedActiveThread;
 
   /**
    * This functioncall was called when creating this thread. This value should only be set in
@@ -117,62 +135,166 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
    */
   private final PersistentMap<String, Integer> threadIdsForWitness;
 
-  public ThreadingIntpState(final int pMaxIntpLevel) {
-    this.threads = PathCopyingPersistentTreeMap.of();
-    this.locks = PathCopyingPersistentTreeMap.of();
-    this.intpStack = new ArrayDeque<>();
-    this.intpTimes = new HashMap<>();
-    this.activeThread = null;
-    this.entryFunction = null;
-    this.threadIdsForWitness = PathCopyingPersistentTreeMap.of();
+  /**
+   * The hash codes of {@link #threads} and {@link #locks}. They follow the contract of {@link
+   * Map#hashCode()} and are updated incrementally when an entry is added or removed, so that the
+   * maps never have to be traversed for hashing.
+   */
+  private final int threadsHash;
 
-    this.intpLevelEnableFlags = new boolean[pMaxIntpLevel];
-    for (int i = 0; i < pMaxIntpLevel; ++i) {
-      this.intpLevelEnableFlags[i] = true;
-    }
+  private final int locksHash;
+
+  /** The cached hash code of this state, cf. {@link #equals(Object)}. */
+  private final int hash;
+
+  public ThreadingIntpState(final int pMaxIntpLevel) {
+    this(
+        PathCopyingPersistentTreeMap.of(),
+        0,
+        PathCopyingPersistentTreeMap.of(),
+        0,
+        PersistentLinkedList.of(),
+        pMaxIntpLevel,
+        allLevelsMask(pMaxIntpLevel),
+        0,
+        PathCopyingPersistentTreeMap.of(),
+        null,
+        null,
+        null,
+        PathCopyingPersistentTreeMap.of());
   }
 
   private ThreadingIntpState(
       PersistentMap<String, ThreadIntpState> pThreads,
+      int pThreadsHash,
       PersistentMap<String, String> pLocks,
-      Deque<String> pIntpQueue,
-      boolean[] pIntpLevelEnableFlags,
-      Map<String, Integer> pIntpTimes,
+      int pLocksHash,
+      PersistentLinkedList<String> pIntpStack,
+      int pNumIntpLevels,
+      long pIntpLevelMask,
+      int pPreemptions,
+      PersistentMap<String, Integer> pIntpTimes,
       String pActiveThread,
+      String pKeepedActiveThread,
       FunctionCallEdge entryFunction,
       PersistentMap<String, Integer> pThreadIdsForWitness) {
     this.threads = pThreads;
+    this.threadsHash = pThreadsHash;
     this.locks = pLocks;
-    this.intpStack = new ArrayDeque<>(pIntpQueue);
-    this.intpLevelEnableFlags = new boolean[pIntpLevelEnableFlags.length];
-    for (int i = 0; i < pIntpLevelEnableFlags.length; ++i)
-      this.intpLevelEnableFlags[i] = pIntpLevelEnableFlags[i];
-    this.intpTimes = new HashMap<>(pIntpTimes);
+    this.locksHash = pLocksHash;
+    this.intpStack = pIntpStack;
+    this.numIntpLevels = pNumIntpLevels;
+    this.intpLevelMask = pIntpLevelMask;
+    this.preemptions = pPreemptions;
+    this.intpTimes = pIntpTimes;
     this.activeThread = pActiveThread;
+    this.keepedActiveThread = pKeepedActiveThread;
     this.entryFunction = entryFunction;
     this.threadIdsForWitness = pThreadIdsForWitness;
+
+    int h = threadsHash;
+    h = 31 * h + locksHash;
+    h = 31 * h + intpStack.hashCode();
+    h = 31 * h + Long.hashCode(intpLevelMask);
+    h = 31 * h + intpTimes.hashCode();
+    h = 31 * h + Objects.hashCode(activeThread);
+    h = 31 * h + Objects.hashCode(keepedActiveThread);
+    h = 31 * h + Objects.hashCode(entryFunction);
+    h = 31 * h + threadIdsForWitness.hashCode();
+    this.hash = h;
+  }
+
+  private static long allLevelsMask(int pNumIntpLevels) {
+    Preconditions.checkArgument(
+        pNumIntpLevels >= 0 && pNumIntpLevels <= Long.SIZE,
+        "the number of interruption levels %s is out of boundary (0 ~ %s).",
+        pNumIntpLevels,
+        Long.SIZE);
+    return pNumIntpLevels == Long.SIZE ? -1L : (1L << pNumIntpLevels) - 1;
+  }
+
+  /** The hash code of a map entry, as defined by {@link Map.Entry#hashCode()}. */
+  private static int entryHash(Object pKey, @Nullable Object pValue) {
+    return pKey.hashCode() ^ Objects.hashCode(pValue);
   }
 
-  private ThreadingIntpState withThreads(PersistentMap<String, ThreadIntpState> pThreads) {
+  private ThreadingIntpState withThreads(
+      PersistentMap<String, ThreadIntpState> pThreads, int pThreadsHash) {
     return new ThreadingIntpState(
         pThreads,
+        pThreadsHash,
         locks,
-        new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-        new HashMap<>(intpTimes),
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
         activeThread,
+        keepedActiveThread,
         entryFunction,
         threadIdsForWitness);
   }
 
-  private ThreadingIntpState withLocks(PersistentMap<String, String> pLocks) {
+  private ThreadingIntpState putThreadAndCopy(String id, ThreadIntpState pThread) {
+    ThreadIntpState old = threads.get(id);
+    int newHash = threadsHash + entryHash(id, pThread);
+    if (old != null) {
+      newHash -= entryHash(id, old);
+    }
+    return withThreads(threads.putAndCopy(id, pThread), newHash);
+  }
+
+  private ThreadingIntpState withLocks(PersistentMap<String, String> pLocks, int pLocksHash) {
     return new ThreadingIntpState(
         threads,
+        threadsHash,
         pLocks,
-        new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-        new HashMap<>(intpTimes),
+        pLocksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
+        activeThread,
+        keepedActiveThread,
+        entryFunction,
+        threadIdsForWitness);
+  }
+
+  private ThreadingIntpState withIntpLevelMask(long pIntpLevelMask) {
+    if (pIntpLevelMask == intpLevelMask) {
+      return this;
+    }
+    return new ThreadingIntpState(
+        threads,
+        threadsHash,
+        locks,
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        pIntpLevelMask,
+        preemptions,
+        intpTimes,
+        activeThread,
+        keepedActiveThread,
+        entryFunction,
+        threadIdsForWitness);
+  }
+
+  private ThreadingIntpState withIntpStack(PersistentLinkedList<String> pIntpStack) {
+    return new ThreadingIntpState(
+        threads,
+        threadsHash,
+        locks,
+        locksHash,
+        pIntpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
         activeThread,
+        keepedActiveThread,
         entryFunction,
         threadIdsForWitness);
   }
@@ -181,11 +303,16 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
       PersistentMap<String, Integer> pThreadIdsForWitness) {
     return new ThreadingIntpState(
         threads,
+        threadsHash,
         locks,
-        new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-        new HashMap<>(intpTimes),
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
         activeThread,
+        keepedActiveThread,
         entryFunction,
         pThreadIdsForWitness);
   }
@@ -194,29 +321,23 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
       addThreadAndCopy(String id, int num, int pri, AbstractState stack, AbstractState loc) {
     Preconditions.checkNotNull(id);
     Preconditions.checkArgument(!threads.containsKey(id), "thread already exists");
-    return withThreads(
-        threads
-            .putAndCopy(id, new ThreadIntpState(loc, stack, pri, num)));
+    return putThreadAndCopy(id, ThreadIntpState.of(loc, stack, pri, num));
   }
 
   public ThreadingIntpState
       updateLocationAndCopy(String id, AbstractState stack, AbstractState loc) {
     Preconditions.checkNotNull(id);
     Preconditions.checkArgument(threads.containsKey(id), "updating non-existing thread");
-    return withThreads(
-        threads.putAndCopy(
-            id,
-            new ThreadIntpState(
-                loc,
-                stack,
-                threads.get(id).getPriority(),
-                threads.get(id).getNum())));
+    ThreadIntpState old = threads.get(id);
+    return putThreadAndCopy(
+        id, ThreadIntpState.of(loc, stack, old.getPriority(), old.getNum()));
   }
 
   public ThreadingIntpState removeThreadAndCopy(String id) {
     Preconditions.checkNotNull(id);
     checkState(threads.containsKey(id), "leaving non-existing thread: %s", id);
-    return withThreads(threads.removeAndCopy(id));
+    return withThreads(
+        threads.removeAndCopy(id), threadsHash - entryHash(id, threads.get(id)));
   }
 
   public Set<String> getThreadIds() {
@@ -282,92 +403,32 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
 
   public ThreadingIntpState enableIntpAndCopy(int pLevel) {
     Preconditions.checkArgument(
-        pLevel >= 0 && pLevel < intpLevelEnableFlags.length,
+        pLevel >= 0 && pLevel < numIntpLevels,
         "interruption level "
             + pLevel
             + " is out of boundary (0 ~ "
-            + intpLevelEnableFlags.length
+            + numIntpLevels
             + ").");
-    // Preconditions.checkArgument(
-    // intpLevelEnableFlags[pLevel],
-    // "the interruption of level " + pLevel + " has already been enabled.");
-
-    ThreadingIntpState result =
-        new ThreadingIntpState(
-        threads,
-        locks,
-            new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-            new HashMap<>(intpTimes),
-        activeThread,
-        entryFunction,
-        threadIdsForWitness);
-    result.intpLevelEnableFlags[pLevel] = true;
-
-    return result;
+    return withIntpLevelMask(intpLevelMask | (1L << pLevel));
   }
 
   public ThreadingIntpState enableAllIntpAndCopy() {
-    ThreadingIntpState result =
-        new ThreadingIntpState(
-            threads,
-            locks,
-            new ArrayDeque<>(intpStack),
-            intpLevelEnableFlags,
-            new HashMap<>(intpTimes),
-            activeThread,
-            entryFunction,
-            threadIdsForWitness);
-    for (int i = 0; i < result.intpLevelEnableFlags.length; ++i) {
-      result.intpLevelEnableFlags[i] = true;
-    }
-
-    return result;
+    return withIntpLevelMask(allLevelsMask(numIntpLevels));
   }
 
   public ThreadingIntpState disableIntpAndCopy(int pLevel) {
     Preconditions.checkArgument(
-        pLevel >= 0 && pLevel < intpLevelEnableFlags.length,
+        pLevel >= 0 && pLevel < numIntpLevels,
         "interruption level "
             + pLevel
             + " is out of boundary (0 ~ "
-            + intpLevelEnableFlags.length
+            + numIntpLevels
             + ").");
-    // Preconditions.checkArgument(
-    // !intpLevelEnableFlags[pLevel],
-    // "the interruption of level " + pLevel + " has already been disabled.");
-
-    ThreadingIntpState result =
-        new ThreadingIntpState(
-        threads,
-        locks,
-            new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-            new HashMap<>(intpTimes),
-        activeThread,
-        entryFunction,
-        threadIdsForWitness);
-    result.intpLevelEnableFlags[pLevel] = false;
-
-    return result;
+    return withIntpLevelMask(intpLevelMask & ~(1L << pLevel));
   }
 
   public ThreadingIntpState disableAllIntpAndCopy() {
-    ThreadingIntpState result =
-        new ThreadingIntpState(
-            threads,
-            locks,
-            new ArrayDeque<>(intpStack),
-            intpLevelEnableFlags,
-            new HashMap<>(intpTimes),
-            activeThread,
-            entryFunction,
-            threadIdsForWitness);
-    for (int i = 0; i < result.intpLevelEnableFlags.length; ++i) {
-      result.intpLevelEnableFlags[i] = false;
-    }
-
-    return result;
+    return withIntpLevelMask(0);
   }
 
   public ThreadingIntpState addLockAndCopy(String threadId, String lockId) {
@@ -378,7 +439,12 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
         "blocking non-existant thread: %s with lock: %s",
         threadId,
         lockId);
-    return withLocks(locks.putAndCopy(lockId, threadId));
+    String old = locks.get(lockId);
+    int newHash = locksHash + entryHash(lockId, threadId);
+    if (old != null) {
+      newHash -= entryHash(lockId, old);
+    }
+    return withLocks(locks.putAndCopy(lockId, threadId), newHash);
   }
 
   public ThreadingIntpState removeLockAndCopy(String threadId, String lockId) {
@@ -389,7 +455,11 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
         "unblocking non-existant thread: %s with lock: %s",
         threadId,
         lockId);
-    return withLocks(locks.removeAndCopy(lockId));
+    String old = locks.get(lockId);
+    if (old == null) {
+      return this;
+    }
+    return withLocks(locks.removeAndCopy(lockId), locksHash - entryHash(lockId, old));
   }
 
   /** returns whether any of the threads has the lock */
@@ -418,40 +488,74 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
         + "}\n and locks={"
         + Joiner.on(",\n ").withKeyValueSeparator("=").join(locks)
         + "}\n and intpStack={"
-        + Joiner.on(", ").join(intpStack)
+        + Joiner.on(", ").join(intpStack.reversed())
         + "}\n and interrupt flags={"
-        + Arrays.toString(intpLevelEnableFlags)
-        + "}\n"
+        + Joiner.on(", ").join(getIntpLevelEnableFlags())
+        + "}\n and preemptions="
+        + preemptions
+        + "\n"
         + (activeThread == null ? "" : ("\n produced from thread " + activeThread))
         + "\n"
         + Joiner.on(",\n ").withKeyValueSeparator("=").join(threadIdsForWitness)
         + ")";
   }
 
+  private ImmutableList<Boolean> getIntpLevelEnableFlags() {
+    ImmutableList.Builder<Boolean> flags = ImmutableList.builderWithExpectedSize(numIntpLevels);
+    for (int i = 0; i < numIntpLevels; ++i) {
+      flags.add((intpLevelMask & (1L << i)) != 0);
+    }
+    return flags.build();
+  }
+
+  /**
+   * Two states are compared by their cached hash codes first, so that the full comparison is only
+   * needed for (likely) equal states. As the thread states are hash-consed, comparing the threads of
+   * two equal states mostly reduces to reference comparisons as well.
+   *
+   * <p>The interrupt counters are compared as well: a state whose interrupt has reached the maximal
+   * number of executions must not cover a state that can still execute it.
+   */
   @Override
   public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
     if (!(other instanceof ThreadingIntpState)) {
       return false;
     }
     ThreadingIntpState ts = (ThreadingIntpState)other;
-    return threads.equals(ts.threads)
-        && locks.equals(ts.locks)
-        && intpStack.equals(ts.intpStack)
-        && Arrays.equals(intpLevelEnableFlags, ts.intpLevelEnableFlags)
+    return hash == ts.hash
+        && intpLevelMask == ts.intpLevelMask
         && Objects.equals(activeThread, ts.activeThread)
+        && Objects.equals(keepedActiveThread, ts.keepedActiveThread)
+        && Objects.equals(entryFunction, ts.entryFunction)
+        && intpStack.equals(ts.intpStack)
+        && intpTimes.equals(ts.intpTimes)
+        && (threads == ts.threads || threads.equals(ts.threads))
+        && (locks == ts.locks || locks.equals(ts.locks))
         && threadIdsForWitness.equals(ts.threadIdsForWitness);
   }
 
   @Override
   public int hashCode() {
-    return Objects
-        .hash(
-            threads,
-            locks,
-            intpStack,
-            Arrays.hashCode(intpLevelEnableFlags),
-            activeThread,
-            threadIdsForWitness);
+    return hash;
+  }
+
+  /**
+   * A state is covered by an equal state that was reached with fewer or equal preemptions, as the
+   * remaining preemption budget of the other state allows at least the same interleavings. As
+   * equal states have the same interrupt counters, the other state can also still execute the same
+   * interrupts.
+   */
+  @Override
+  public boolean isLessOrEqual(ThreadingIntpState pOther) {
+    return preemptions >= pOther.preemptions && equals(pOther);
+  }
+
+  @Override
+  public ThreadingIntpState join(ThreadingIntpState pOther) {
+    throw new UnsupportedOperationException();
   }
 
   private FluentIterable<AbstractStateWithLocations> getLocations() {
@@ -482,8 +586,8 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
     Joiner.on(",\n ").withKeyValueSeparator("=").appendTo(sb, threads);
     sb.append("]");
     sb.append("\nenable flags: [");
-    for(int i = 0; i < intpLevelEnableFlags.length; ++i) {
-      sb.append(" " + intpLevelEnableFlags[i] + " ");
+    for (boolean flag : getIntpLevelEnableFlags()) {
+      sb.append(" " + flag + " ");
     }
     sb.append("]");
 
@@ -581,8 +685,13 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
     return false;
   }
 
-  /** A ThreadState describes the state of a single thread. */
-  private static class ThreadIntpState {
+  /**
+   * A ThreadState describes the state of a single thread. Thread states are hash-consed, i.e.,
+   * there is at most one live instance for each thread state, cf. {@link #of}.
+   */
+  private static final class ThreadIntpState {
+
+    private static final Interner<ThreadIntpState> INTERNER = Interners.newWeakInterner();
 
     // String :: identifier for the thread TODO change to object or memory-location
     // CallstackState +  LocationState :: thread-position
@@ -596,11 +705,20 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
     // TODO do we really need this? -> needed for identification of cloned functions.
     private final int num;
 
-    ThreadIntpState(AbstractState pLocation, AbstractState pCallstack, int pPriority, int pNum) {
+    private final int hash;
+
+    private ThreadIntpState(
+        AbstractState pLocation, AbstractState pCallstack, int pPriority, int pNum) {
       location = pLocation;
       callstack = new CallstackStateEqualsWrapper((CallstackState)pCallstack);
       priority = pPriority;
       num= pNum;
+      hash = Objects.hash(location, callstack, priority, num);
+    }
+
+    static ThreadIntpState of(
+        AbstractState pLocation, AbstractState pCallstack, int pPriority, int pNum) {
+      return INTERNER.intern(new ThreadIntpState(pLocation, pCallstack, pPriority, pNum));
     }
 
     public AbstractState getLocation() {
@@ -630,48 +748,68 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
 
     @Override
     public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
       if (!(o instanceof ThreadIntpState)) {
         return false;
       }
       ThreadIntpState other = (ThreadIntpState)o;
-      return location.equals(other.location)
-          && callstack.equals(other.callstack)
+      return hash == other.hash
           && priority == other.priority
-          && num == other.num;
+          && num == other.num
+          && location.equals(other.location)
+          && callstack.equals(other.callstack);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(location, callstack, priority, num);
+      return hash;
     }
   }
 
   /** See {@link #activeThread}. */
   public ThreadingIntpState withActiveThread(@Nullable String pActiveThread) {
+    if (Objects.equals(activeThread, pActiveThread)) {
+      return this;
+    }
     return new ThreadingIntpState(
         threads,
+        threadsHash,
         locks,
-        new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-        new HashMap<>(intpTimes),
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
         pActiveThread,
+        keepedActiveThread,
         entryFunction,
         threadIdsForWitness);
   }
 
-  String getActiveThread() {
+  public String getActiveThread() {
     return activeThread;
   }
 
   /** See {@link #entryFunction}. */
   public ThreadingIntpState withEntryFunction(@Nullable FunctionCallEdge pEntryFunction) {
+    if (Objects.equals(entryFunction, pEntryFunction)) {
+      return this;
+    }
     return new ThreadingIntpState(
         threads,
+        threadsHash,
         locks,
-        new ArrayDeque<>(intpStack),
-        intpLevelEnableFlags,
-        new HashMap<>(intpTimes),
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
         activeThread,
+        keepedActiveThread,
         pEntryFunction,
         threadIdsForWitness);
   }
@@ -710,28 +848,28 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
 
   public boolean isInterruptEnabled(int pLevel) {
     Preconditions.checkArgument(
-        pLevel > 0 && pLevel <= intpLevelEnableFlags.length,
+        pLevel > 0 && pLevel <= numIntpLevels,
         "interruption level "
             + pLevel
             + " is out of boundary (1 ~ "
-            + intpLevelEnableFlags.length
+            + numIntpLevels
             + ").");
 
-    return intpLevelEnableFlags[pLevel - 1];
+    return (intpLevelMask & (1L << (pLevel - 1))) != 0;
+  }
+
+  /** The enabled interruption levels as a bit mask, bit (l - 1) is set iff level l is enabled. */
+  public long getEnabledLevelMask() {
+    return intpLevelMask;
   }
 
   public boolean isAllInterruptDisabled() {
-    for (int i = 0; i < this.intpLevelEnableFlags.length; ++i) {
-      if (this.intpLevelEnableFlags[i]) {
-        return false;
-      }
-    }
-    return true;
+    return intpLevelMask == 0;
   }
 
   public String getButNotRemoveTopProcInterruptId() {
     if (!intpStack.isEmpty()) {
-      return intpStack.peekLast();
+      return intpStack.head();
     }
     return null;
   }
@@ -778,48 +916,88 @@ public class ThreadingIntpState implements AbstractState, AbstractStateWithLocat
   }
 
   public int getCurrentInterruptTimes(String intpFuncName) {
-    return intpTimes.containsKey(intpFuncName) ? intpTimes.get(intpFuncName) : 0;
+    return intpTimes.getOrDefault(intpFuncName, 0);
   }
 
-  public void pushIntpStack(String intpThreadId) {
-    intpStack.addLast(intpThreadId);
+  public ThreadingIntpState pushIntpStackAndCopy(String intpThreadId) {
+    return withIntpStack(intpStack.with(intpThreadId));
   }
 
-  public void removeIntpFromStack(String intpFuncName) {
+  public ThreadingIntpState removeIntpFromStackAndCopy(String intpFuncName) {
     // NOTICE: this may cause the feature 'interrupt reentrant' not well supported!
     // TODO: fix this operation to support interrupt reentrant.
-    intpStack.remove(intpFuncName);
+    return withIntpStack(intpStack.without(intpFuncName));
+  }
+
+  /** See {@link #preemptions}. */
+  public int getPreemptions() {
+    return preemptions;
+  }
+
+  public ThreadingIntpState addPreemptionAndCopy() {
+    return new ThreadingIntpState(
+        threads,
+        threadsHash,
+        locks,
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions + 1,
+        intpTimes,
+        activeThread,
+        keepedActiveThread,
+        entryFunction,
+        threadIdsForWitness);
   }
 
   public int getIntpStackLevel() {
     return intpStack.size();
   }
 
-  public void addIntpFuncTimes(String intpFuncName) {
-    if (!intpTimes.containsKey(intpFuncName)) {
-      intpTimes.put(intpFuncName, 0);
-    }
-    intpTimes.put(intpFuncName, intpTimes.get(intpFuncName) + 1);
+  public ThreadingIntpState addIntpFuncTimesAndCopy(String intpFuncName) {
+    return new ThreadingIntpState(
+        threads,
+        threadsHash,
+        locks,
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes.putAndCopy(intpFuncName, getCurrentInterruptTimes(intpFuncName) + 1),
+        activeThread,
+        keepedActiveThread,
+        entryFunction,
+        threadIdsForWitness);
   }
 
   public boolean isInterruptId(String tid) {
     return threads.get(tid).isInterruptThread();
   }
 
-  public void setKeepedActiveThread(String keepedActiveThread) {
-    this.keepedActiveThread = keepedActiveThread;
-  }
-
   public String getKeepedActiveThread() {
     return keepedActiveThread;
   }
 
-  public Deque<String> getIntpStack() {
-    return intpStack;
-  }
-
-  public ThreadingIntpState withKeepedActiveThread(String pKeepedActiveThread) {
-    this.setKeepedActiveThread(pKeepedActiveThread);
-    return this;
+  /** See {@link #keepedActiveThread}. */
+  public ThreadingIntpState withKeepedActiveThread(@Nullable String pKeepedActiveThread) {
+    if (Objects.equals(keepedActiveThread, pKeepedActiveThread)) {
+      return this;
+    }
+    return new ThreadingIntpState(
+        threads,
+        threadsHash,
+        locks,
+        locksHash,
+        intpStack,
+        numIntpLevels,
+        intpLevelMask,
+        preemptions,
+        intpTimes,
+        activeThread,
+        pKeepedActiveThread,
+        entryFunction,
+        threadIdsForWitness);
   }
 }
@@ -0,0 +1,46 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.threadingintp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+public class ThreadingIntpStateTest {
+
+  @Test
+  public void statesWithDifferentInterruptTimesDoNotCoverEachOther() {
+    ThreadingIntpState state = new ThreadingIntpState(2);
+    ThreadingIntpState fired = state.addIntpFuncTimesAndCopy("isr1");
+
+    assertThat(fired).isNotEqualTo(state);
+    assertThat(fired.isLessOrEqual(state)).isFalse();
+    assertThat(state.isLessOrEqual(fired)).isFalse();
+  }
+
+  @Test
+  public void statesWithEqualInterruptTimesAreEqual() {
+    ThreadingIntpState state = new ThreadingIntpState(2);
+    ThreadingIntpState fired1 = state.addIntpFuncTimesAndCopy("isr1");
+    ThreadingIntpState fired2 = state.addIntpFuncTimesAndCopy("isr1");
+
+    assertThat(fired1).isEqualTo(fired2);
+    assertThat(fired1.hashCode()).isEqualTo(fired2.hashCode());
+    assertThat(fired1.isLessOrEqual(fired2)).isTrue();
+  }
+
+  @Test
+  public void statesWithDifferentKeepedActiveThreadsAreDifferent() {
+    ThreadingIntpState state = new ThreadingIntpState(2);
+
+    assertThat(state.withKeepedActiveThread("main")).isNotEqualTo(state);
+    assertThat(state.withKeepedActiveThread("main"))
+        .isEqualTo(state.withKeepedActiveThread("main"));
+  }
+}
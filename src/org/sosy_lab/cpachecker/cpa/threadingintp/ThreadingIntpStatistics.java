@@ -0,0 +1,49 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2007-2020 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.cpa.threadingintp;
+
+import java.io.PrintStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+public class ThreadingIntpStatistics implements Statistics {
+
+  /** The number of pairs of representative point and interruption function. */
+  final StatInt preemptionPoints = new StatInt(StatKind.SUM, "Number of preemption points");
+
+  /** The number of preemption points that are removed by the reduction of interrupt points. */
+  final StatInt prunedPreemptionPoints =
+      new StatInt(StatKind.SUM, "Number of pruned preemption points");
+
+  final StatCounter createdInterrupts = new StatCounter("Number of created interrupts");
+
+  /** The number of states that could be interrupted, but have no preemptions left. */
+  final StatCounter exhaustedPreemptionBudgets =
+      new StatCounter("Number of states with exhausted preemption budget");
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put(preemptionPoints)
+        .put(prunedPreemptionPoints)
+        .put(createdInterrupts)
+        .put(exhaustedPreemptionBudgets);
+  }
+
+  @Override
+  public @Nullable String getName() {
+    return "ThreadingIntpCPA";
+  }
+}
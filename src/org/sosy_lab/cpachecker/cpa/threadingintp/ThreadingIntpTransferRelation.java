@@ -17,7 +17,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.io.BufferedReader;
 import java.io.File;
@@ -26,8 +25,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -44,6 +43,7 @@ import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.Optionals;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -205,13 +205,29 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
         + "function (-1 for un-limit times of interruption).")
   private int maxInterruptTimesForEachFunc = 1;
 
+  @Option(
+    secure = true,
+    description = "Reduce the interrupt points: an interrupt is only added after an edge that "
+        + "conflicts with it (i.e., one of them writes a shared variable the other one accesses), "
+        + "and inside an interrupt function only interrupts with higher priority are considered. "
+        + "With interrupt nesting, the accesses of an interrupt include the accesses of the "
+        + "interrupts that may preempt it.")
+  private boolean reduceInterruptPoints = false;
+
+  @Option(
+    secure = true,
+    description = "This option bounds the number of preemptions (i.e., created interrupts) along "
+        + "each path (-1 for an unbounded number of preemptions). The number of preemptions is "
+        + "tracked in the states, use 'analysis.traversal.useNumberOfPreemptions' to explore the "
+        + "states with fewer preemptions first.")
+  @IntegerOption(min = -1)
+  private int maxPreemptions = -1;
+
   /**
-   * We only need to add interruption at some special points (namely represent points).
-   * <p>
-   * {\<location, {interrupt_function_name, ...}\>, ...}
-   * </p>
+   * We only need to add interruption at some special points (namely represent points). These
+   * points and the priorities of the interrupts are compiled into bitsets once.
    */
-  private static Map<CFANode, Set<String>> repPoints;
+  private final InterruptPreemptionTable preemptionTable;
 
   public enum InterruptPriorityOrder {
     SH, // the smaller a priority number of an interruption function is, the higher of its priority
@@ -247,6 +263,8 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
 
   private final ConditionalDepGraph condDepGraph;
 
+  private final ThreadingIntpStatistics statistics = new ThreadingIntpStatistics();
+
   public ThreadingIntpTransferRelation(Configuration pConfig, CFA pCfa, LogManager pLogger)
       throws InvalidConfigurationException {
     pConfig.inject(this);
@@ -257,7 +275,18 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
     condDepGraph = GlobalInfo.getInstance().getEdgeInfo().getCondDepGraph();
 
     priorityMap = parseInterruptPriorityFile();
-    repPoints = buildRepPointMap();
+    Map<CFANode, Set<String>> repPoints = buildRepPointMap(reduceInterruptPoints);
+    statistics.preemptionPoints.setNextValue(countRepPoints(repPoints));
+    if (reduceInterruptPoints) {
+      Map<CFANode, Set<String>> fullRepPoints = buildRepPointMap(false);
+      int pruned = 0;
+      for (Entry<CFANode, Set<String>> point : fullRepPoints.entrySet()) {
+        Set<String> reduced = repPoints.getOrDefault(point.getKey(), ImmutableSet.of());
+        pruned += Sets.difference(point.getValue(), reduced).size();
+      }
+      statistics.prunedPreemptionPoints.setNextValue(pruned);
+    }
+    preemptionTable = new InterruptPreemptionTable(priorityMap, repPoints, intpPriOrder);
 
     isVerifyingConcurrentProgram =
         !from(cfa.getAllFunctionNames()).filter(f -> f.contains(CFACloner.SEPARATOR))
@@ -265,10 +294,42 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
             .isEmpty();
   }
 
+  private static int countRepPoints(Map<CFANode, Set<String>> pRepPoints) {
+    int count = 0;
+    for (Set<String> intpFuncs : pRepPoints.values()) {
+      count += intpFuncs.size();
+    }
+    return count;
+  }
+
+  /** Whether the number of preemptions along each path is bounded, see {@link #maxPreemptions}. */
+  boolean isPreemptionBounded() {
+    return maxPreemptions != -1;
+  }
+
+  ThreadingIntpStatistics getStatistics() {
+    return statistics;
+  }
+
   // TODO: this function currently is only for testing interruption implementation.
-  private Map<CFANode, Set<String>> buildRepPointMap() {
+  private Map<CFANode, Set<String>> buildRepPointMap(boolean pReduce) {
     //// first step: get all the global access variables of interruption functions.
-    Map<String, Set<String>> intpFuncRWSharedVarMap = getIntpFuncReadWriteSharedVarMap();
+    // without reduction, every access of an interruption function is regarded as a write, such that
+    // any common shared variable is a conflict.
+    Map<String, Set<String>> intpFuncReadVarMap, intpFuncWriteVarMap;
+    if (pReduce) {
+      Pair<Map<String, Set<String>>, Map<String, Set<String>>> readWriteVarMaps =
+          getIntpFuncSharedVarMaps();
+      intpFuncReadVarMap = readWriteVarMaps.getFirst();
+      intpFuncWriteVarMap = readWriteVarMaps.getSecond();
+      if (enableInterruptNesting) {
+        intpFuncReadVarMap = addVarsOfPreemptingInterrupts(intpFuncReadVarMap);
+        intpFuncWriteVarMap = addVarsOfPreemptingInterrupts(intpFuncWriteVarMap);
+      }
+    } else {
+      intpFuncReadVarMap = getIntpFuncReadWriteSharedVarMap();
+      intpFuncWriteVarMap = intpFuncReadVarMap;
+    }
 
     //// second step: iterate all the edges of 'main' function & the interruption functions.
     Map<CFANode, Set<String>> results = new HashMap<>();
@@ -277,12 +338,16 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
       //// third step 1: process main function - interruption function
       Set<String> procFuncs = new HashSet<>();
       procFuncs.add(cfa.getMainFunction().getFunctionName());
-      results = handleRepPointForFunctions(intpFuncRWSharedVarMap, procFuncs, results);
+      results =
+          handleRepPointForFunctions(
+              intpFuncReadVarMap, intpFuncWriteVarMap, procFuncs, results, pReduce);
 
       //// third step 2: process interruption function - interruption function
       procFuncs.clear();
       procFuncs.addAll(priorityMap.keySet());
-      results = handleRepPointForFunctions(intpFuncRWSharedVarMap, procFuncs, results);
+      results =
+          handleRepPointForFunctions(
+              intpFuncReadVarMap, intpFuncWriteVarMap, procFuncs, results, pReduce);
 
       //// forth step: process the case that the main/interruption function and the functions it
       //// called do not
@@ -296,10 +361,21 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
     return results;
   }
 
+  /**
+   * Add the representative points of the given functions. An interruption function is added to the
+   * predecessor of an edge if the edge conflicts with it, i.e., the edge writes a shared variable
+   * the interruption function accesses, or reads a shared variable the interruption function
+   * writes.
+   *
+   * @param pPriorityAware whether to skip the interruption functions that cannot preempt the
+   *     processed interruption function because of their lower or equal priority.
+   */
   private Map<CFANode, Set<String>> handleRepPointForFunctions(
-      Map<String, Set<String>> intpFuncRWSharedVarMap,
+      Map<String, Set<String>> pIntpFuncReadVarMap,
+      Map<String, Set<String>> pIntpFuncWriteVarMap,
       Set<String> pProcFuncSet,
-      Map<CFANode, Set<String>> pResults)
+      Map<CFANode, Set<String>> pResults,
+      boolean pPriorityAware)
       throws UnrecognizedCodeException {
 
     // iterate all the interruption functions.
@@ -340,31 +416,42 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
 
               // enter the body of the current function.
               if (isEnterFuncBody) {
-                EdgeVtx edgeInfo = (EdgeVtx) condDepGraph.getDGNode(edge.hashCode());
+                EdgeVtx edgeInfo = (EdgeVtx) condDepGraph.getDGNode(edge);
                 // NOTICE: we need to add selection point to the successor node of current edge.
                 CFANode preNode = edge.getPredecessor();
 
                 if (edgeInfo != null) {
                   // get read/write variables of the main function edge.
-                  Set<String> edgeRWSharedVarSet = new HashSet<>();
-                  edgeRWSharedVarSet
-                      .addAll(from(edgeInfo.getgReadVars()).transform(v -> v.getName()).toSet());
-                  edgeRWSharedVarSet
-                      .addAll(from(edgeInfo.getgWriteVars()).transform(v -> v.getName()).toSet());
+                  ImmutableSet<String> edgeReadSharedVarSet =
+                      from(edgeInfo.getgReadVars()).transform(v -> v.getName()).toSet();
+                  ImmutableSet<String> edgeWriteSharedVarSet =
+                      from(edgeInfo.getgWriteVars()).transform(v -> v.getName()).toSet();
 
-                  for (String intpFunc : intpFuncRWSharedVarMap.keySet()) {
+                  for (String intpFunc : pIntpFuncWriteVarMap.keySet()) {
                     // if not allow the feature of interrupt reentrant, then we should skip this
                     // case.
                     if (!allowInterruptReentrant && curFunc.equals(intpFunc)) {
                       continue;
                     }
+                    // the interruption function can never preempt the processed interruption
+                    // function.
+                    if (pPriorityAware
+                        && priorityMap.containsKey(curIntpFunc)
+                        && !hasHigherPriority(intpFunc, curIntpFunc)) {
+                      continue;
+                    }
 
-                    Set<String> intpRWSharedVarSet = intpFuncRWSharedVarMap.get(intpFunc);
+                    Set<String> intpReadSharedVarSet = pIntpFuncReadVarMap.get(intpFunc);
+                    Set<String> intpWriteSharedVarSet = pIntpFuncWriteVarMap.get(intpFunc);
 
                     // current edge has accessed some common shared variables that accessed by the
                     // interruption function. we regard the successor node of current edge as an
                     // 'representative selection point'.
-                    if (!Sets.intersection(intpRWSharedVarSet, edgeRWSharedVarSet).isEmpty()) {
+                    if (!Sets.intersection(intpWriteSharedVarSet, edgeReadSharedVarSet).isEmpty()
+                        || !Sets.intersection(intpWriteSharedVarSet, edgeWriteSharedVarSet)
+                            .isEmpty()
+                        || !Sets.intersection(intpReadSharedVarSet, edgeWriteSharedVarSet)
+                            .isEmpty()) {
                       if (!pResults.containsKey(preNode)) {
                         pResults.put(preNode, new HashSet<>());
                       }
@@ -511,7 +598,26 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
    * @return The set of shared variables accessed by each interruption function.
    */
   private Map<String, Set<String>> getIntpFuncReadWriteSharedVarMap() {
+    Pair<Map<String, Set<String>>, Map<String, Set<String>>> readWriteVarMaps =
+        getIntpFuncSharedVarMaps();
     Map<String, Set<String>> results = new HashMap<>();
+    for (Entry<String, Set<String>> readVars : readWriteVarMaps.getFirst().entrySet()) {
+      results.put(
+          readVars.getKey(),
+          Sets.union(readVars.getValue(), readWriteVarMaps.getSecond().get(readVars.getKey())));
+    }
+    return results;
+  }
+
+  /**
+   * This function collects the shared variables read and written by each interruption function
+   * (cf. {@link #getIntpFuncReadWriteSharedVarMap()}).
+   *
+   * @return The sets of shared variables read and written by each interruption function.
+   */
+  private Pair<Map<String, Set<String>>, Map<String, Set<String>>> getIntpFuncSharedVarMaps() {
+    Map<String, Set<String>> readResults = new HashMap<>();
+    Map<String, Set<String>> writeResults = new HashMap<>();
 
     Set<CFANode> visitedNodes = new HashSet<>();
     Deque<CFANode> waitlist = new ArrayDeque<>();
@@ -522,7 +628,8 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
     for (String func : cfa.getAllFunctionNames()) {
       // we only process the shared variables of interruption functions.
       if (priorityMap.containsKey(removeCloneInfoOfFuncName(func))) {
-        Set<String> funcReadWriteSharedVars = new HashSet<>();
+        Set<String> funcReadSharedVars = new HashSet<>();
+        Set<String> funcWriteSharedVars = new HashSet<>();
 
         waitlist.push(cfa.getFunctionHead(func));
         while (!waitlist.isEmpty()) {
@@ -538,12 +645,12 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
                 intpEnableRelation = addIntpEnableRelationForEdge(func, edge, intpEnableRelation);
 
                 // get the access information of global variables of the edge.
-                EdgeVtx edgeInfo = (EdgeVtx) condDepGraph.getDGNode(edge.hashCode());
+                EdgeVtx edgeInfo = (EdgeVtx) condDepGraph.getDGNode(edge);
 
                 if (edgeInfo != null) {
-                  funcReadWriteSharedVars
+                  funcReadSharedVars
                       .addAll(from(edgeInfo.getgReadVars()).transform(v -> v.getName()).toSet());
-                  funcReadWriteSharedVars
+                  funcWriteSharedVars
                       .addAll(from(edgeInfo.getgWriteVars()).transform(v -> v.getName()).toSet());
                 }
 
@@ -555,13 +662,47 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
           }
         }
 
-        results.put(func, funcReadWriteSharedVars);
+        readResults.put(func, funcReadSharedVars);
+        writeResults.put(func, funcWriteSharedVars);
       }
     }
-    
+
     // iterate all the enable relation, we add the variables of corresponding interruption function
     // to current interruption function.
-    return computeVarSetFixedPoint(intpEnableRelation, results);
+    return Pair.of(
+        computeVarSetFixedPoint(intpEnableRelation, readResults),
+        computeVarSetFixedPoint(intpEnableRelation, writeResults));
+  }
+
+  /**
+   * Add the shared variables of the interruption functions that may preempt an interruption
+   * function (i.e., those with a higher priority) to the variables of this function. When
+   * interrupts are nested, the preempting interruptions are part of the execution of an
+   * interruption function.
+   */
+  private Map<String, Set<String>> addVarsOfPreemptingInterrupts(
+      Map<String, Set<String>> pVarMap) {
+    Map<String, Set<String>> results = new HashMap<>();
+    for (Entry<String, Set<String>> intpVars : pVarMap.entrySet()) {
+      Set<String> vars = new HashSet<>(intpVars.getValue());
+      for (Entry<String, Set<String>> otherIntpVars : pVarMap.entrySet()) {
+        if (hasHigherPriority(otherIntpVars.getKey(), intpVars.getKey())) {
+          vars.addAll(otherIntpVars.getValue());
+        }
+      }
+      results.put(intpVars.getKey(), vars);
+    }
+    return results;
+  }
+
+  /** Whether the first interruption function has a higher priority than the second one. */
+  private boolean hasHigherPriority(String pIntpFunc1, String pIntpFunc2) {
+    Integer pri1 = priorityMap.get(removeCloneInfoOfFuncName(pIntpFunc1));
+    Integer pri2 = priorityMap.get(removeCloneInfoOfFuncName(pIntpFunc2));
+    if (pri1 == null || pri2 == null) {
+      return false;
+    }
+    return intpPriOrder.equals(InterruptPriorityOrder.BH) ? pri1 > pri2 : pri1 < pri2;
   }
 
   /**
@@ -1005,7 +1146,7 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
       if (isLastNodeOfThread(tmp.getThreadLocation(id).getLocationNode())) {
         // remove interrupt-id from the 'intpStack'.
         if (tmp.isInterruptId(id)) {
-          tmp.removeIntpFromStack(id);
+          tmp = tmp.removeIntpFromStackAndCopy(id);
         }
 
         // then, we remove the thread-id from current state.
@@ -1382,7 +1523,7 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
     // modified by yzc: 22-08-05
     if (isSingleThread) {
       return Optionals.asSet(results.map(ts -> {
-        String keepedActiveThread = ts.getIntpStack().isEmpty() ? ts.getActiveThread() : ts.getIntpStack().peekLast();
+        String keepedActiveThread = ts.isProcessingInterrupt() ? ts.getButNotRemoveTopProcInterruptId() : ts.getActiveThread();
         return ts.withActiveThread(null).withEntryFunction(null).withKeepedActiveThread(keepedActiveThread);
       }));
     } else {
@@ -1458,17 +1599,13 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
       throws UnrecognizedCodeException, InterruptedException {
     // first step: obtain all the interrupt point to check whether this location need to be
     // interrupted.
-    Collection<Pair<CFANode, String>> intpPoints = obtainInterruptPoints(threadingState);
+    BitSet intpPoints = preemptionTable.getInterruptPoints(threadingState.getLocationNodes());
     if (!intpPoints.isEmpty() && !threadingState.isAllInterruptDisabled()) {
-      // second step: we need to filter out some invalid interrupts by using the following rules:
-      Set<Pair<Integer, String>> canIntpPoints =
-          filterOutInvalidInterruptPoints(threadingState, intpPoints, edge);
-
-      // third step: group and re-order these interrupt points according to their priorities.
-      Set<List<String>> orderedIntpPoints = createInteruptCreationSet(canIntpPoints);
+      // second step: we need to filter out some invalid interrupts.
+      filterOutInvalidInterruptPoints(threadingState, intpPoints, edge);
 
-      // fourth step: create interrupt threads for these points.
-      return createInterruptThreads(orderedIntpPoints, results);
+      // third step: create interrupt threads for these points.
+      return createInterruptThreads(intpPoints, results);
     } else {
       // do nothing if no interrupt point exists or all the interrupt are disabled.
       return results;
@@ -1478,183 +1615,107 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
   /**
    * This function filter out some invalid interrupts by using the following rules:
    * <p>
-   * 1. replicated interrupts that belongs to different selection points; <br/>
-   * 2. the priority a interrupt in 'intpPoints' is smaller or equal to that of the current
+   * 1. the priority a interrupt in 'intpPoints' is smaller or equal to that of the current
    * processing interrupt (i.e., the top element of 'intpStack'); <br/>
-   * 3. the interrupt i is disabled (i.e., intpLevelEnableFlags[i] == false); <br/>
-   * 4. re-interrupt the same interrupts (i.e., interrupt reentrant is not supported) (this rule
-   * will be covered by rule 2); <br/>
-   * 5. the bound of interrupt-times of corresponding interrupt is reached; <br/>
+   * 2. the interrupt i is disabled (i.e., intpLevelEnableFlags[i] == false); <br/>
+   * 3. re-interrupt the same interrupts (i.e., interrupt reentrant is not supported) (this rule
+   * will be covered by rule 1); <br/>
+   * 4. the bound of interrupt-times of corresponding interrupt is reached; <br/>
    * </p>
-   * 
+   * Replicated interrupts that belongs to different selection points are already merged in
+   * 'intpPoints'.
+   *
    * @param threadingState Current threading state.
-   * @param intpPoints The interrupts that can occur at current location.
-   * @return each pair contains: 1) the priority of the interrupt, and 2) the name of interrupt.
+   * @param intpPoints The interrupts that can occur at current location, the invalid interrupts
+   *     are removed from this set.
    * @throws UnrecognizedCodeException
    */
-  private Set<Pair<Integer, String>> filterOutInvalidInterruptPoints(
+  private void filterOutInvalidInterruptPoints(
       final ThreadingIntpState threadingState,
-      final Collection<Pair<CFANode, String>> intpPoints,
+      final BitSet intpPoints,
       final CFAEdge edge)
       throws UnrecognizedCodeException {
-    //// rule 1: remove replicated interrupts, and add priority for last interrupts.
-    ImmutableSet<String> intpFuncSet = from(intpPoints).transform(p -> p.getSecond()).toSet();
-    ImmutableSet<Pair<Integer, String>> intpPriFuncPairSet =
-        from(intpFuncSet).transform(i -> Pair.of(priorityMap.get(i), i)).toSet();
-
-    //// rule 2: remove all the interrupts that their interrupt-priority is smaller or equal to that
+    //// rule 1: remove all the interrupts that their interrupt-priority is smaller or equal to that
     //// of the current processing interrupt.
-    // get the top element of current processing interrupt.
-    ImmutableSet<Pair<Integer, String>> intpsPriGreater =
-        getGreaterPriorityInterrupts(threadingState, intpPriFuncPairSet);
+    intpPoints.and(
+        preemptionTable.getHigherPriorityInterrupts(
+            threadingState.getButNotRemoveTopProcInterruptId()));
 
-    //// rule 3: removes disabled interrupts.
+    //// rule 2: removes disabled interrupts.
     /// NOTICE: in this step, we need add interruptions if current transfer-in edge is enable
     //// function.
-    ImmutableSet<Pair<Integer, String>> enIntpsPriGreater =
-        getEnabledInterrupts(threadingState, intpsPriGreater, edge);
-
-    //// rule 4: remove reentrant interrupts (this rule is covered by rule 2 since the interrupts in
-    //// 'enIntpsPriGreater' are greater than that of interrupts in current interrupt stack
-    //// 'intpStack').
-    // ImmutableSet<String> curIntpFuncNames = threadingState.getAllInterruptFunctions();
-    // if (!allowInterruptReentrant
-    // && Sets.intersection(curIntpFuncNames, enIntpsPriGreaterFuncNameSet).isEmpty()) {
-    // // it means all the interrupts in enIntpsPriGreater
-    // } else {
-    // throw new CPATransferException(
-    // "currently not support for the feature of interrupt reentrant");
-    // }
-
-    //// rule 5: remove the time interrupts that reach the bound of interrupt-times.
-    if (maxInterruptTimesForEachFunc != -1) {
-      return from(enIntpsPriGreater).filter(
-          i -> threadingState
-              .getCurrentInterruptTimes(i.getSecond()) < maxInterruptTimesForEachFunc)
-          .toSet();
-    } else {
-      return intpsPriGreater;
-    }
-  }
-
-  private ImmutableSet<Pair<Integer, String>>
-      getGreaterPriorityInterrupts(
-          final ThreadingIntpState threadingState,
-          final ImmutableSet<Pair<Integer, String>> intpPriFuncPairSet) {
-    String topIntpId = threadingState.getButNotRemoveTopProcInterruptId();
-    int topIntpPri = topIntpId != null ? priorityMap.get(topIntpId) : getLowestPriority();
-
-    ImmutableSet<Pair<Integer, String>> intpsPriGreater;
-    if (intpPriOrder.equals(InterruptPriorityOrder.BH)) {
-      intpsPriGreater = from(intpPriFuncPairSet).filter(p -> p.getFirst() > topIntpPri).toSet();
-    } else {
-      intpsPriGreater = from(intpPriFuncPairSet).filter(p -> p.getFirst() < topIntpPri).toSet();
-    }
-    
-    return intpsPriGreater;
-  }
-
-  private ImmutableSet<Pair<Integer, String>> getEnabledInterrupts(
-      final ThreadingIntpState threadingState,
-      final ImmutableSet<Pair<Integer, String>> intpPriFuncPairSet,
-      final CFAEdge edge)
-      throws UnrecognizedCodeException {
-    // first, we need to check whether current edge is an interruption enable function.
     Pair<Integer, Boolean> enDisIntpLevelPair = getEnDisIntpLevel(edge);
     int enDisIntpLevel = enDisIntpLevelPair.getFirst();
     boolean isEnFunc = enDisIntpLevelPair.getSecond();
 
     if (isEnFunc) {
-      // current edge contains enable-function, we just need to return the given pairs.
-      return intpPriFuncPairSet;
-    } else if (enDisIntpLevel >= -1) {
-      // current edge contains disable-function, we should filter the interruptions belong to the
-      // priority.
-      if (enDisIntpLevel == -1) {
-        // disable all the interruptions, thus no interruption should be returned.
-        return ImmutableSet.of();
-      } else {
-        // filter the interruptions that belongs to the priority.
-        return from(intpPriFuncPairSet).filter(i -> i.getFirst() != enDisIntpLevel).toSet();
-      }
+      // current edge contains enable-function, we just need to keep the given interrupts.
+    } else if (enDisIntpLevel == -1) {
+      // disable all the interruptions, thus no interruption should be returned.
+      intpPoints.clear();
+    } else if (enDisIntpLevel >= 0) {
+      // filter the interruptions that belongs to the disabled priority.
+      intpPoints.andNot(preemptionTable.getInterruptsOfLevel(enDisIntpLevel));
     } else {
       // current edge is an normal edge, we need to filter the disabled interruptions.
-      return from(intpPriFuncPairSet).filter(i -> threadingState.isInterruptEnabled(i.getFirst()))
-          .toSet();
+      intpPoints.and(
+          preemptionTable.getInterruptsOfLevels(threadingState.getEnabledLevelMask()));
     }
-  }
-
-  private Set<List<String>>
-      createInteruptCreationSet(final Set<Pair<Integer, String>> canIntpPoints) {
-    Set<List<String>> results = new HashSet<>();
 
-    // first step: add an empty list, it means that no interruption needs to be executed.
-    results.add(new ArrayList<>());
+    //// rule 3: remove reentrant interrupts (this rule is covered by rule 1 since the interrupts in
+    //// 'intpPoints' are greater than that of interrupts in current interrupt stack 'intpStack').
 
-    // second step: for each interruption point, we create a list that only contains that
-    // interruption.
-    canIntpPoints.forEach(i -> results.add(List.of(i.getSecond())));
-
-    return results;
-  }
-
-  private Set<List<String>> orderInterruptPoints(
-      final Set<Pair<Integer, String>> canIntpPoints) {
-    // first step: create the power set of these interrupts.
-    Set<Set<Pair<Integer, String>>> intpsPowerSet = Sets.powerSet(canIntpPoints);
-
-    // second step: re-order these interrupts by their priority.
-    Set<List<String>> results = new HashSet<>();
-    intpsPowerSet.forEach(s -> {
-      // sort the set s.
-      List<Pair<Integer, String>> toList = Lists.newArrayList(s.iterator());
-      toList.sort(new Comparator<Pair<Integer, String>>() {
-
-        @Override
-        public int compare(Pair<Integer, String> pO1, Pair<Integer, String> pO2) {
-           if (intpPriOrder.equals(InterruptPriorityOrder.BH)) {
-           return pO2.getFirst() - pO1.getFirst();
-           } else {
-           return pO1.getFirst() - pO2.getFirst();
-           }
+    //// rule 4: remove the time interrupts that reach the bound of interrupt-times.
+    if (maxInterruptTimesForEachFunc != -1) {
+      for (int i = intpPoints.nextSetBit(0); i >= 0; i = intpPoints.nextSetBit(i + 1)) {
+        if (threadingState.getCurrentInterruptTimes(preemptionTable.getInterruptFunction(i))
+            >= maxInterruptTimesForEachFunc) {
+          intpPoints.clear(i);
         }
-      });
-      // only preserve interrupt functions.
-      results.add(from(toList).transform(p -> p.getSecond()).toList());
-    });
-
-    return results;
+      }
+    }
   }
 
+  /**
+   * Create the successors for the given interrupts: each result without interruption, and each
+   * result interrupted by one of the given interrupts.
+   */
   private Collection<ThreadingIntpState> createInterruptThreads(
-      final Set<List<String>> orderedIntpPoints,
+      final BitSet intpPoints,
       final Collection<ThreadingIntpState> results)
       throws UnrecognizedCodeException, InterruptedException {
 
-    Collection<ThreadingIntpState> newResults = new ArrayList<>();
+    Collection<ThreadingIntpState> newResults =
+        new ArrayList<>(results.size() * (intpPoints.cardinality() + 1));
 
     // add new interrupts for each results.
     for (ThreadingIntpState ts : results) {
-      // iterate over the orderedIntpPoints to create new interrupts.
-      Iterator<List<String>> oip = orderedIntpPoints.iterator();
-      while (oip.hasNext()) {
-        ThreadingIntpState newThreadingState = ts;
-        List<String> oil = oip.next();
-        // create interrupts orderly.
-        for (int i = 0; i < oil.size(); ++i) {
-          String intpFunc = oil.get(i);
-          if ((ts.getIntpStackLevel() < maxLevelInterruptNesting)
-              && (intpFunc != null && !intpFunc.isEmpty())) {
-            newThreadingState = addNewIntpThread(newThreadingState, intpFunc);
-          } else {
-            // we do nothing if the maximum interrupt nesting level is reached.
-            logger.log(
-                Level.WARNING,
-                "current state reaches the maximum interrupt nesting level "
-                    + maxLevelInterruptNesting);
-          }
+      // no interruption needs to be executed.
+      newResults.add(ts);
+
+      if (intpPoints.isEmpty()) {
+        continue;
+      }
+      if (maxPreemptions != -1 && ts.getPreemptions() >= maxPreemptions) {
+        // the preemption budget of this path is exhausted.
+        statistics.exhaustedPreemptionBudgets.inc();
+        continue;
+      }
+      if (ts.getIntpStackLevel() >= maxLevelInterruptNesting) {
+        // we do nothing if the maximum interrupt nesting level is reached.
+        logger.log(
+            Level.WARNING,
+            "current state reaches the maximum interrupt nesting level "
+                + maxLevelInterruptNesting);
+        continue;
+      }
+      for (int i = intpPoints.nextSetBit(0); i >= 0; i = intpPoints.nextSetBit(i + 1)) {
+        ThreadingIntpState newThreadingState =
+            addNewIntpThread(ts, preemptionTable.getInterruptFunction(i));
+        if (newThreadingState != null) {
+          statistics.createdInterrupts.inc();
+          newResults.add(newThreadingState);
         }
-        newResults.add(newThreadingState);
       }
     }
 
@@ -1685,29 +1746,14 @@ public final class ThreadingIntpTransferRelation extends SingleEdgeTransferRelat
         addNewThread(threadingState, intpThreadId, intpFuncPri, newIntpNum, intpFuncName);
     if (resThreadingState != null) {
       // setup other information.
-      resThreadingState.pushIntpStack(intpThreadId);
-      resThreadingState.addIntpFuncTimes(intpFunc);
+      resThreadingState =
+          resThreadingState.pushIntpStackAndCopy(intpThreadId).addIntpFuncTimesAndCopy(intpFunc);
+      resThreadingState = resThreadingState.addPreemptionAndCopy();
     }
 
     return resThreadingState;
   }
 
-  private Collection<Pair<CFANode, String>>
-      obtainInterruptPoints(final ThreadingIntpState threadingState) {
-    Iterator<CFANode> locsIter = threadingState.getLocationNodes().iterator();
-    Set<Pair<CFANode, String>> canIntpPoints = new HashSet<>();
-
-    while (locsIter.hasNext()) {
-      CFANode loc = locsIter.next();
-
-      if (repPoints.containsKey(loc)) {
-        canIntpPoints.addAll(from(repPoints.get(loc)).transform(f -> Pair.of(loc, f)).toSet());
-      }
-    }
-
-    return canIntpPoints;
-  }
-
   public static String removeCloneInfoOfFuncName(String funcName) {
     if (funcName != null) {
       return funcName.contains(CFACloner.SEPARATOR)
@@ -48,6 +48,7 @@ import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
+import org.sosy_lab.cpachecker.core.interfaces.SubsumptionSignatureProvider;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker.ProofCheckerCPA;
 import org.sosy_lab.cpachecker.cpa.arg.path.ARGPath;
 import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisPrecisionAdjustment.PrecAdjustmentOptions;
@@ -68,7 +69,8 @@ public class ValueAnalysisCPA extends AbstractCPA
     implements ConfigurableProgramAnalysisWithBAM,
         StatisticsProvider,
         ProofCheckerCPA,
-        ConfigurableProgramAnalysisWithConcreteCex {
+        ConfigurableProgramAnalysisWithConcreteCex,
+        SubsumptionSignatureProvider {
 
   private enum UnknownValueStrategy {
     /** This strategy discards all unknown values from the value analysis state */
@@ -245,6 +247,15 @@ public class ValueAnalysisCPA extends AbstractCPA
     return buildStopOperator(stopType);
   }
 
+  /**
+   * All supported stop operators only cover a state by a single reached state that is greater or
+   * equal, thus the signature of {@link ValueAnalysisState} is valid for all of them.
+   */
+  @Override
+  public long getSubsumptionSignature(AbstractState pState) {
+    return ((ValueAnalysisState) pState).getSubsumptionSignature();
+  }
+
   @Override
   public ValueAnalysisTransferRelation getTransferRelation() {
     return new ValueAnalysisTransferRelation(
@@ -107,6 +107,14 @@ public final class ValueAnalysisState
    */
   private int hashCode = 0;
 
+  /**
+   * the cached signature of {@link #constantsMap} (cf. {@link #getSubsumptionSignature()}), which
+   * needs to be reset with every change of {@link #constantsMap}, 0 if not yet computed. It is
+   * volatile, as the stop operators of concurrent workers (e.g., of ParallelDFSAlgorithm) may
+   * compute it for the same reached state.
+   */
+  private transient volatile long subsumptionSignature = 0;
+
   private final @Nullable MachineModel machineModel;
 
   public ValueAnalysisState(MachineModel pMachineModel) {
@@ -171,6 +179,7 @@ public final class ValueAnalysisState
     }
     constantsMap = constantsMap.putAndCopy(pMemLoc, valueAndType);
     hashCode += (pMemLoc.hashCode() ^ valueAndType.hashCode());
+    subsumptionSignature = 0;
   }
 
   /**
@@ -240,6 +249,7 @@ public final class ValueAnalysisState
     ValueAndType value = constantsMap.get(pMemoryLocation);
     constantsMap = constantsMap.removeAndCopy(pMemoryLocation);
     hashCode -= (pMemoryLocation.hashCode() ^ value.hashCode());
+    subsumptionSignature = 0;
 
     PersistentMap<MemoryLocation, ValueAndType> valueAssignment = PathCopyingPersistentTreeMap.of();
     valueAssignment = valueAssignment.putAndCopy(pMemoryLocation, value);
@@ -419,6 +429,24 @@ public final class ValueAnalysisState
     return true;
   }
 
+  /**
+   * Get a signature of the assignments of this state, where each pair of a memory location and its
+   * value (ignoring the type, like {@link #isLessOrEqual(ValueAnalysisState)}) sets one bit. If this
+   * state is less or equal than another state, the signature of the other state is a subset of the
+   * signature of this state.
+   */
+  long getSubsumptionSignature() {
+    long signature = subsumptionSignature;
+    if (signature == 0) {
+      for (Entry<MemoryLocation, ValueAndType> entry : constantsMap.entrySet()) {
+        int hash = 31 * entry.getKey().hashCode() + entry.getValue().getValue().hashCode();
+        signature |= 1L << ((hash ^ (hash >>> 16)) & 63);
+      }
+      subsumptionSignature = signature;
+    }
+    return signature;
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) {
@@ -19,6 +19,8 @@
  */
 package org.sosy_lab.cpachecker.util.dependence.conditional;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.sosy_lab.cpachecker.util.statistics.StatCounter;
 import org.sosy_lab.cpachecker.util.statistics.StatInt;
 import org.sosy_lab.cpachecker.util.statistics.StatKind;
@@ -31,6 +33,16 @@ public class CondDepGraphBuilderStatistics {
       new StatTimer("Time for building the nodes of conditional dependence graph");
   final StatTimer depGraphBuildTimer =
       new StatTimer("Time for building conditional dependence graph");
+  final StatTimer cacheLoadTimer =
+      new StatTimer("Time for loading conditional dependence graph from cache");
+  final StatTimer cacheStoreTimer =
+      new StatTimer("Time for storing conditional dependence graph to cache");
+  final StatTimer varIndexBuildTimer =
+      new StatTimer("Time for building the shared variable index");
+  final StatTimer parallelMergeTimer =
+      new StatTimer("Time for merging the results of parallel workers");
+  // one timer for each worker of the parallel construction.
+  final List<StatTimer> workerTimers = new ArrayList<>();
 
   // counter.
   final StatInt gVarAccessNodeNumber = new StatInt(StatKind.SUM, "Number of dependent node");
@@ -39,4 +51,11 @@ public class CondDepGraphBuilderStatistics {
       new StatCounter("Number of un-conditional dependent node pairs");
   final StatCounter blockNumber = new StatCounter("Number of block");
   final StatInt blockSize = new StatInt(StatKind.COUNT, "Size of block");
+  final StatInt indexedVarNumber =
+      new StatInt(StatKind.SUM, "Number of indexed shared variables");
+  final StatInt candidateNodePairNumber =
+      new StatInt(StatKind.SUM, "Number of candidate node pairs");
+  final StatInt prunedNodePairNumber =
+      new StatInt(StatKind.SUM, "Number of node pairs pruned by the index");
+  final StatInt workerTileNumber = new StatInt(StatKind.AVG, "Number of tiles per worker");
 }
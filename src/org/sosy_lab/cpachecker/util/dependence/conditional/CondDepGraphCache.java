@@ -0,0 +1,369 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2020  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.dependence.conditional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Table;
+import com.google.common.collect.Table.Cell;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.ast.AExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
+import org.sosy_lab.cpachecker.cfa.types.c.CType;
+import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAEdgeNumbering;
+
+/**
+ * This class stores a {@link ConditionalDepGraph} into a binary file and loads it back, so that the
+ * graph of a program need not be rebuilt in later runs.
+ *
+ * @implNote The file contains a key computed from the {@link CFA} and the options of the graph
+ *     builder, the graph is only loaded if the key matches. Edges are stored as (predecessor node
+ *     number, leaving edge index), since the node numbers of a CFA are deterministic. The
+ *     expressions and types are stored with Java serialization.
+ */
+public class CondDepGraphCache {
+
+  private static final int MAGIC = 0x43444743; // "CDGC"
+  private static final int VERSION = 2;
+
+  // the index of the leaving summary edge of a node.
+  private static final int SUMMARY_EDGE_INDEX = -1;
+  private static final int UNCOND_DEP_CONSTRAINT = 0;
+  private static final int COND_DEP_CONSTRAINT = 1;
+
+  private final CFA cfa;
+  private final HashCode key;
+
+  /**
+   * Create a cache for the graph of the given {@link CFA}.
+   *
+   * @param pCfa The {@link CFA} of the program.
+   * @param pOptionDigest A string that contains the values of all the options that may change the
+   *     built graph.
+   */
+  public CondDepGraphCache(final CFA pCfa, final String pOptionDigest) {
+    cfa = pCfa;
+    key = computeKey(pCfa, pOptionDigest);
+  }
+
+  private static HashCode computeKey(CFA pCfa, String pOptionDigest) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(VERSION).putString(pOptionDigest, UTF_8);
+
+    List<CFANode> cfaNodes = new ArrayList<>(pCfa.getAllNodes());
+    cfaNodes.sort(Comparator.comparingInt(CFANode::getNodeNumber));
+    for (CFANode node : cfaNodes) {
+      hasher.putInt(node.getNodeNumber()).putString(node.getFunctionName(), UTF_8);
+      for (int i = 0; i < node.getNumLeavingEdges(); ++i) {
+        putEdge(hasher, node.getLeavingEdge(i));
+      }
+      FunctionSummaryEdge summaryEdge = node.getLeavingSummaryEdge();
+      if (summaryEdge != null) {
+        putEdge(hasher, summaryEdge);
+      }
+    }
+
+    return hasher.hash();
+  }
+
+  private static void putEdge(Hasher pHasher, CFAEdge pEdge) {
+    pHasher
+        .putInt(pEdge.getSuccessor().getNodeNumber())
+        .putString(pEdge.getEdgeType().name(), UTF_8)
+        .putString(pEdge.getCode(), UTF_8)
+        .putString(pEdge.getRawStatement(), UTF_8);
+  }
+
+  /**
+   * This function loads the graph from the given file.
+   *
+   * @param pFile The cache file.
+   * @return The cached graph, or null if the file does not exist or it is built for another program
+   *     or other options.
+   * @throws IOException If the file could not be read.
+   */
+  public @Nullable ConditionalDepGraph load(final Path pFile) throws IOException {
+    if (!Files.isRegularFile(pFile)) {
+      return null;
+    }
+
+    try (InputStream inputStream = Files.newInputStream(pFile);
+        InputStream gzipInputStream = new GZIPInputStream(inputStream);
+        ObjectInputStream in = new ObjectInputStream(gzipInputStream)) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return null;
+      }
+      byte[] fileKey = new byte[in.readInt()];
+      in.readFully(fileKey);
+      if (!Arrays.equals(fileKey, key.asBytes())) {
+        return null;
+      }
+
+      return readGraph(in);
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("Invalid conditional dependence graph cache " + pFile, e);
+    }
+  }
+
+  /**
+   * This function stores the graph into the given file, an existing file is overwritten.
+   *
+   * @param pFile The cache file.
+   * @param pGraph The graph that need to be stored.
+   * @throws IOException If the file could not be written, or the graph contains an edge that is
+   *     not in the {@link CFA}.
+   */
+  public void store(final Path pFile, final ConditionalDepGraph pGraph) throws IOException {
+    MoreFiles.createParentDirectories(pFile);
+    try (OutputStream outputStream = Files.newOutputStream(pFile);
+        OutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+        ObjectOutputStream out = new ObjectOutputStream(gzipOutputStream)) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      byte[] keyBytes = key.asBytes();
+      out.writeInt(keyBytes.length);
+      out.write(keyBytes);
+
+      writeGraph(out, pGraph);
+    }
+  }
+
+  private void writeGraph(ObjectOutputStream pOut, ConditionalDepGraph pGraph)
+      throws IOException {
+    pOut.writeBoolean(pGraph.isComplete());
+    pOut.writeBoolean(pGraph.isUseCondDep());
+
+    // variables are shared by many nodes, hence we store them only once.
+    Map<Var, Integer> varIds = new LinkedHashMap<>();
+    for (EdgeVtx node : pGraph.getAllNodes()) {
+      node.getgReadVars().forEach(v -> varIds.putIfAbsent(v, varIds.size()));
+      node.getgWriteVars().forEach(v -> varIds.putIfAbsent(v, varIds.size()));
+    }
+    pOut.writeInt(varIds.size());
+    for (Var v : varIds.keySet()) {
+      pOut.writeObject(v.getName());
+      pOut.writeObject(v.getExp());
+      pOut.writeObject(v.getVarType());
+      pOut.writeBoolean(v.isGlobal());
+    }
+
+    Map<EdgeVtx, Integer> nodeIds = new HashMap<>();
+    pOut.writeInt(pGraph.getNodes().size());
+    for (Entry<Integer, EdgeVtx> nodeEntry : pGraph.getNodes().entrySet()) {
+      EdgeVtx node = nodeEntry.getValue();
+      nodeIds.put(node, nodeIds.size());
+
+      pOut.writeInt(nodeEntry.getKey());
+      writeEdge(pOut, node.getBlockStartEdge());
+      pOut.writeInt(node.getBlockEdges().size());
+      for (CFAEdge edge : node.getBlockEdges()) {
+        writeEdge(pOut, edge);
+      }
+      writeVarIds(pOut, node.getgReadVars(), varIds);
+      writeVarIds(pOut, node.getgWriteVars(), varIds);
+      pOut.writeBoolean(node.isSimpleEdgeVtx());
+      pOut.writeBoolean(node.isContainNonDetVar());
+      pOut.writeInt(node.getBlockEdgeNumber());
+    }
+
+    Set<Cell<EdgeVtx, EdgeVtx, CondDepConstraints>> cells = pGraph.getDepGraph().cellSet();
+    pOut.writeInt(cells.size());
+    for (Cell<EdgeVtx, EdgeVtx, CondDepConstraints> cell : cells) {
+      Integer rowId = nodeIds.get(cell.getRowKey()), colId = nodeIds.get(cell.getColumnKey());
+      if (rowId == null || colId == null) {
+        throw new IOException("Dependence graph contains a node pair that is not in its nodes");
+      }
+      pOut.writeInt(rowId);
+      pOut.writeInt(colId);
+      writeConstraints(pOut, cell.getValue());
+    }
+  }
+
+  private void writeEdge(ObjectOutputStream pOut, CFAEdge pEdge) throws IOException {
+    CFANode predecessor = pEdge.getPredecessor();
+    int edgeIndex = -2;
+    for (int i = 0; i < predecessor.getNumLeavingEdges(); ++i) {
+      if (predecessor.getLeavingEdge(i) == pEdge) {
+        edgeIndex = i;
+        break;
+      }
+    }
+    if (edgeIndex < 0 && predecessor.getLeavingSummaryEdge() == pEdge) {
+      edgeIndex = SUMMARY_EDGE_INDEX;
+    }
+    if (edgeIndex < SUMMARY_EDGE_INDEX) {
+      throw new IOException("Edge " + pEdge + " is not a leaving edge of its predecessor");
+    }
+
+    pOut.writeInt(predecessor.getNodeNumber());
+    pOut.writeInt(edgeIndex);
+  }
+
+  private void writeVarIds(ObjectOutputStream pOut, Set<Var> pVars, Map<Var, Integer> pVarIds)
+      throws IOException {
+    pOut.writeInt(pVars.size());
+    for (Var v : pVars) {
+      pOut.writeInt(pVarIds.get(v));
+    }
+  }
+
+  private void writeConstraints(ObjectOutputStream pOut, CondDepConstraints pConstraints)
+      throws IOException {
+    if (pConstraints == CondDepConstraints.unCondDepConstraint) {
+      pOut.writeByte(UNCOND_DEP_CONSTRAINT);
+      return;
+    }
+
+    pOut.writeByte(COND_DEP_CONSTRAINT);
+    pOut.writeBoolean(pConstraints.isUnCondDep());
+    pOut.writeBoolean(pConstraints.isHaveConfVars());
+    pOut.writeInt(pConstraints.getConstraints().size());
+    for (Pair<CExpression, String> constraint : pConstraints.getConstraints()) {
+      pOut.writeObject(constraint.getFirst());
+      pOut.writeObject(constraint.getSecond());
+    }
+  }
+
+  private ConditionalDepGraph readGraph(ObjectInputStream pIn)
+      throws IOException, ClassNotFoundException {
+    boolean complete = pIn.readBoolean(), useCondDep = pIn.readBoolean();
+
+    Map<Integer, CFANode> cfaNodes = new HashMap<>();
+    cfa.getAllNodes().forEach(n -> cfaNodes.put(n.getNodeNumber(), n));
+
+    Var[] vars = new Var[pIn.readInt()];
+    for (int i = 0; i < vars.length; ++i) {
+      String name = (String) pIn.readObject();
+      AExpression exp = (AExpression) pIn.readObject();
+      CType type = (CType) pIn.readObject();
+      vars[i] = new Var(name, exp, type, pIn.readBoolean());
+    }
+
+    BiMap<Integer, EdgeVtx> nodes = HashBiMap.create();
+    List<EdgeVtx> nodeList = new ArrayList<>();
+    int nodeNumber = pIn.readInt();
+    for (int i = 0; i < nodeNumber; ++i) {
+      int nodeKey = pIn.readInt();
+      CFAEdge blockStartEdge = readEdge(pIn, cfaNodes);
+      List<CFAEdge> blockEdges = new ArrayList<>();
+      int blockSize = pIn.readInt();
+      for (int j = 0; j < blockSize; ++j) {
+        blockEdges.add(readEdge(pIn, cfaNodes));
+      }
+      Set<Var> readVars = readVarIds(pIn, vars), writeVars = readVarIds(pIn, vars);
+      boolean simple = pIn.readBoolean(), containNonDetVar = pIn.readBoolean();
+      EdgeVtx node =
+          new EdgeVtx(
+              blockStartEdge,
+              blockEdges,
+              readVars,
+              writeVars,
+              simple,
+              containNonDetVar,
+              pIn.readInt());
+      nodes.put(nodeKey, node);
+      nodeList.add(node);
+    }
+
+    Table<EdgeVtx, EdgeVtx, CondDepConstraints> depGraph = HashBasedTable.create();
+    int cellNumber = pIn.readInt();
+    for (int i = 0; i < cellNumber; ++i) {
+      EdgeVtx rowNode = nodeList.get(pIn.readInt()), colNode = nodeList.get(pIn.readInt());
+      depGraph.put(rowNode, colNode, readConstraints(pIn));
+    }
+
+    return new ConditionalDepGraph(
+        nodes, depGraph, CFAEdgeNumbering.forCFA(cfa), complete, useCondDep);
+  }
+
+  private CFAEdge readEdge(ObjectInputStream pIn, Map<Integer, CFANode> pCfaNodes)
+      throws IOException {
+    int nodeNumber = pIn.readInt(), edgeIndex = pIn.readInt();
+    CFANode predecessor = pCfaNodes.get(nodeNumber);
+    CFAEdge edge = null;
+    if (predecessor != null) {
+      if (edgeIndex == SUMMARY_EDGE_INDEX) {
+        edge = predecessor.getLeavingSummaryEdge();
+      } else if (edgeIndex >= 0 && edgeIndex < predecessor.getNumLeavingEdges()) {
+        edge = predecessor.getLeavingEdge(edgeIndex);
+      }
+    }
+    if (edge == null) {
+      throw new IOException("Cached edge (N" + nodeNumber + ", " + edgeIndex + ") is not in CFA");
+    }
+    return edge;
+  }
+
+  private Set<Var> readVarIds(ObjectInputStream pIn, Var[] pVars) throws IOException {
+    int varNumber = pIn.readInt();
+    Set<Var> result = new HashSet<>();
+    for (int i = 0; i < varNumber; ++i) {
+      result.add(pVars[pIn.readInt()]);
+    }
+    return result;
+  }
+
+  private CondDepConstraints readConstraints(ObjectInputStream pIn)
+      throws IOException, ClassNotFoundException {
+    if (pIn.readByte() == UNCOND_DEP_CONSTRAINT) {
+      return CondDepConstraints.unCondDepConstraint;
+    }
+
+    boolean unCondDep = pIn.readBoolean(), haveConfVars = pIn.readBoolean();
+    Set<Pair<CExpression, String>> constraints = new HashSet<>();
+    int constraintNumber = pIn.readInt();
+    for (int i = 0; i < constraintNumber; ++i) {
+      CExpression exp = (CExpression) pIn.readObject();
+      constraints.add(Pair.of(exp, (String) pIn.readObject()));
+    }
+    return new CondDepConstraints(constraints, unCondDep, haveConfVars);
+  }
+}
@@ -19,28 +19,40 @@
  */
 package org.sosy_lab.cpachecker.util.dependence.conditional;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.base.Joiner;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.Table;
+import com.google.common.collect.Table.Cell;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.sosy_lab.common.io.IO;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.DGNode;
 import org.sosy_lab.cpachecker.util.dependence.DepTypeEnum;
 import org.sosy_lab.cpachecker.util.dependence.DependenceGraph;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAEdgeNumbering;
 
 /**
  * This graph preserves the conditional dependence relation and constraints of edges.
  *
+ * <p>Nodes are looked up by the dense {@link CFAEdgeNumbering id} of their edge, and every node has
+ * a vertex index that is used to look up the dependence relation in array-indexed tables.
+ *
  * @implNote If two edges have no dependency relation, the conditional dependence constraint will be
  *     null.
  */
@@ -48,23 +60,100 @@ public class ConditionalDepGraph extends DependenceGraph {
 
   private final boolean complete;
   private final boolean useCondDep;
+  private final CFAEdgeNumbering edgeNumbering;
   private BiMap<Integer, EdgeVtx> nodes;
-  private Map<Integer, EdgeVtx> blockNodes;
   private Table<EdgeVtx, EdgeVtx, CondDepConstraints> depGraph;
 
+  // the nodes and block nodes indexed by the id of their edges.
+  private final EdgeVtx[] edgeIdToNode;
+  private final EdgeVtx[] edgeIdToBlockNode;
+  // the vertex indices of the node instances of this graph, and of all nodes by equality.
+  private final Map<EdgeVtx, Integer> vtxIndexOfInstance = new IdentityHashMap<>();
+  private final Map<EdgeVtx, Integer> vtxIndices = new HashMap<>();
+  // the un-conditional dependence relation as a symmetric bit matrix over the vertex indices.
+  private final int vtxNumber;
+  private final long[] unCondDepMatrix;
+  // the conditional dependence constraints, for each row the columns are sorted (row < column).
+  private final int[][] condDepColumns;
+  private final CondDepConstraints[][] condDepConstraints;
+
   public ConditionalDepGraph(
       final BiMap<Integer, EdgeVtx> pNodes,
       final Table<EdgeVtx, EdgeVtx, CondDepConstraints> pDepGraph,
+      final CFAEdgeNumbering pEdgeNumbering,
       boolean pComplete,
       boolean pUseCondDep) {
-    assert pNodes != null && pDepGraph != null;
+    assert pNodes != null && pDepGraph != null && pEdgeNumbering != null;
     complete = pComplete;
     useCondDep = pUseCondDep;
+    edgeNumbering = pEdgeNumbering;
     nodes = pNodes;
     depGraph = pDepGraph;
 
-    blockNodes = new HashMap<>();
-    nodes.values().forEach(n -> n.getBlockEdges().forEach(ne -> blockNodes.put(ne.hashCode(), n)));
+    edgeIdToNode = new EdgeVtx[edgeNumbering.size()];
+    edgeIdToBlockNode = new EdgeVtx[edgeNumbering.size()];
+    for (Entry<Integer, EdgeVtx> node : nodes.entrySet()) {
+      checkArgument(
+          node.getKey() >= 0 && node.getKey() < edgeIdToNode.length,
+          "Node %s is not keyed by the id of a numbered edge",
+          node.getValue());
+      edgeIdToNode[node.getKey()] = node.getValue();
+      for (CFAEdge blockEdge : node.getValue().getBlockEdges()) {
+        int blockEdgeId = edgeNumbering.getId(blockEdge);
+        if (blockEdgeId != CFAEdgeNumbering.NO_ID) {
+          edgeIdToBlockNode[blockEdgeId] = node.getValue();
+        }
+      }
+    }
+
+    // assign the vertex indices, the nodes that only occur in the table are also indexed. equal
+    // nodes share the same index, since the table does not distinguish them either.
+    List<EdgeVtx> vtxInstances = new ArrayList<>(nodes.values());
+    vtxInstances.addAll(depGraph.rowKeySet());
+    vtxInstances.addAll(depGraph.columnKeySet());
+    for (EdgeVtx vtx : vtxInstances) {
+      vtxIndices.putIfAbsent(vtx, vtxIndices.size());
+      vtxIndexOfInstance.put(vtx, vtxIndices.get(vtx));
+    }
+    vtxNumber = vtxIndices.size();
+
+    unCondDepMatrix = new long[(int) ((((long) vtxNumber * vtxNumber) + 63) >>> 6)];
+    List<List<Pair<Integer, CondDepConstraints>>> condDepRows = new ArrayList<>(vtxNumber);
+    for (int i = 0; i < vtxNumber; ++i) {
+      condDepRows.add(new ArrayList<>());
+    }
+    for (Cell<EdgeVtx, EdgeVtx, CondDepConstraints> cell : depGraph.cellSet()) {
+      int row = vtxIndices.get(cell.getRowKey()), col = vtxIndices.get(cell.getColumnKey());
+      if (cell.getValue().isUnCondDep()) {
+        setUnCondDep(row, col);
+        setUnCondDep(col, row);
+      } else {
+        condDepRows.get(Math.min(row, col)).add(Pair.of(Math.max(row, col), cell.getValue()));
+      }
+    }
+
+    condDepColumns = new int[vtxNumber][];
+    condDepConstraints = new CondDepConstraints[vtxNumber][];
+    for (int i = 0; i < vtxNumber; ++i) {
+      List<Pair<Integer, CondDepConstraints>> condDepRow = condDepRows.get(i);
+      condDepRow.sort(Comparator.comparing(Pair::getFirst));
+      condDepColumns[i] = new int[condDepRow.size()];
+      condDepConstraints[i] = new CondDepConstraints[condDepRow.size()];
+      for (int j = 0; j < condDepRow.size(); ++j) {
+        condDepColumns[i][j] = condDepRow.get(j).getFirst();
+        condDepConstraints[i][j] = condDepRow.get(j).getSecond();
+      }
+    }
+  }
+
+  private void setUnCondDep(int pRow, int pCol) {
+    long bit = (long) pRow * vtxNumber + pCol;
+    unCondDepMatrix[(int) (bit >>> 6)] |= 1L << bit;
+  }
+
+  private boolean isUnCondDep(int pRow, int pCol) {
+    long bit = (long) pRow * vtxNumber + pCol;
+    return (unCondDepMatrix[(int) (bit >>> 6)] & (1L << bit)) != 0;
   }
 
   @Override
@@ -72,6 +161,7 @@ public class ConditionalDepGraph extends DependenceGraph {
     return DepTypeEnum.Cond;
   }
 
+  /** The nodes of this graph, indexed by the {@link CFAEdgeNumbering id} of their edge. */
   public BiMap<Integer, EdgeVtx> getNodes() {
     return nodes;
   }
@@ -84,6 +174,14 @@ public class ConditionalDepGraph extends DependenceGraph {
     return nodes.values();
   }
 
+  public CFAEdgeNumbering getEdgeNumbering() {
+    return edgeNumbering;
+  }
+
+  public int getEdgeId(final CFAEdge pEdge) {
+    return edgeNumbering.getId(pEdge);
+  }
+
   public boolean isUseCondDep() {
     return useCondDep;
   }
@@ -92,8 +190,8 @@ public class ConditionalDepGraph extends DependenceGraph {
     return complete;
   }
 
-  public CondDepConstraints getCondDepConstraints(final Integer e1, final Integer e2) {
-    return depGraph.get(nodes.get(e1), nodes.get(e2));
+  public CondDepConstraints getCondDepConstraints(final CFAEdge e1, final CFAEdge e2) {
+    return (CondDepConstraints) dep(getDGNode(e1), getDGNode(e2));
   }
 
   public void export(String pFilePath) {
@@ -141,33 +239,63 @@ public class ConditionalDepGraph extends DependenceGraph {
       return null;
     }
 
+    int i1 = getVtxIndex((EdgeVtx) n1), i2 = getVtxIndex((EdgeVtx) n2);
+    if (i1 < 0 || i2 < 0) {
+      // the node is not a vertex of this graph.
+      return null;
+    }
+
+    if (isUnCondDep(i1, i2)) {
+      return CondDepConstraints.unCondDepConstraint;
+    }
+
     // the two nodes may independent.
-    // since we only preserved the upper right triangle of the dependence graph, we at most need to
-    // compare twice.
-    CondDepConstraints n1n2 = depGraph.get(n1, n2);
-    if (n1n2 != null) {
-      return n1n2;
+    // since we only preserved the upper right triangle of the conditional dependence relation, we
+    // look up the row of the smaller index.
+    int row = Math.min(i1, i2);
+    int pos = Arrays.binarySearch(condDepColumns[row], Math.max(i1, i2));
+    return pos >= 0 ? condDepConstraints[row][pos] : null;
+  }
+
+  /**
+   * The vertex index of the given node, the nodes of this graph are looked up by identity, other
+   * nodes by equality.
+   *
+   * @return The vertex index, or -1 if the node is not a vertex of this graph.
+   */
+  private int getVtxIndex(final EdgeVtx pNode) {
+    Integer index = vtxIndexOfInstance.get(pNode);
+    if (index == null) {
+      index = vtxIndices.get(pNode);
     }
-    return depGraph.get(n2, n1);
+    return index == null ? -1 : index;
+  }
+
+  public boolean contains(final CFAEdge pEdge) {
+    return getDGNode(pEdge) != null;
   }
 
-  public boolean contains(final Integer pEdgeHash) {
-    return nodes.containsKey(pEdgeHash);
+  public boolean blockContains(final CFAEdge pEdge) {
+    return getBlockDGNode(pEdge) != null;
   }
 
-  public boolean blockContains(final Integer pEdgeHash) {
-    return blockNodes.containsKey(pEdgeHash);
+  public DGNode getDGNode(final CFAEdge pEdge) {
+    return getDGNode(edgeNumbering.getId(pEdge));
   }
 
-  public DGNode getDGNode(final Integer pEdgeHash) {
-    return nodes.get(pEdgeHash);
+  public DGNode getDGNode(final int pEdgeId) {
+    if (pEdgeId < 0 || pEdgeId >= edgeIdToNode.length) {
+      return null;
+    }
+    return edgeIdToNode[pEdgeId];
   }
 
-  public DGNode getBlockDGNode(final Integer pEdgeHash) {
-    if (pEdgeHash != null) {
-      return blockNodes.get(pEdgeHash);
+  public DGNode getBlockDGNode(final CFAEdge pEdge) {
+    int edgeId = edgeNumbering.getId(pEdge);
+    if (edgeId < 0 || edgeId >= edgeIdToBlockNode.length) {
+      return null;
     }
-    return null;
+    return edgeIdToBlockNode[edgeId];
   }
 
 }
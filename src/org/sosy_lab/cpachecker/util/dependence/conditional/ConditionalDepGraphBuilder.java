@@ -19,13 +19,16 @@
  */
 package org.sosy_lab.cpachecker.util.dependence.conditional;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.util.ArrayQueue;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -34,6 +37,8 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -42,10 +47,18 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -76,6 +89,8 @@ import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.dependence.DGNode;
 import org.sosy_lab.cpachecker.util.dependencegraph.DepConstraintBuilder;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAEdgeNumbering;
+import org.sosy_lab.cpachecker.util.statistics.StatTimer;
 
 /** Factory for creating a {@link ConditionalDepGraph} from a {@link CFA}. */
 @Options(prefix = "depgraph.cond")
@@ -159,6 +174,39 @@ public class ConditionalDepGraphBuilder {
     description = "Whether build node and constraints for navie thread function (these functions are never used in real ARG exploration). Notice that, if this option and buildForClonedFunctions are disabled, then an empty graph will be generated.")
   private boolean buildForNoneCloneThread = false;
 
+  @Option(
+    secure = false,
+    name = "cacheFile",
+    description = "File for caching the conditional dependence graph. If the file is built for the same program and the same options, the graph is loaded from it; otherwise the graph is built and stored into it. The file is both read and written, relative paths are resolved against the output directory. The file is read with Java deserialization, so it must come from a trusted source. If `null`, the graph is always built.")
+  @FileOption(FileOption.Type.OUTPUT_FILE)
+  private @Nullable Path cacheFile = null;
+
+  @Option(
+    secure = true,
+    name = "useVarIndex",
+    description = "Use an index from shared variables to the nodes accessing them, so that only the node pairs that access a common variable (and at least one of them writes it) are checked.")
+  private boolean useSharedVarIndex = true;
+
+  @Option(
+    secure = true,
+    name = "parallel",
+    description = "Compute the dependence constraints of node pairs in parallel. The pairs are split into tiles, and each worker uses its own solver context.")
+  private boolean buildInParallel = false;
+
+  @Option(
+    secure = true,
+    name = "parallel.threads",
+    description = "The number of workers that are used for building the dependence graph in parallel.")
+  @IntegerOption(min = 1)
+  private int parallelThreadNumber = Runtime.getRuntime().availableProcessors();
+
+  @Option(
+    secure = true,
+    name = "parallel.tileSize",
+    description = "The number of rows (and columns) of a tile of node pairs that is processed by a worker at once.")
+  @IntegerOption(min = 1)
+  private int parallelTileSize = 64;
+
   private static final String specialSelfBlockFunction = "__VERIFIER_atomic_";
   private static final String noneDetFunction = "__VERIFIER_nondet_";
   private static final String cloneFunction = "__cloned_function__";
@@ -166,6 +214,7 @@ public class ConditionalDepGraphBuilder {
   // It's unnecessary to create edges for inner transitions pairs of a thread.
   private List<String> threadFunctions = new ArrayList<>();
 
+  private final CFAEdgeNumbering edgeNumbering;
   private BiMap<Integer, EdgeVtx> nodes;
   private Table<EdgeVtx, EdgeVtx, CondDepConstraints> depGraph;
   private Map<String, EdgeVtx> selfBlockFunVarCache;
@@ -179,6 +228,7 @@ public class ConditionalDepGraphBuilder {
     cfa = pCfa;
     logger = pLogger;
     statistics = new CondDepGraphBuilderStatistics();
+    edgeNumbering = CFAEdgeNumbering.forCFA(pCfa);
   }
 
   /**
@@ -189,6 +239,18 @@ public class ConditionalDepGraphBuilder {
    *     edges.
    */
   public ConditionalDepGraph build() {
+    CondDepGraphCache cache = null;
+    if (cacheFile != null) {
+      cache = new CondDepGraphCache(cfa, getOptionDigest());
+      ConditionalDepGraph cachedDepG = loadFromCache(cache);
+      if (cachedDepG != null) {
+        if (exportToDot) {
+          this.export(cachedDepG);
+        }
+        return cachedDepG;
+      }
+    }
+
     selfBlockFunVarCache = new HashMap<>();
 
     // firstly, extract all the DGNode by processing all the function (DFS strategy).
@@ -199,20 +261,71 @@ public class ConditionalDepGraphBuilder {
 
     // secondly, build the conditional dependence graph.
     statistics.depGraphBuildTimer.start();
-    depGraph = buildDependenceGraph(nodes);
+    depGraph = buildInParallel ? buildDependenceGraphInParallel(nodes) : buildDependenceGraph(nodes);
     postProcess();
     statistics.depGraphBuildTimer.stop();
 
     // build and export this graph.
     ConditionalDepGraph depG =
-        new ConditionalDepGraph(nodes, depGraph, buildForClonedFunctions, useConditionalDep);
+        new ConditionalDepGraph(
+            nodes, depGraph, edgeNumbering, buildForClonedFunctions, useConditionalDep);
     if (exportToDot) {
       this.export(depG);
     }
+    if (cache != null) {
+      storeToCache(cache, depG);
+    }
 
     return depG;
   }
 
+  /**
+   * This function collects the values of all the options that may change the built graph, they
+   * are a part of the key of cached graphs.
+   */
+  private String getOptionDigest() {
+    return Joiner.on(';')
+        .join(
+            useConditionalDep,
+            buildForClonedFunctions,
+            specialBlockFunctionPairs,
+            mainFunctionName,
+            addNodeForGlobalVariableInit,
+            removeIsolatedNodes,
+            useSolverToCompute,
+            buildForNoneCloneThread);
+  }
+
+  private @Nullable ConditionalDepGraph loadFromCache(CondDepGraphCache pCache) {
+    statistics.cacheLoadTimer.start();
+    try {
+      ConditionalDepGraph depG = pCache.load(cacheFile);
+      if (depG != null) {
+        logger.log(Level.INFO, "Loaded conditional dependence graph from", cacheFile);
+        statistics.gVarAccessNodeNumber.setNextValue(depG.getNodes().size());
+      }
+      return depG;
+    } catch (IOException e) {
+      logger.logUserException(
+          Level.WARNING, e, "Could not load conditional dependence graph from cache file");
+      return null;
+    } finally {
+      statistics.cacheLoadTimer.stop();
+    }
+  }
+
+  private void storeToCache(CondDepGraphCache pCache, ConditionalDepGraph pDepG) {
+    statistics.cacheStoreTimer.start();
+    try {
+      pCache.store(cacheFile, pDepG);
+    } catch (IOException e) {
+      logger.logUserException(
+          Level.WARNING, e, "Could not store conditional dependence graph to cache file");
+    } finally {
+      statistics.cacheStoreTimer.stop();
+    }
+  }
+
   /**
    * This function builds all the nodes of the dependence graph.
    *
@@ -331,7 +444,7 @@ public class ConditionalDepGraphBuilder {
           EdgeVtx blockDepNode =
               handleBlockNode(node, edge, edgeFuncName, pExtractor, waitlist, pVisitedNodes);
           if (blockDepNode != null) {
-            pDGNodes.put(edge.hashCode(), blockDepNode);
+            pDGNodes.put(edgeNumbering.getId(edge), blockDepNode);
             statistics.blockNumber.inc();
             statistics.blockSize.setNextValue(blockDepNode.getBlockEdgeNumber());
           }
@@ -340,7 +453,7 @@ public class ConditionalDepGraphBuilder {
           EdgeVtx noneBlockDepNode =
               handleNoBlockNode(node, edge, edgeFuncName, pExtractor, waitlist, pVisitedNodes);
           if (noneBlockDepNode != null) {
-            pDGNodes.put(edge.hashCode(), noneBlockDepNode);
+            pDGNodes.put(edgeNumbering.getId(edge), noneBlockDepNode);
             //            System.out.println(noneBlockDepNode);
             statistics.blockNumber.inc();
             statistics.blockSize.setNextValue(noneBlockDepNode.getBlockEdgeNumber());
@@ -781,50 +894,282 @@ public class ConditionalDepGraphBuilder {
     HashBasedTable<EdgeVtx, EdgeVtx, CondDepConstraints> resDepGraph = HashBasedTable.create();
     DepConstraintBuilder builder = DepConstraintBuilder.getInstance();
     List<EdgeVtx> dgNodes = new ArrayList<>(pDGNodes.values());
+    BitSet[] candidatePairs = computeCandidatePairs(dgNodes);
 
     // actually, we only need to compute the upper triangular matrix of the dependence graph.
     for (int i = 0; i < dgNodes.size(); ++i) {
-      for (int j = i; j < dgNodes.size(); ++j) {
+      BitSet rowCandidates = candidatePairs != null ? candidatePairs[i] : null;
+      for (int j = nextPairColumn(rowCandidates, i, dgNodes.size());
+          j < dgNodes.size();
+          j = nextPairColumn(rowCandidates, j + 1, dgNodes.size())) {
         EdgeVtx rowNode = dgNodes.get(i), colNode = dgNodes.get(j);
-        String rowFun = rowNode.getBlockStartEdge().getPredecessor().getFunctionName(),
-            colFun = colNode.getBlockStartEdge().getPredecessor().getFunctionName();
+        CondDepConstraints condDepConstraints =
+            computeNodePairConstraints(builder, rowNode, colNode);
 
-        // we need not the dependence relation of two edges in the main function, since main
-        // function can only called once. and note that, if a function could only called once, then
-        // it's no need to compute the dependence relation of it self.
-        if (rowFun.equals(mainFunctionName) && colFun.equals(mainFunctionName)) {
-          continue;
+        if (condDepConstraints != null) {
+          putDepNodePair(resDepGraph, rowNode, colNode, condDepConstraints);
         }
+      }
+    }
 
-        // we need not to create constraints for a pair of transitions that belongs to the same
-        // thread.
-        if (rowFun.equals(colFun)) {
-          String[] splitStr = rowFun.split(cloneFunction);
-          if (splitStr != null && splitStr.length > 0 && threadFunctions.contains(splitStr[0])) {
-            continue;
-          }
-        }
+    return resDepGraph;
+  }
 
-        // the naive thread functions are never used in real ARG exploration.
-        if (!buildForNoneCloneThread
-            && (threadFunctions.contains(rowFun) || threadFunctions.contains(colFun))) {
-          continue;
-        }
+  /**
+   * This function builds the dependence graph as {@link #buildDependenceGraph(BiMap)} does, but the
+   * upper triangular matrix of node pairs is split into tiles that are processed by several
+   * workers.
+   *
+   * @param pDGNodes The nodes of the dependence graph.
+   * @return The dependence graph, it is identical to the one built sequentially.
+   * @implNote Each worker owns a {@link DepConstraintBuilder} (and thus a solver context). The
+   *     builders only share immutable or thread-safe objects, i.e., the CFA, the log manager and
+   *     the stateless {@link ExpToStringVisitor}. The results of all the workers are merged in
+   *     the order of the sequential construction.
+   */
+  private Table<EdgeVtx, EdgeVtx, CondDepConstraints> buildDependenceGraphInParallel(
+      BiMap<Integer, EdgeVtx> pDGNodes) {
+    List<EdgeVtx> dgNodes = new ArrayList<>(pDGNodes.values());
+    BitSet[] candidatePairs = computeCandidatePairs(dgNodes);
+
+    // only the tiles on or above the diagonal need to be processed.
+    int tileNumber = (dgNodes.size() + parallelTileSize - 1) / parallelTileSize;
+    List<Pair<Integer, Integer>> tiles = new ArrayList<>();
+    for (int i = 0; i < tileNumber; ++i) {
+      for (int j = i; j < tileNumber; ++j) {
+        tiles.add(Pair.of(i, j));
+      }
+    }
+    if (tiles.isEmpty()) {
+      return HashBasedTable.create();
+    }
 
-        CondDepConstraints condDepConstraints =
-            builder.buildDependenceConstraints(rowNode, colNode, useConditionalDep);
+    int workerNumber = Math.min(parallelThreadNumber, tiles.size());
+    AtomicInteger nextTile = new AtomicInteger(0);
+    List<DependenceTileWorker> workers = new ArrayList<>();
+    List<NodePairDependence> pairDeps = new ArrayList<>();
+
+    ThreadFactory threadFactory =
+        new ThreadFactoryBuilder()
+            .setNameFormat("ConditionalDepGraphBuilder-worker-%d")
+            .setDaemon(true)
+            .build();
+    ExecutorService executor = Executors.newFixedThreadPool(workerNumber, threadFactory);
+    try {
+      List<Future<List<NodePairDependence>>> futures = new ArrayList<>();
+      for (int i = 0; i < workerNumber; ++i) {
+        DependenceTileWorker worker = new DependenceTileWorker(i, dgNodes, candidatePairs, tiles, nextTile);
+        workers.add(worker);
+        futures.add(executor.submit(worker));
+      }
+      for (Future<List<NodePairDependence>> future : futures) {
+        pairDeps.addAll(future.get());
+      }
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      logger.logUserException(
+          Level.WARNING,
+          e.getCause(),
+          "Could not build the conditional dependence graph in parallel, "
+              + "falling back to sequential construction");
+      return buildDependenceGraph(pDGNodes);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.log(
+          Level.WARNING,
+          "Parallel construction of the conditional dependence graph was interrupted, "
+              + "falling back to sequential construction");
+      return buildDependenceGraph(pDGNodes);
+    } finally {
+      executor.shutdownNow();
+    }
 
-        if (condDepConstraints != null) {
-          if (condDepConstraints.isUnCondDep()) {
-            statistics.unCondDepNodePairNumber.inc();
+    for (DependenceTileWorker worker : workers) {
+      statistics.workerTimers.add(worker.timer);
+      statistics.workerTileNumber.setNextValue(worker.processedTiles);
+    }
+
+    // merge the results in the same order as the sequential construction.
+    statistics.parallelMergeTimer.start();
+    HashBasedTable<EdgeVtx, EdgeVtx, CondDepConstraints> resDepGraph = HashBasedTable.create();
+    pairDeps.sort(
+        Comparator.<NodePairDependence>comparingInt(d -> d.row).thenComparingInt(d -> d.col));
+    for (NodePairDependence pairDep : pairDeps) {
+      putDepNodePair(
+          resDepGraph, dgNodes.get(pairDep.row), dgNodes.get(pairDep.col), pairDep.constraints);
+    }
+    statistics.parallelMergeTimer.stop();
+
+    return resDepGraph;
+  }
+
+  /**
+   * This function computes the node pairs that need to be checked by the constraint builder.
+   *
+   * @param pDGNodes The nodes of the dependence graph.
+   * @return The candidate pairs (see {@link SharedVarAccessIndex#computeCandidatePairs()}), or null
+   *     if all the pairs should be checked.
+   */
+  private BitSet @Nullable [] computeCandidatePairs(List<EdgeVtx> pDGNodes) {
+    if (!useSharedVarIndex) {
+      return null;
+    }
+
+    statistics.varIndexBuildTimer.start();
+    SharedVarAccessIndex index = new SharedVarAccessIndex(pDGNodes);
+    BitSet[] candidatePairs = index.computeCandidatePairs();
+    statistics.varIndexBuildTimer.stop();
+
+    long pairNumber = (long) pDGNodes.size() * (pDGNodes.size() + 1) / 2, candidateNumber = 0;
+    for (BitSet rowCandidates : candidatePairs) {
+      candidateNumber += rowCandidates.cardinality();
+    }
+    statistics.indexedVarNumber.setNextValue(index.getIndexedVarNumber());
+    statistics.candidateNodePairNumber.setNextValue((int) candidateNumber);
+    statistics.prunedNodePairNumber.setNextValue((int) (pairNumber - candidateNumber));
+
+    return candidatePairs;
+  }
+
+  /**
+   * This function returns the next column (starting from pFrom) of a row that need to be checked.
+   *
+   * @param pRowCandidates The candidate columns of this row, null if all the columns are candidates.
+   * @param pFrom The first column that could be returned.
+   * @param pEnd The end (exclusive) of the columns.
+   * @return The next candidate column, or pEnd if there is no more candidate column.
+   */
+  private static int nextPairColumn(@Nullable BitSet pRowCandidates, int pFrom, int pEnd) {
+    if (pRowCandidates == null) {
+      return pFrom;
+    }
+    int next = pRowCandidates.nextSetBit(pFrom);
+    return (next < 0 || next >= pEnd) ? pEnd : next;
+  }
+
+  /**
+   * This function computes the dependence constraints of the given node pair.
+   *
+   * @param pBuilder The constraint builder used for computing the constraints.
+   * @param pRowNode The first node of this pair.
+   * @param pColNode The second node of this pair.
+   * @return The dependence constraints, or null if the two nodes are independent or the constraints
+   *     of them need not be computed.
+   */
+  private @Nullable CondDepConstraints computeNodePairConstraints(
+      DepConstraintBuilder pBuilder, EdgeVtx pRowNode, EdgeVtx pColNode) {
+    String rowFun = pRowNode.getBlockStartEdge().getPredecessor().getFunctionName(),
+        colFun = pColNode.getBlockStartEdge().getPredecessor().getFunctionName();
+
+    // we need not the dependence relation of two edges in the main function, since main
+    // function can only called once. and note that, if a function could only called once, then
+    // it's no need to compute the dependence relation of it self.
+    if (rowFun.equals(mainFunctionName) && colFun.equals(mainFunctionName)) {
+      return null;
+    }
+
+    // we need not to create constraints for a pair of transitions that belongs to the same
+    // thread.
+    if (rowFun.equals(colFun)) {
+      String[] splitStr = rowFun.split(cloneFunction);
+      if (splitStr != null && splitStr.length > 0 && threadFunctions.contains(splitStr[0])) {
+        return null;
+      }
+    }
+
+    // the naive thread functions are never used in real ARG exploration.
+    if (!buildForNoneCloneThread
+        && (threadFunctions.contains(rowFun) || threadFunctions.contains(colFun))) {
+      return null;
+    }
+
+    return pBuilder.buildDependenceConstraints(pRowNode, pColNode, useConditionalDep);
+  }
+
+  private void putDepNodePair(
+      Table<EdgeVtx, EdgeVtx, CondDepConstraints> pDepGraph,
+      EdgeVtx pRowNode,
+      EdgeVtx pColNode,
+      CondDepConstraints pConstraints) {
+    if (pConstraints.isUnCondDep()) {
+      statistics.unCondDepNodePairNumber.inc();
+    }
+    statistics.depNodePairNumber.inc();
+    pDepGraph.put(pRowNode, pColNode, pConstraints);
+  }
+
+  /** The dependence constraints of the node pair (row, col) computed by a worker. */
+  private static class NodePairDependence {
+    private final int row;
+    private final int col;
+    private final CondDepConstraints constraints;
+
+    private NodePairDependence(int pRow, int pCol, CondDepConstraints pConstraints) {
+      row = pRow;
+      col = pCol;
+      constraints = pConstraints;
+    }
+  }
+
+  /**
+   * A worker that repeatedly fetches an unprocessed tile of node pairs and computes the dependence
+   * constraints of the pairs in it.
+   */
+  private class DependenceTileWorker implements Callable<List<NodePairDependence>> {
+
+    private final List<EdgeVtx> dgNodes;
+    private final BitSet @Nullable [] candidatePairs;
+    private final List<Pair<Integer, Integer>> tiles;
+    private final AtomicInteger nextTile;
+    private final StatTimer timer;
+    private int processedTiles = 0;
+
+    private DependenceTileWorker(
+        int pWorkerId,
+        List<EdgeVtx> pDGNodes,
+        BitSet @Nullable [] pCandidatePairs,
+        List<Pair<Integer, Integer>> pTiles,
+        AtomicInteger pNextTile) {
+      dgNodes = pDGNodes;
+      candidatePairs = pCandidatePairs;
+      tiles = pTiles;
+      nextTile = pNextTile;
+      timer = new StatTimer("Time for worker " + pWorkerId);
+    }
+
+    @Override
+    public List<NodePairDependence> call() throws InvalidConfigurationException {
+      List<NodePairDependence> result = new ArrayList<>();
+
+      timer.start();
+      try (DepConstraintBuilder builder = DepConstraintBuilder.createIndependentInstance()) {
+        for (int t = nextTile.getAndIncrement(); t < tiles.size(); t = nextTile.getAndIncrement()) {
+          Pair<Integer, Integer> tile = tiles.get(t);
+          int rowStart = tile.getFirst() * parallelTileSize,
+              rowEnd = Math.min(rowStart + parallelTileSize, dgNodes.size());
+          int colStart = tile.getSecond() * parallelTileSize,
+              colEnd = Math.min(colStart + parallelTileSize, dgNodes.size());
+
+          for (int i = rowStart; i < rowEnd; ++i) {
+            BitSet rowCandidates = candidatePairs != null ? candidatePairs[i] : null;
+            for (int j = nextPairColumn(rowCandidates, Math.max(i, colStart), colEnd);
+                j < colEnd;
+                j = nextPairColumn(rowCandidates, j + 1, colEnd)) {
+              CondDepConstraints condDepConstraints =
+                  computeNodePairConstraints(builder, dgNodes.get(i), dgNodes.get(j));
+              if (condDepConstraints != null) {
+                result.add(new NodePairDependence(i, j, condDepConstraints));
+              }
+            }
           }
-          statistics.depNodePairNumber.inc();
-          resDepGraph.put(rowNode, colNode, condDepConstraints);
+          ++processedTiles;
         }
+      } finally {
+        timer.stop();
       }
-    }
 
-    return resDepGraph;
+      return result;
+    }
   }
 
   private void postProcess() {
@@ -859,9 +1204,14 @@ public class ConditionalDepGraphBuilder {
       @Override
       public void printStatistics(
           PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
-        if (statistics.depGraphBuildTimer.getUpdateCount() > 0) {
+        if (statistics.depGraphBuildTimer.getUpdateCount() > 0
+            || statistics.cacheLoadTimer.getUpdateCount() > 0) {
           pOut.println("\nConstrained Dependency Graph statistics");
           pOut.println("---------------------------------------");
+          if (cacheFile != null) {
+            put(pOut, 0, statistics.cacheLoadTimer);
+            put(pOut, 0, statistics.cacheStoreTimer);
+          }
           put(pOut, 0, statistics.nodeBuildTimer);
           put(pOut, 0, statistics.depGraphBuildTimer);
           put(pOut, 1, statistics.gVarAccessNodeNumber);
@@ -869,6 +1219,19 @@ public class ConditionalDepGraphBuilder {
           put(pOut, 1, statistics.unCondDepNodePairNumber);
           put(pOut, 1, statistics.blockNumber);
           put(pOut, 1, statistics.blockSize);
+          if (statistics.varIndexBuildTimer.getUpdateCount() > 0) {
+            put(pOut, 1, statistics.varIndexBuildTimer);
+            put(pOut, 1, statistics.indexedVarNumber);
+            put(pOut, 1, statistics.candidateNodePairNumber);
+            put(pOut, 1, statistics.prunedNodePairNumber);
+          }
+          if (!statistics.workerTimers.isEmpty()) {
+            put(pOut, 1, statistics.parallelMergeTimer);
+            put(pOut, 1, statistics.workerTileNumber);
+            for (StatTimer workerTimer : statistics.workerTimers) {
+              put(pOut, 2, workerTimer);
+            }
+          }
         }
       }
 
@@ -38,12 +38,10 @@ import org.sosy_lab.cpachecker.exceptions.NoException;
 
 public class ExpToStringVisitor extends DefaultCExpressionVisitor<String, NoException> {
 
-  private static ExpToStringVisitor instance;
+  // the visitor has no state, hence one instance can be shared by several threads.
+  private static final ExpToStringVisitor instance = new ExpToStringVisitor();
 
   public static ExpToStringVisitor getInstance() {
-    if (instance == null) {
-      instance = new ExpToStringVisitor();
-    }
     return instance;
   }
 
@@ -0,0 +1,372 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2020  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.dependence.conditional;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.ast.AExpression;
+import org.sosy_lab.cpachecker.cfa.ast.AFunctionCall;
+import org.sosy_lab.cpachecker.cfa.ast.AIdExpression;
+import org.sosy_lab.cpachecker.cfa.ast.AStatement;
+import org.sosy_lab.cpachecker.cfa.ast.c.CExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CIdExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CSimpleDeclaration;
+import org.sosy_lab.cpachecker.cfa.ast.c.CUnaryExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CUnaryExpression.UnaryOperator;
+import org.sosy_lab.cpachecker.cfa.ast.c.CVariableDeclaration;
+import org.sosy_lab.cpachecker.cfa.model.AStatementEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionCallEdge;
+import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.dependence.DGNode;
+
+/**
+ * An Eraser-style lockset pre-pass over the nodes of a {@link ConditionalDepGraph}. A shared
+ * variable is consistently protected if there is a lock that is held at every access to it that
+ * may run concurrently, such variables can never be accessed by a data race.
+ *
+ * <p>The locks held at a location are computed by an intra-procedural must-analysis over the
+ * calls of pthread_mutex_lock/unlock and __VERIFIER_atomic_begin/end, where the body of an
+ * __VERIFIER_atomic_* function holds an implicit atomic lock. The locks held by a caller are not
+ * propagated into the callee, and a call of a function that (transitively) releases a lock
+ * releases all the locks of the caller. Hence, the computed locksets under-approximate the held
+ * locks.
+ *
+ * <p>A mutex is only identified if it is passed as the address of a global variable, i.e., {@code
+ * pthread_mutex_lock(&m)}. Other mutexes (e.g., passed via pointers or parameters) may alias or may
+ * be different objects with the same name, hence locking them does not protect anything, and
+ * unlocking them may release any held lock.
+ *
+ * <p>The accesses of the main function before the first thread is created (i.e., that are not
+ * reachable from a thread creation) happen before every other access, they are not considered.
+ *
+ * @implNote The variables are keyed as in {@link SharedVarAccessIndex}, i.e., all the pointer
+ *     variables share one key. Therefore, two dependent nodes always share a key that one of them
+ *     writes.
+ */
+public class LocksetRaceFilter {
+
+  private static final String THREAD_START = "pthread_create";
+  private static final String THREAD_MUTEX_LOCK = "pthread_mutex_lock";
+  private static final String THREAD_MUTEX_UNLOCK = "pthread_mutex_unlock";
+  private static final String VERIFIER_ATOMIC = "__VERIFIER_atomic_";
+  private static final String VERIFIER_ATOMIC_BEGIN = "__VERIFIER_atomic_begin";
+  private static final String VERIFIER_ATOMIC_END = "__VERIFIER_atomic_end";
+  private static final String ATOMIC_LOCK = "__CPAchecker_atomic_lock__";
+
+  private final String mainFunction;
+
+  // the locks that are held at each location.
+  private final Map<CFANode, ImmutableSet<String>> heldLocks = new HashMap<>();
+  // the locations of the main function that may run concurrently with other threads.
+  private final Set<CFANode> concurrentMainNodes = new HashSet<>();
+
+  // the shared variables (keys) and the locks that protect them.
+  private final Map<String, Set<String>> varLocks = new HashMap<>();
+  private final Set<String> protectedVars = new HashSet<>();
+
+  public LocksetRaceFilter(final CFA pCfa, final ConditionalDepGraph pCondDepGraph) {
+    mainFunction = pCfa.getMainFunction().getFunctionName();
+    Set<String> releasingFuncs = getFunctionsWith(pCfa, LocksetRaceFilter::isLockRelease);
+    Set<String> threadCreatingFuncs = getFunctionsWith(pCfa, LocksetRaceFilter::isThreadCreation);
+
+    for (FunctionEntryNode entry : pCfa.getAllFunctionHeads()) {
+      computeHeldLocks(entry, releasingFuncs);
+    }
+    computeConcurrentMainNodes(pCfa.getMainFunction(), threadCreatingFuncs);
+
+    for (EdgeVtx node : pCondDepGraph.getAllNodes()) {
+      if (isBeforeThreadCreation(node)) {
+        continue;
+      }
+      Set<String> locks = getHeldLocks(node);
+      for (Var v : Sets.union(node.getgReadVars(), node.getgWriteVars())) {
+        Set<String> protectingLocks = varLocks.get(SharedVarAccessIndex.getIndexKey(v));
+        if (protectingLocks == null) {
+          varLocks.put(SharedVarAccessIndex.getIndexKey(v), new HashSet<>(locks));
+        } else {
+          protectingLocks.retainAll(locks);
+        }
+      }
+    }
+    for (Map.Entry<String, Set<String>> var : varLocks.entrySet()) {
+      if (!var.getValue().isEmpty()) {
+        protectedVars.add(var.getKey());
+      }
+    }
+  }
+
+  /**
+   * This function checks whether the accesses of the two nodes may race, i.e., one of them writes
+   * a variable that the other one accesses and that is not consistently protected. Two nodes that
+   * may race also may be dependent, but not vice versa.
+   */
+  public boolean mayRace(final @Nullable DGNode pNode1, final @Nullable DGNode pNode2) {
+    if (!(pNode1 instanceof EdgeVtx) || !(pNode2 instanceof EdgeVtx)) {
+      // be conservative for unknown nodes.
+      return true;
+    }
+    EdgeVtx node1 = (EdgeVtx) pNode1, node2 = (EdgeVtx) pNode2;
+    return hasUnprotectedConflict(node1.getgWriteVars(), node2.getgReadVars())
+        || hasUnprotectedConflict(node1.getgWriteVars(), node2.getgWriteVars())
+        || hasUnprotectedConflict(node1.getgReadVars(), node2.getgWriteVars());
+  }
+
+  private boolean hasUnprotectedConflict(final Set<Var> pVars1, final Set<Var> pVars2) {
+    if (pVars1.isEmpty() || pVars2.isEmpty()) {
+      return false;
+    }
+    Set<String> keys = new HashSet<>();
+    for (Var v : pVars1) {
+      String key = SharedVarAccessIndex.getIndexKey(v);
+      if (!protectedVars.contains(key)) {
+        keys.add(key);
+      }
+    }
+    for (Var v : pVars2) {
+      if (keys.contains(SharedVarAccessIndex.getIndexKey(v))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** The number of shared variables (keys) that are accessed by the nodes. */
+  public int getSharedVarNumber() {
+    return varLocks.size();
+  }
+
+  /** The number of shared variables (keys) that are consistently protected. */
+  public int getProtectedVarNumber() {
+    return protectedVars.size();
+  }
+
+  private boolean isBeforeThreadCreation(final EdgeVtx pNode) {
+    for (CFAEdge edge : pNode.getBlockEdges()) {
+      CFANode pred = edge.getPredecessor();
+      if (!pred.getFunctionName().equals(mainFunction) || concurrentMainNodes.contains(pred)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** The locks that are held at every edge of the given block node. */
+  private Set<String> getHeldLocks(final EdgeVtx pNode) {
+    Set<String> result = null;
+    for (CFAEdge edge : pNode.getBlockEdges()) {
+      Set<String> locks = heldLocks.getOrDefault(edge.getPredecessor(), ImmutableSet.of());
+      if (result == null) {
+        result = new HashSet<>(locks);
+      } else {
+        result.retainAll(locks);
+      }
+    }
+    return result == null ? ImmutableSet.of() : result;
+  }
+
+  /** The intra-procedural must-analysis of the held locks of the given function. */
+  private void computeHeldLocks(final FunctionEntryNode pEntry, final Set<String> pReleasingFuncs) {
+    heldLocks.put(
+        pEntry,
+        pEntry.getFunctionName().startsWith(VERIFIER_ATOMIC)
+            ? ImmutableSet.of(ATOMIC_LOCK)
+            : ImmutableSet.of());
+    Deque<CFANode> waitlist = new ArrayDeque<>();
+    waitlist.add(pEntry);
+
+    while (!waitlist.isEmpty()) {
+      CFANode node = waitlist.poll();
+      ImmutableSet<String> locks = heldLocks.get(node);
+      for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+        if (edge instanceof FunctionCallEdge) {
+          continue;
+        }
+        ImmutableSet<String> succLocks = getLocksAfter(edge, locks, pReleasingFuncs);
+        ImmutableSet<String> oldLocks = heldLocks.get(edge.getSuccessor());
+        if (oldLocks != null) {
+          succLocks = Sets.intersection(oldLocks, succLocks).immutableCopy();
+          if (succLocks.equals(oldLocks)) {
+            continue;
+          }
+        }
+        heldLocks.put(edge.getSuccessor(), succLocks);
+        waitlist.add(edge.getSuccessor());
+      }
+    }
+  }
+
+  private static ImmutableSet<String> getLocksAfter(
+      final CFAEdge pEdge, final ImmutableSet<String> pLocks, final Set<String> pReleasingFuncs) {
+    if (pEdge instanceof FunctionSummaryEdge) {
+      String callee = ((FunctionSummaryEdge) pEdge).getFunctionEntry().getFunctionName();
+      return pReleasingFuncs.contains(callee) ? ImmutableSet.of() : pLocks;
+    }
+
+    String funcName = getCalledFunctionName(pEdge);
+    if (funcName == null) {
+      return pLocks;
+    }
+    switch (funcName) {
+      case THREAD_MUTEX_LOCK:
+        {
+          String lock = getLockId(pEdge);
+          return lock == null
+              ? pLocks
+              : ImmutableSet.<String>builder().addAll(pLocks).add(lock).build();
+        }
+      case VERIFIER_ATOMIC_BEGIN:
+        return ImmutableSet.<String>builder().addAll(pLocks).add(ATOMIC_LOCK).build();
+      case THREAD_MUTEX_UNLOCK:
+        {
+          String lock = getLockId(pEdge);
+          return lock == null
+              ? ImmutableSet.of()
+              : Sets.difference(pLocks, ImmutableSet.of(lock)).immutableCopy();
+        }
+      case VERIFIER_ATOMIC_END:
+        return Sets.difference(pLocks, ImmutableSet.of(ATOMIC_LOCK)).immutableCopy();
+      default:
+        return pLocks;
+    }
+  }
+
+  /**
+   * The locations of the main function that are reachable from a thread creation, either by a
+   * direct call of pthread_create or by a call of a function that (transitively) creates a thread.
+   */
+  private void computeConcurrentMainNodes(
+      final FunctionEntryNode pMainEntry, final Set<String> pThreadCreatingFuncs) {
+    Deque<CFANode> waitlist = new ArrayDeque<>();
+    Set<CFANode> visited = new HashSet<>();
+    waitlist.add(pMainEntry);
+    visited.add(pMainEntry);
+
+    while (!waitlist.isEmpty()) {
+      CFANode node = waitlist.poll();
+      for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+        if (edge instanceof FunctionCallEdge) {
+          continue;
+        }
+        boolean isCreation =
+            isThreadCreation(edge)
+                || (edge instanceof FunctionSummaryEdge
+                    && pThreadCreatingFuncs.contains(
+                        ((FunctionSummaryEdge) edge).getFunctionEntry().getFunctionName()));
+        if (isCreation || concurrentMainNodes.contains(node)) {
+          if (concurrentMainNodes.add(edge.getSuccessor())) {
+            waitlist.add(edge.getSuccessor());
+          }
+        } else if (visited.add(edge.getSuccessor())) {
+          waitlist.add(edge.getSuccessor());
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the functions that contain an edge with the given property, or that (transitively) call
+   * such a function.
+   */
+  private static Set<String> getFunctionsWith(final CFA pCfa, final Predicate<CFAEdge> pProperty) {
+    Set<String> result = new HashSet<>();
+    Map<String, Set<String>> callers = new HashMap<>();
+    for (CFANode node : pCfa.getAllNodes()) {
+      for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+        if (edge instanceof FunctionSummaryEdge) {
+          callers
+              .computeIfAbsent(
+                  ((FunctionSummaryEdge) edge).getFunctionEntry().getFunctionName(),
+                  k -> new HashSet<>())
+              .add(node.getFunctionName());
+        } else if (pProperty.test(edge)) {
+          result.add(node.getFunctionName());
+        }
+      }
+    }
+
+    Deque<String> waitlist = new ArrayDeque<>(result);
+    while (!waitlist.isEmpty()) {
+      for (String caller : callers.getOrDefault(waitlist.poll(), ImmutableSet.of())) {
+        if (result.add(caller)) {
+          waitlist.add(caller);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean isLockRelease(final CFAEdge pEdge) {
+    String funcName = getCalledFunctionName(pEdge);
+    return THREAD_MUTEX_UNLOCK.equals(funcName) || VERIFIER_ATOMIC_END.equals(funcName);
+  }
+
+  private static boolean isThreadCreation(final CFAEdge pEdge) {
+    return THREAD_START.equals(getCalledFunctionName(pEdge));
+  }
+
+  private static @Nullable String getCalledFunctionName(final CFAEdge pEdge) {
+    if (pEdge instanceof AStatementEdge) {
+      AStatement statement = ((AStatementEdge) pEdge).getStatement();
+      if (statement instanceof AFunctionCall) {
+        AExpression funcNameExp =
+            ((AFunctionCall) statement).getFunctionCallExpression().getFunctionNameExpression();
+        if (funcNameExp instanceof AIdExpression) {
+          return ((AIdExpression) funcNameExp).getName();
+        }
+      }
+    }
+    return null;
+  }
+
+  /** The global variable of the mutex, or null if the mutex cannot be identified. */
+  private static @Nullable String getLockId(final CFAEdge pEdge) {
+    List<? extends AExpression> params =
+        ((AFunctionCall) ((AStatementEdge) pEdge).getStatement())
+            .getFunctionCallExpression()
+            .getParameterExpressions();
+    if (params.isEmpty()
+        || !(params.get(0) instanceof CUnaryExpression)
+        || ((CUnaryExpression) params.get(0)).getOperator() != UnaryOperator.AMPER) {
+      return null;
+    }
+    CExpression operand = ((CUnaryExpression) params.get(0)).getOperand();
+    if (operand instanceof CIdExpression) {
+      CSimpleDeclaration decl = ((CIdExpression) operand).getDeclaration();
+      if (decl instanceof CVariableDeclaration && ((CVariableDeclaration) decl).isGlobal()) {
+        return decl.getQualifiedName();
+      }
+    }
+    return null;
+  }
+}
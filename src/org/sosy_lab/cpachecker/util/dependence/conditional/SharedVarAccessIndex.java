@@ -0,0 +1,98 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2020  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.dependence.conditional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.sosy_lab.cpachecker.cfa.types.c.CPointerType;
+
+/**
+ * This index maps each shared variable to the {@link EdgeVtx} that access it. It is used for
+ * pruning the node pairs that could never be dependent before their constraints are computed.
+ *
+ * @implNote Pointer variables of any type are placed into the same bucket, since two pointers may
+ *     point to the same memory location even if their names are different. Other variables are
+ *     indexed by their names. Hence, the candidate pairs are a superset of the dependent pairs.
+ */
+class SharedVarAccessIndex {
+
+  private static final String pointerBucket = "*";
+
+  private final int nodeNumber;
+  // the key is the variable (or bucket) name, and the value is the indexes of nodes accessing it.
+  private final Map<String, Set<Integer>> accessNodes;
+  private final Map<String, Set<Integer>> writeNodes;
+
+  SharedVarAccessIndex(final List<EdgeVtx> pNodes) {
+    nodeNumber = pNodes.size();
+    accessNodes = new HashMap<>();
+    writeNodes = new HashMap<>();
+
+    for (int i = 0; i < pNodes.size(); ++i) {
+      EdgeVtx node = pNodes.get(i);
+      for (Var v : node.getgReadVars()) {
+        accessNodes.computeIfAbsent(getIndexKey(v), k -> new LinkedHashSet<>()).add(i);
+      }
+      for (Var v : node.getgWriteVars()) {
+        String key = getIndexKey(v);
+        accessNodes.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(i);
+        writeNodes.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(i);
+      }
+    }
+  }
+
+  static String getIndexKey(Var pVar) {
+    return pVar.getVarType() instanceof CPointerType ? pointerBucket : pVar.getName();
+  }
+
+  /**
+   * This function computes the node pairs that access a common variable, and at least one of them
+   * writes it.
+   *
+   * @return The candidate pairs, where the i-th {@link BitSet} contains the column j (j >= i) iff
+   *     the pair (i, j) is a candidate pair.
+   */
+  BitSet[] computeCandidatePairs() {
+    BitSet[] candidates = new BitSet[nodeNumber];
+    for (int i = 0; i < nodeNumber; ++i) {
+      candidates[i] = new BitSet();
+    }
+
+    for (Map.Entry<String, Set<Integer>> writeEntry : writeNodes.entrySet()) {
+      List<Integer> accessors = new ArrayList<>(accessNodes.get(writeEntry.getKey()));
+      for (int w : writeEntry.getValue()) {
+        for (int a : accessors) {
+          candidates[Math.min(w, a)].set(Math.max(w, a));
+        }
+      }
+    }
+
+    return candidates;
+  }
+
+  int getIndexedVarNumber() {
+    return accessNodes.size();
+  }
+}
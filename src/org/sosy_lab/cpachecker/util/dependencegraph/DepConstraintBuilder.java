@@ -79,24 +79,29 @@ import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
 
-public class DepConstraintBuilder {
+public class DepConstraintBuilder implements AutoCloseable {
 
   private static boolean useSolverToCompute = false;
 
   private static DepConstraintBuilder builder;
-  private static ExpToStringVisitor exprVisitor;
+  // the following fields are shared by all the builders, also by the independent instances that
+  // are used by several threads: the visitor is stateless, the CFA is not modified after it was
+  // created, and the log manager is thread-safe.
+  private static final ExpToStringVisitor exprVisitor = ExpToStringVisitor.getInstance();
 
   private static CFA cfa;
   private static Configuration config;
   private static LogManager logger;
   private static ShutdownNotifier shutdownNotifier;
-  private static Solver solver;
-  private static ProverEnvironment prover;
-  private static FormulaManagerView fmgr;
-  private static PathFormulaManager pfmgr;
-  private static BooleanFormulaManager bfmgr;
 
-  private static PathFormula emptyPathFormula;
+  // each builder owns its solver context, hence several builders could be used concurrently.
+  private final Solver solver;
+  private final ProverEnvironment prover;
+  private final FormulaManagerView fmgr;
+  private final PathFormulaManager pfmgr;
+  private final BooleanFormulaManager bfmgr;
+
+  private final PathFormula emptyPathFormula;
 
   public static void setupEnvironment(
       CFA pCfa,
@@ -121,11 +126,23 @@ public class DepConstraintBuilder {
         // TODO Auto-generated catch block
         e.printStackTrace();
       }
-      exprVisitor = ExpToStringVisitor.getInstance();
     }
     return builder;
   }
 
+  /**
+   * This function creates a builder that does not share its solver context with the global
+   * instance, so that the dependence constraints could be computed by several threads at the same
+   * time.
+   *
+   * @return A fresh builder, the caller is responsible for closing it.
+   * @throws InvalidConfigurationException If the solver could not be created.
+   */
+  public static DepConstraintBuilder createIndependentInstance()
+      throws InvalidConfigurationException {
+    return new DepConstraintBuilder();
+  }
+
   private DepConstraintBuilder()
       throws InvalidConfigurationException {
     solver = Solver.create(config, logger, shutdownNotifier);
@@ -145,9 +162,15 @@ public class DepConstraintBuilder {
             SSAMap.emptySSAMap(),
             PointerTargetSet.emptyPointerTargetSet(),
             0);
-    if (useSolverToCompute) {
-      prover = solver.newProverEnvironment();
+    prover = useSolverToCompute ? solver.newProverEnvironment() : null;
+  }
+
+  @Override
+  public void close() {
+    if (prover != null) {
+      prover.close();
     }
+    solver.close();
   }
 
   /**
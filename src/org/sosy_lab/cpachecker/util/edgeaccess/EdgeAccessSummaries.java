@@ -0,0 +1,80 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.edgeaccess;
+
+import java.util.Optional;
+import java.util.Set;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAEdgeNumbering;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAInfo;
+import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
+
+/**
+ * The {@link EdgeAccessSummary} of every edge of a CFA. The summaries are computed once and stored
+ * in an array indexed by the {@link CFAEdgeNumbering id} of the edges, edges without any access
+ * share the same empty summary.
+ */
+public final class EdgeAccessSummaries {
+
+  private final CFAEdgeNumbering edgeNumbering;
+  private final EdgeAccessSummary[] summaries;
+
+  public EdgeAccessSummaries(final LogManager pLogger, final CFAEdgeNumbering pEdgeNumbering) {
+    edgeNumbering = pEdgeNumbering;
+    summaries = new EdgeAccessSummary[pEdgeNumbering.size()];
+
+    EdgeEvaluationExtractor extractor = new EdgeEvaluationExtractor(pLogger);
+    for (int i = 0; i < summaries.length; ++i) {
+      summaries[i] = summarize(pEdgeNumbering.getEdge(i), extractor);
+    }
+  }
+
+  /**
+   * Get the summaries of the given CFA. The summaries stored in {@link GlobalInfo} are reused if
+   * they belong to this CFA, otherwise they are computed.
+   */
+  public static EdgeAccessSummaries forCFA(final LogManager pLogger, final CFA pCfa) {
+    Optional<CFAInfo> cfaInfo = GlobalInfo.getInstance().getCFAInfo();
+    if (cfaInfo.isPresent() && cfaInfo.orElseThrow().getCFA() == pCfa) {
+      return cfaInfo.orElseThrow().getEdgeAccessSummaries(pLogger);
+    }
+    return new EdgeAccessSummaries(pLogger, CFAEdgeNumbering.forCFA(pCfa));
+  }
+
+  public EdgeAccessSummary getSummary(final int pEdgeId) {
+    return summaries[pEdgeId];
+  }
+
+  /**
+   * Get the summary of the given edge.
+   *
+   * @return The summary, or an empty summary if the edge is not part of the CFA.
+   */
+  public EdgeAccessSummary getSummary(final CFAEdge pEdge) {
+    int edgeId = edgeNumbering.getId(pEdge);
+    return edgeId != CFAEdgeNumbering.NO_ID ? summaries[edgeId] : EdgeAccessSummary.EMPTY;
+  }
+
+  public Set<?> getEvaluationInfo(final CFAEdge pEdge) {
+    return getSummary(pEdge).getEvaluationInfo();
+  }
+
+  public CFAEdgeNumbering getEdgeNumbering() {
+    return edgeNumbering;
+  }
+
+  private static EdgeAccessSummary summarize(CFAEdge pEdge, EdgeEvaluationExtractor pExtractor) {
+    Set<?> evaluationInfo = pExtractor.extractEdgeEvaluationInfo(pEdge);
+    return evaluationInfo.isEmpty()
+        ? EdgeAccessSummary.EMPTY
+        : new EdgeAccessSummary(evaluationInfo);
+  }
+}
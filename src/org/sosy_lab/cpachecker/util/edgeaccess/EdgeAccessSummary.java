@@ -0,0 +1,50 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.edgeaccess;
+
+import java.util.Set;
+
+/**
+ * The immutable summary of the accesses of a single CFA edge, i.e., the evaluation information of
+ * the {@link EdgeEvaluationExtractor}.
+ *
+ * <p>The global variables that are read and written by an edge are provided by the dependence
+ * graph (see {@link org.sosy_lab.cpachecker.util.dependence.conditional.EdgeVtx}), and the locks
+ * are computed by the must-analysis of the {@link
+ * org.sosy_lab.cpachecker.util.dependence.conditional.LocksetRaceFilter}, hence they are not
+ * summarized here.
+ */
+public final class EdgeAccessSummary {
+
+  static final EdgeAccessSummary EMPTY = new EdgeAccessSummary(Set.of());
+
+  private final Set<?> evaluationInfo;
+
+  EdgeAccessSummary(Set<?> pEvaluationInfo) {
+    evaluationInfo = pEvaluationInfo;
+  }
+
+  /**
+   * The evaluation information of the edge, see {@link
+   * EdgeEvaluationExtractor#extractEdgeEvaluationInfo}.
+   */
+  public Set<?> getEvaluationInfo() {
+    return evaluationInfo;
+  }
+
+  /** Whether the edge evaluates any variable, i.e., whether it is a key event. */
+  public boolean isKeyEvent() {
+    return !evaluationInfo.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return evaluationInfo.toString();
+  }
+}
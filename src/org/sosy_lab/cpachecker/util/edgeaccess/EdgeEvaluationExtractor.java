@@ -17,7 +17,7 @@
  *  See the License for the specific language governing permissions and
  *  limitations under the License.
  */
-package org.sosy_lab.cpachecker.cpa.cintp;
+package org.sosy_lab.cpachecker.util.edgeaccess;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSet;
@@ -81,8 +81,11 @@ import org.sosy_lab.cpachecker.exceptions.NoException;
 import org.sosy_lab.cpachecker.util.Pair;
 
 /**
- * This static extractor for edges extracts the evaluation information of an edge. e.g., a = b, b =
- * x + func(c).
+ * This extractor extracts the evaluation information of an edge. e.g., a = b + 1; => ({a}, {b})
+ * if(c < d + a) => ({c, d, a}, {}) b = x + func(c); => ({b}, {x, c})
+ *
+ * <p>The information of all the edges of a CFA is computed once by {@link EdgeAccessSummaries}, use
+ * {@link EdgeAccessSummary#getEvaluationInfo()} instead of running this extractor again.
  */
 public class EdgeEvaluationExtractor {
 
@@ -105,9 +108,10 @@ public class EdgeEvaluationExtractor {
     logger = pLogger;
   }
 
-  Set<?> extractEdgeEvaluationInfo(CFAEdge pEdge) {
+  public Set<?> extractEdgeEvaluationInfo(CFAEdge pEdge) {
     switch (pEdge.getEdgeType()) {
       case BlankEdge:
+      case CallToReturnEdge:
         return Set.of();
       case AssumeEdge:
         return extract(((CAssumeEdge) pEdge).getExpression());
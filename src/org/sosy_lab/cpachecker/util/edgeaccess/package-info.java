@@ -0,0 +1,13 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+/**
+ * Per-edge summaries of the variables evaluated by the edges of a CFA, computed once and shared by
+ * the analyses for concurrent and interrupt-driven programs.
+ */
+package org.sosy_lab.cpachecker.util.edgeaccess;
@@ -0,0 +1,126 @@
+// This file is part of CPAchecker,
+// a tool for configurable software verification:
+// https://cpachecker.sosy-lab.org
+//
+// SPDX-FileCopyrightText: 2021 Dirk Beyer <https://www.sosy-lab.org>
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package org.sosy_lab.cpachecker.util.globalinfo;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
+
+/**
+ * A dense numbering of all the edges of a CFA, i.e., every edge gets an id in the range [0, {@link
+ * #size()}). The numbering is fixed once the CFA has been created, and it is deterministic: nodes
+ * are visited in the order of their node numbers, and for each node its leaving edges are numbered
+ * before its leaving summary edge.
+ *
+ * <p>Unlike {@link CFAEdge#hashCode()}, the ids of two distinct edges never collide, and they can
+ * be used directly as array indices.
+ */
+public final class CFAEdgeNumbering {
+
+  /** The id returned for edges that do not belong to the numbered CFA. */
+  public static final int NO_ID = -1;
+
+  private final CFA cfa;
+  private final int minNodeNumber;
+  // the id of the first leaving edge of each node, indexed by (node number - minNodeNumber).
+  private final int[] firstEdgeIds;
+  private final CFAEdge[] edges;
+
+  CFAEdgeNumbering(final CFA pCfa) {
+    cfa = Preconditions.checkNotNull(pCfa);
+
+    CFANode[] nodes = pCfa.getAllNodes().toArray(new CFANode[0]);
+    Arrays.sort(nodes);
+
+    if (nodes.length == 0) {
+      minNodeNumber = 0;
+      firstEdgeIds = new int[0];
+      edges = new CFAEdge[0];
+      return;
+    }
+
+    minNodeNumber = nodes[0].getNodeNumber();
+    firstEdgeIds = new int[nodes[nodes.length - 1].getNodeNumber() - minNodeNumber + 1];
+    Arrays.fill(firstEdgeIds, NO_ID);
+
+    List<CFAEdge> edgeList = new ArrayList<>();
+    for (CFANode node : nodes) {
+      firstEdgeIds[node.getNodeNumber() - minNodeNumber] = edgeList.size();
+      for (int i = 0; i < node.getNumLeavingEdges(); ++i) {
+        edgeList.add(node.getLeavingEdge(i));
+      }
+      if (node.getLeavingSummaryEdge() != null) {
+        edgeList.add(node.getLeavingSummaryEdge());
+      }
+    }
+    edges = edgeList.toArray(new CFAEdge[0]);
+  }
+
+  /**
+   * Get the numbering of the given CFA. The numbering stored in {@link GlobalInfo} is reused if it
+   * belongs to this CFA, otherwise a new one is created.
+   */
+  public static CFAEdgeNumbering forCFA(final CFA pCfa) {
+    Optional<CFAInfo> cfaInfo = GlobalInfo.getInstance().getCFAInfo();
+    if (cfaInfo.isPresent() && cfaInfo.orElseThrow().getCFA() == pCfa) {
+      return cfaInfo.orElseThrow().getEdgeNumbering();
+    }
+    return new CFAEdgeNumbering(pCfa);
+  }
+
+  /** The number of numbered edges, i.e., all the ids are smaller than this value. */
+  public int size() {
+    return edges.length;
+  }
+
+  /**
+   * Get the id of the given edge.
+   *
+   * @param pEdge The edge.
+   * @return The id of the edge, or {@link #NO_ID} if the edge is not part of the numbered CFA.
+   */
+  public int getId(final CFAEdge pEdge) {
+    if (pEdge == null) {
+      return NO_ID;
+    }
+
+    CFANode pred = pEdge.getPredecessor();
+    int index = pred.getNodeNumber() - minNodeNumber;
+    if (index < 0 || index >= firstEdgeIds.length || firstEdgeIds[index] == NO_ID) {
+      return NO_ID;
+    }
+
+    int firstId = firstEdgeIds[index];
+    if (pEdge instanceof FunctionSummaryEdge) {
+      int summaryId = firstId + pred.getNumLeavingEdges();
+      return (summaryId < edges.length && edges[summaryId] == pEdge) ? summaryId : NO_ID;
+    }
+    // edges are compared by identity, since parallel edges between two nodes are equal.
+    for (int i = 0; i < pred.getNumLeavingEdges(); ++i) {
+      if (pred.getLeavingEdge(i) == pEdge) {
+        return edges[firstId + i] == pEdge ? firstId + i : NO_ID;
+      }
+    }
+    return NO_ID;
+  }
+
+  public CFAEdge getEdge(final int pId) {
+    return edges[pId];
+  }
+
+  public CFA getCFA() {
+    return cfa;
+  }
+}
@@ -9,14 +9,18 @@
 package org.sosy_lab.cpachecker.util.globalinfo;
 
 import com.google.common.collect.ImmutableMap;
+import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cpa.location.LocationStateFactory;
+import org.sosy_lab.cpachecker.util.edgeaccess.EdgeAccessSummaries;
 
 public class CFAInfo {
   private final ImmutableMap<Integer, CFANode> nodeNumberToNode;
   private LocationStateFactory locationStateFactory;
   private final CFA cfa;
+  private final CFAEdgeNumbering edgeNumbering;
+  private EdgeAccessSummaries edgeAccessSummaries;
 
   CFAInfo(CFA cfa) {
     ImmutableMap.Builder<Integer, CFANode> nodeNumberToNode0 = ImmutableMap.builder();
@@ -25,6 +29,7 @@ public class CFAInfo {
     }
     this.nodeNumberToNode = nodeNumberToNode0.build();
     this.cfa = cfa;
+    this.edgeNumbering = new CFAEdgeNumbering(cfa);
   }
 
   public CFANode getNodeByNodeNumber(int nodeNumber) {
@@ -39,6 +44,18 @@ public class CFAInfo {
     return locationStateFactory;
   }
 
+  public CFAEdgeNumbering getEdgeNumbering() {
+    return edgeNumbering;
+  }
+
+  /** Get the access summaries of the edges, they are computed when they are first requested. */
+  public synchronized EdgeAccessSummaries getEdgeAccessSummaries(LogManager pLogger) {
+    if (edgeAccessSummaries == null) {
+      edgeAccessSummaries = new EdgeAccessSummaries(pLogger, edgeNumbering);
+    }
+    return edgeAccessSummaries;
+  }
+
   public CFA getCFA() {
     return cfa;
   }